@@ -0,0 +1,436 @@
+package idealist;
+
+import idealist.function.*;
+import idealist.primitive_specializations.CharIterator;
+import idealist.tuple.CharObjPair;
+
+import java.util.*;
+
+// A list of chars, see SegmentList
+public abstract class CharIdeaList extends SegmentList<CharIdeaList, char[]> implements Iterable<Character> {
+
+    // Constructors and factory methods =============================================================
+    private CharIdeaList() {}
+
+    // See IdeaList.createChunk
+    static CharIdeaList createChunk(Lazy<char[]> elements, int offset, int end, Lazy<CharIdeaList> rest, int knownLength) {
+        return new ChunkNode(elements, offset, end, rest, knownLength);
+    }
+
+    public static CharIdeaList empty() {
+        return EndNode.EMPTY;
+    }
+
+    @Override
+    char[] newArray(int length) {
+        return new char[length];
+    }
+
+    @Override
+    CharIdeaList chunk(Lazy<char[]> elements, int length, Lazy<CharIdeaList> rest, int knownLength) {
+        return createChunk(elements, 0, length, rest, knownLength);
+    }
+
+    @Override
+    CharIdeaList emptyList() {
+        return CharIdeaList.empty();
+    }
+
+    public static CharIdeaList of(Iterable<Character> elements) {
+        Iterator<Character> iterator = elements.iterator();
+        return CharIdeaList.empty().chunksOf(chunk -> {
+            int length = 0;
+            while (length < IdeaList.CHUNK_SIZE && iterator.hasNext()) {
+                chunk[length++] = iterator.next();
+            }
+            return length;
+        });
+    }
+
+    // The list shares the given array instead of copying it
+    public static CharIdeaList of(char... elements) {
+        if (elements.length == 0) return CharIdeaList.empty();
+        return createChunk(Lazy.evaluated(elements), 0, elements.length, Lazy.evaluated(CharIdeaList.empty()), elements.length);
+    }
+
+    public static CharIdeaList initialiseWith(int length, IntToCharFunction indexToElement) {
+        handleNegativeLength(length);
+        return CharIdeaList.empty().initialiseChunks(0, length, (elements, from) -> {
+            for (int i = 0; i < elements.length; i++) {
+                elements[i] = indexToElement.applyAsChar(from + i);
+            }
+        });
+    }
+
+    public static CharIdeaList of(CharSequence elements) {
+        return of(elements.toString().toCharArray());
+    }
+
+    // See IntIdeaList.progression(int, int, int)
+    public static CharIdeaList progression(char first, int step, int length) {
+        handleNegativeLength(length);
+        return length == 0 ? CharIdeaList.empty() : new RangeNode(first, step, length);
+    }
+
+
+    // Getters ======================================================================================
+    public char first() {
+        if (!any()) throw noSuchElementException();
+        return segmentElement(0);
+    }
+
+    // See IdeaList.get(int)
+    public char get(int index) {
+        if (index < 0) {
+            int length = length();
+            if (-index > length) throw indexTooBigException();
+            return get(length + index);
+        }
+        CharIdeaList node = this;
+        int remaining = index;
+        while (node.any() && remaining >= node.segmentLength()) {
+            remaining -= node.segmentLength();
+            node = node.afterSegment();
+        }
+        if (!node.any()) throw indexTooBigException();
+        return node.segmentElement(remaining);
+    }
+
+    // See IdeaList.toArray(Class)
+    public char[] toArray() {
+        return Materialization.toArray(this);
+    }
+
+    public List<Character> toList() {
+        return Enumerable.toList(this);
+    }
+
+    @Override
+    public CharIterator iterator() {
+        class Elements extends Cursor implements CharIterator {
+            @Override
+            public char nextChar() {
+                int index = advance();
+                return segment.segmentElement(index);
+            }
+        }
+        return new Elements();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof CharIdeaList)) return false;
+        CharIterator it1 = iterator();
+        CharIterator it2 = ((CharIdeaList) o).iterator();
+        while (it1.hasNext() && it2.hasNext()) {
+            if (it1.nextChar() != it2.nextChar()) return false;
+        }
+        return !it1.hasNext() && !it2.hasNext();
+    }
+
+    @Override
+    public int hashCode() {
+        int hashCode = 1;
+        for (CharIterator iterator = iterator(); iterator.hasNext(); ) {
+            hashCode = 31 * hashCode + Character.hashCode(iterator.nextChar());
+        }
+        return hashCode;
+    }
+
+    @Override
+    public String toString() {
+        return toList().toString();
+    }
+
+    // The elements as a string instead of a list
+    public String asString() {
+        return new String(toArray());
+    }
+
+
+    // Checks =======================================================================================
+    public boolean contains(char element) {
+        for (CharIdeaList node = this; node.any(); node = node.afterSegment()) {
+            for (int i = 0; i < node.segmentLength(); i++) {
+                if (node.segmentElement(i) == element) return true;
+            }
+        }
+        return false;
+    }
+
+
+    // Segments =====================================================================================
+    abstract char segmentElement(int index);
+
+    @Override
+    void copySegment(int from, char[] destination, int position, int length) {
+        for (int i = 0; i < length; i++) {
+            destination[position + i] = segmentElement(from + i);
+        }
+    }
+
+
+    // List operations ==============================================================================
+    public CharIdeaList map(CharUnaryOperator transform) {
+        return mapFrom(0, elements -> {
+            for (int i = 0; i < elements.length; i++) {
+                elements[i] = transform.applyAsChar(elements[i]);
+            }
+        });
+    }
+
+    public <R> IdeaList<R> mapToObj(CharFunction<R> transform) {
+        return mapToObjFrom(0, (elements, output) -> {
+            for (int i = 0; i < elements.length; i++) {
+                output[i] = transform.apply(elements[i]);
+            }
+        });
+    }
+
+    public CharIdeaList where(CharPredicate predicate) {
+        return where(this, 0, (elements, length) -> {
+            int matches = 0;
+            for (int i = 0; i < length; i++) {
+                if (predicate.test(elements[i])) elements[matches++] = elements[i];
+            }
+            return matches;
+        });
+    }
+
+    public char reduce(char initialValue, CharBinaryOperator operation) {
+        char accumulator = initialValue;
+        for (CharIdeaList node = this; node.any(); node = node.afterSegment()) {
+            for (int i = 0; i < node.segmentLength(); i++) {
+                accumulator = operation.applyAsChar(accumulator, node.segmentElement(i));
+            }
+        }
+        return accumulator;
+    }
+
+    public char reduce(CharBinaryOperator operation) {
+        if (!any()) throw new UnsupportedOperationException("Empty list cannot be reduced");
+        char accumulator = segmentElement(0);
+        for (int i = 1; i < segmentLength(); i++) {
+            accumulator = operation.applyAsChar(accumulator, segmentElement(i));
+        }
+        return afterSegment().reduce(accumulator, operation);
+    }
+
+    public int sum() {
+        int sum = 0;
+        for (CharIdeaList node = this; node.any(); node = node.afterSegment()) {
+            for (int i = 0; i < node.segmentLength(); i++) {
+                sum += node.segmentElement(i);
+            }
+        }
+        return sum;
+    }
+
+    public double average() {
+        return (double) sum() / length();
+    }
+
+    public int count(CharPredicate predicate) {
+        int count = 0;
+        for (CharIdeaList node = this; node.any(); node = node.afterSegment()) {
+            for (int i = 0; i < node.segmentLength(); i++) {
+                if (predicate.test(node.segmentElement(i))) count++;
+            }
+        }
+        return count;
+    }
+
+    public char max() {
+        return reduce((accum, elem) -> (char) Math.max(accum, elem));
+    }
+
+    public char min() {
+        return reduce((accum, elem) -> (char) Math.min(accum, elem));
+    }
+
+    public <A> IdeaList<CharObjPair<A>> zipWith(Iterable<A> other) {
+        return zip(iterator(), other, (chars, object) -> CharObjPair.of(chars.nextChar(), object));
+    }
+
+
+    // Sorting ======================================================================================
+    // Arrays.sort already counting sorts large char arrays
+    private char[] sortedArray() {
+        char[] elements = toArray();
+        Arrays.sort(elements);
+        return elements;
+    }
+
+    // The elements are copied into an array and sorted eagerly, see PrimitiveSort
+    public CharIdeaList sorted() {
+        return CharIdeaList.of(sortedArray());
+    }
+
+    public CharIdeaList sortedDescending() {
+        return CharIdeaList.of(PrimitiveSort.reversed(sortedArray()));
+    }
+
+    // Equal keys keep their order
+    public CharIdeaList sortedBy(CharUnaryOperator key) {
+        char[] elements = toArray();
+        int[] keys = new int[elements.length];
+        for (int i = 0; i < elements.length; i++) {
+            keys[i] = key.applyAsChar(elements[i]);
+        }
+        return CharIdeaList.of(PrimitiveSort.permute(elements, PrimitiveSort.order(keys)));
+    }
+
+
+    /////////////////////////////////////////////////////////////////////////////////////////////////
+    // The elements at index offset (inclusive) up to end (exclusive) of the array, followed by rest
+    private static class ChunkNode extends CharIdeaList {
+        private final Lazy<char[]> elements;
+        private final int offset;
+        private final int end;
+        private final Lazy<CharIdeaList> rest;
+        private final int knownLength;
+
+        private ChunkNode(Lazy<char[]> elements, int offset, int end, Lazy<CharIdeaList> rest, int knownLength) {
+            this.elements = elements;
+            this.offset = offset;
+            this.end = end;
+            this.rest = rest;
+            this.knownLength = knownLength;
+        }
+
+        @Override
+        int knownLength() {
+            return knownLength;
+        }
+
+        @Override
+        public boolean any() {
+            return true;
+        }
+
+        @Override
+        int segmentLength() {
+            return end - offset;
+        }
+
+        @Override
+        char segmentElement(int index) {
+            return elements.value()[offset + index];
+        }
+
+        @Override
+        void copySegment(int from, char[] destination, int position, int length) {
+            System.arraycopy(elements.value(), offset + from, destination, position, length);
+        }
+
+        @Override
+        CharIdeaList afterSegment() {
+            return rest.value();
+        }
+    }
+
+
+    /////////////////////////////////////////////////////////////////////////////////////////////////
+    // See IntIdeaList.RangeNode. The elements wrap around within the range of char.
+    private static class RangeNode extends CharIdeaList {
+        private final char first;
+        private final int step;
+        private final int length;
+
+        private RangeNode(char first, int step, int length) {
+            this.first = first;
+            this.step = step;
+            this.length = length;
+        }
+
+        @Override
+        int knownLength() {
+            return length;
+        }
+
+        @Override
+        public boolean any() {
+            return true;
+        }
+
+        @Override
+        int segmentLength() {
+            return length;
+        }
+
+        @Override
+        char segmentElement(int index) {
+            return (char) (first + index * step);
+        }
+
+        @Override
+        CharIdeaList afterSegment() {
+            return CharIdeaList.empty();
+        }
+
+        // Only if the elements don't wrap around, in which case they are ordered
+        private boolean staysInRange() {
+            long last = first + (length - 1L) * step;
+            return last >= Character.MIN_VALUE && last <= Character.MAX_VALUE;
+        }
+
+        @Override
+        public int sum() {
+            if (!staysInRange()) return super.sum();
+            long triangle = length % 2 == 0 ? (long) (length / 2) * (length - 1) : (long) length * ((length - 1) / 2);
+            return (int) ((long) length * first + triangle * step);
+        }
+
+        @Override
+        public char max() {
+            if (!staysInRange()) return super.max();
+            return step >= 0 ? segmentElement(length - 1) : first;
+        }
+
+        @Override
+        public char min() {
+            if (!staysInRange()) return super.min();
+            return step >= 0 ? first : segmentElement(length - 1);
+        }
+
+        @Override
+        public boolean contains(char element) {
+            if (!staysInRange()) return super.contains(element);
+            int distance = element - first;
+            if (step == 0) return distance == 0;
+            return distance % step == 0 && distance / step >= 0 && distance / step < length;
+        }
+    }
+
+
+    /////////////////////////////////////////////////////////////////////////////////////////////////
+    private static class EndNode extends CharIdeaList {
+        private static final CharIdeaList EMPTY = new EndNode();
+
+        @Override
+        int knownLength() {
+            return 0;
+        }
+
+        @Override
+        public boolean any() {
+            return false;
+        }
+
+        @Override
+        int segmentLength() {
+            return 0;
+        }
+
+        @Override
+        char segmentElement(int index) {
+            throw noSuchElementException();
+        }
+
+        @Override
+        CharIdeaList afterSegment() {
+            throw noSuchElementException();
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package idealist;
+
+// Neumaier's variant of Kahan summation. The low-order bits that every addition rounds away are
+// kept in a separate compensation term, so the error doesn't grow with the number of elements.
+final class CompensatedSum {
+    private double sum = 0.0;
+    private double compensation = 0.0;
+    // Without compensation, for when an infinity turns the compensation into NaN
+    private double simpleSum = 0.0;
+
+    void add(double value) {
+        double total = sum + value;
+        if (Math.abs(sum) >= Math.abs(value)) {
+            compensation += (sum - total) + value;
+        } else {
+            compensation += (value - total) + sum;
+        }
+        sum = total;
+        simpleSum += value;
+    }
+
+    // Like Collectors.computeFinalSum, an overflow or infinite element gives an infinite sum
+    double value() {
+        double result = sum + compensation;
+        return Double.isNaN(result) && Double.isInfinite(simpleSum) ? simpleSum : result;
+    }
+}
@@ -0,0 +1,358 @@
+package idealist;
+
+import java.util.*;
+import java.util.function.*;
+
+// A list of doubles, see SegmentList. sum and average add the elements up with CompensatedSum, so long lists of
+// samples don't lose precision.
+public abstract class DoubleIdeaList extends SegmentList<DoubleIdeaList, double[]> implements Iterable<Double> {
+
+    // Constructors and factory methods =============================================================
+    private DoubleIdeaList() {}
+
+    // See IdeaList.createChunk
+    static DoubleIdeaList createChunk(Lazy<double[]> elements, int offset, int end, Lazy<DoubleIdeaList> rest, int knownLength) {
+        return new ChunkNode(elements, offset, end, rest, knownLength);
+    }
+
+    public static DoubleIdeaList empty() {
+        return EndNode.EMPTY;
+    }
+
+    @Override
+    double[] newArray(int length) {
+        return new double[length];
+    }
+
+    @Override
+    DoubleIdeaList chunk(Lazy<double[]> elements, int length, Lazy<DoubleIdeaList> rest, int knownLength) {
+        return createChunk(elements, 0, length, rest, knownLength);
+    }
+
+    @Override
+    DoubleIdeaList emptyList() {
+        return DoubleIdeaList.empty();
+    }
+
+    public static DoubleIdeaList of(Iterable<Double> elements) {
+        Iterator<Double> iterator = elements.iterator();
+        return DoubleIdeaList.empty().chunksOf(chunk -> {
+            int length = 0;
+            while (length < IdeaList.CHUNK_SIZE && iterator.hasNext()) {
+                chunk[length++] = iterator.next();
+            }
+            return length;
+        });
+    }
+
+    // The list shares the given array instead of copying it
+    public static DoubleIdeaList of(double... elements) {
+        if (elements.length == 0) return DoubleIdeaList.empty();
+        return createChunk(Lazy.evaluated(elements), 0, elements.length, Lazy.evaluated(DoubleIdeaList.empty()), elements.length);
+    }
+
+    // The output of IdeaList.mapToDouble, a chunk at a time, see mapFrom
+    static <E> DoubleIdeaList mapped(IdeaList<E> source, int from, ToDoubleFunction<E> transform) {
+        if (!source.any()) return DoubleIdeaList.empty();
+        int end = Math.min(from + IdeaList.CHUNK_SIZE, source.segmentLength());
+        Lazy<double[]> chunk = Lazy.of(() -> {
+            double[] elements = new double[end - from];
+            for (int i = from; i < end; i++) {
+                elements[i - from] = transform.applyAsDouble(source.segmentElement(i));
+            }
+            return elements;
+        });
+        int knownLength = source.knownLength();
+        return createChunk(chunk, 0, end - from,
+                Lazy.of(() -> end < source.segmentLength() ? mapped(source, end, transform) : mapped(source.afterSegment(), 0, transform)),
+                knownLength == IdeaList.UNKNOWN_LENGTH ? IdeaList.UNKNOWN_LENGTH : knownLength - from);
+    }
+
+    public static DoubleIdeaList initialiseWith(int length, IntToDoubleFunction indexToElement) {
+        handleNegativeLength(length);
+        return DoubleIdeaList.empty().initialiseChunks(0, length, (elements, from) -> {
+            for (int i = 0; i < elements.length; i++) {
+                elements[i] = indexToElement.applyAsDouble(from + i);
+            }
+        });
+    }
+
+    // Getters ======================================================================================
+    public double first() {
+        if (!any()) throw noSuchElementException();
+        return segmentElement(0);
+    }
+
+    // See IdeaList.get(int)
+    public double get(int index) {
+        if (index < 0) {
+            int length = length();
+            if (-index > length) throw indexTooBigException();
+            return get(length + index);
+        }
+        DoubleIdeaList node = this;
+        int remaining = index;
+        while (node.any() && remaining >= node.segmentLength()) {
+            remaining -= node.segmentLength();
+            node = node.afterSegment();
+        }
+        if (!node.any()) throw indexTooBigException();
+        return node.segmentElement(remaining);
+    }
+
+    // See IdeaList.toArray(Class)
+    public double[] toArray() {
+        return Materialization.toArray(this);
+    }
+
+    public List<Double> toList() {
+        return Enumerable.toList(this);
+    }
+
+    @Override
+    public PrimitiveIterator.OfDouble iterator() {
+        class Elements extends Cursor implements PrimitiveIterator.OfDouble {
+            @Override
+            public double nextDouble() {
+                int index = advance();
+                return segment.segmentElement(index);
+            }
+        }
+        return new Elements();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof DoubleIdeaList)) return false;
+        PrimitiveIterator.OfDouble it1 = iterator();
+        PrimitiveIterator.OfDouble it2 = ((DoubleIdeaList) o).iterator();
+        while (it1.hasNext() && it2.hasNext()) {
+            if (Double.compare(it1.nextDouble(), it2.nextDouble()) != 0) return false;
+        }
+        return !it1.hasNext() && !it2.hasNext();
+    }
+
+    @Override
+    public int hashCode() {
+        int hashCode = 1;
+        for (PrimitiveIterator.OfDouble iterator = iterator(); iterator.hasNext(); ) {
+            hashCode = 31 * hashCode + Double.hashCode(iterator.nextDouble());
+        }
+        return hashCode;
+    }
+
+    @Override
+    public String toString() {
+        return toList().toString();
+    }
+
+
+    // Checks =======================================================================================
+    public boolean contains(double element) {
+        for (DoubleIdeaList node = this; node.any(); node = node.afterSegment()) {
+            for (int i = 0; i < node.segmentLength(); i++) {
+                if (Double.compare(node.segmentElement(i), element) == 0) return true;
+            }
+        }
+        return false;
+    }
+
+
+    // Segments =====================================================================================
+    abstract double segmentElement(int index);
+
+    @Override
+    void copySegment(int from, double[] destination, int position, int length) {
+        for (int i = 0; i < length; i++) {
+            destination[position + i] = segmentElement(from + i);
+        }
+    }
+
+
+    // List operations ==============================================================================
+    public DoubleIdeaList map(DoubleUnaryOperator transform) {
+        return mapFrom(0, elements -> {
+            for (int i = 0; i < elements.length; i++) {
+                elements[i] = transform.applyAsDouble(elements[i]);
+            }
+        });
+    }
+
+    public <R> IdeaList<R> mapToObj(DoubleFunction<R> transform) {
+        return mapToObjFrom(0, (elements, output) -> {
+            for (int i = 0; i < elements.length; i++) {
+                output[i] = transform.apply(elements[i]);
+            }
+        });
+    }
+
+    public DoubleIdeaList where(DoublePredicate predicate) {
+        return where(this, 0, (elements, length) -> {
+            int matches = 0;
+            for (int i = 0; i < length; i++) {
+                if (predicate.test(elements[i])) elements[matches++] = elements[i];
+            }
+            return matches;
+        });
+    }
+
+    public double reduce(double initialValue, DoubleBinaryOperator operation) {
+        double accumulator = initialValue;
+        for (DoubleIdeaList node = this; node.any(); node = node.afterSegment()) {
+            for (int i = 0; i < node.segmentLength(); i++) {
+                accumulator = operation.applyAsDouble(accumulator, node.segmentElement(i));
+            }
+        }
+        return accumulator;
+    }
+
+    public double reduce(DoubleBinaryOperator operation) {
+        if (!any()) throw new UnsupportedOperationException("Empty list cannot be reduced");
+        double accumulator = segmentElement(0);
+        for (int i = 1; i < segmentLength(); i++) {
+            accumulator = operation.applyAsDouble(accumulator, segmentElement(i));
+        }
+        return afterSegment().reduce(accumulator, operation);
+    }
+
+    public double sum() {
+        var sum = new CompensatedSum();
+        for (DoubleIdeaList node = this; node.any(); node = node.afterSegment()) {
+            for (int i = 0; i < node.segmentLength(); i++) {
+                sum.add(node.segmentElement(i));
+            }
+        }
+        return sum.value();
+    }
+
+    public double average() {
+        return sum() / length();
+    }
+
+    public int count(DoublePredicate predicate) {
+        int count = 0;
+        for (DoubleIdeaList node = this; node.any(); node = node.afterSegment()) {
+            for (int i = 0; i < node.segmentLength(); i++) {
+                if (predicate.test(node.segmentElement(i))) count++;
+            }
+        }
+        return count;
+    }
+
+    public double max() {
+        return reduce(Math::max);
+    }
+
+    public double min() {
+        return reduce(Math::min);
+    }
+
+
+    // Sorting ======================================================================================
+    // Arrays.sort orders -0.0 before 0.0 and NaN last, like Double.compare
+    private double[] sortedArray() {
+        double[] elements = toArray();
+        Arrays.sort(elements);
+        return elements;
+    }
+
+    // The elements are copied into an array and sorted eagerly, see PrimitiveSort
+    public DoubleIdeaList sorted() {
+        return DoubleIdeaList.of(sortedArray());
+    }
+
+    public DoubleIdeaList sortedDescending() {
+        return DoubleIdeaList.of(PrimitiveSort.reversed(sortedArray()));
+    }
+
+    // Equal keys keep their order
+    public DoubleIdeaList sortedBy(DoubleUnaryOperator key) {
+        double[] elements = toArray();
+        long[] keys = new long[elements.length];
+        for (int i = 0; i < elements.length; i++) {
+            keys[i] = PrimitiveSort.sortableKey(key.applyAsDouble(elements[i]));
+        }
+        return DoubleIdeaList.of(PrimitiveSort.permute(elements, PrimitiveSort.order(keys)));
+    }
+
+
+    /////////////////////////////////////////////////////////////////////////////////////////////////
+    // The elements at index offset (inclusive) up to end (exclusive) of the array, followed by rest
+    private static class ChunkNode extends DoubleIdeaList {
+        private final Lazy<double[]> elements;
+        private final int offset;
+        private final int end;
+        private final Lazy<DoubleIdeaList> rest;
+        private final int knownLength;
+
+        private ChunkNode(Lazy<double[]> elements, int offset, int end, Lazy<DoubleIdeaList> rest, int knownLength) {
+            this.elements = elements;
+            this.offset = offset;
+            this.end = end;
+            this.rest = rest;
+            this.knownLength = knownLength;
+        }
+
+        @Override
+        int knownLength() {
+            return knownLength;
+        }
+
+        @Override
+        public boolean any() {
+            return true;
+        }
+
+        @Override
+        int segmentLength() {
+            return end - offset;
+        }
+
+        @Override
+        double segmentElement(int index) {
+            return elements.value()[offset + index];
+        }
+
+        @Override
+        void copySegment(int from, double[] destination, int position, int length) {
+            System.arraycopy(elements.value(), offset + from, destination, position, length);
+        }
+
+        @Override
+        DoubleIdeaList afterSegment() {
+            return rest.value();
+        }
+    }
+
+
+    /////////////////////////////////////////////////////////////////////////////////////////////////
+    private static class EndNode extends DoubleIdeaList {
+        private static final DoubleIdeaList EMPTY = new EndNode();
+
+        @Override
+        int knownLength() {
+            return 0;
+        }
+
+        @Override
+        public boolean any() {
+            return false;
+        }
+
+        @Override
+        int segmentLength() {
+            return 0;
+        }
+
+        @Override
+        double segmentElement(int index) {
+            throw noSuchElementException();
+        }
+
+        @Override
+        DoubleIdeaList afterSegment() {
+            throw noSuchElementException();
+        }
+    }
+}
@@ -48,10 +48,22 @@ public final class Enumerable {
         return constructor.apply(iterators.first.next(), iterators.second.next(), iterators.third.next());
     }
 
-    private static <A, B, C, R> IdeaList<R> zipHelper(TriFunction<A, B, C, R> constructor, Triplet<Iterator<A>, Iterator<B>, Iterator<C>> iterators) {
+    private static <A, B, C, R> IdeaList<R> zipHelper(TriFunction<A, B, C, R> constructor, Triplet<Iterator<A>, Iterator<B>, Iterator<C>> iterators, int knownLength) {
         if (anyIsEmpty(iterators)) return IdeaList.empty();
         R elements = next(constructor, iterators);
-        return IdeaList.create(Lazy.of(() -> elements), Lazy.of(() -> zipHelper(constructor, iterators)));
+        int tailLength = knownLength == IdeaList.UNKNOWN_LENGTH ? IdeaList.UNKNOWN_LENGTH : knownLength - 1;
+        return IdeaList.create(Lazy.evaluated(elements), Lazy.of(() -> zipHelper(constructor, iterators, tailLength)), knownLength);
+    }
+
+    // The length of the shortest input, if all inputs are lists that know their length
+    static int zippedLength(Iterable<?>... inputs) {
+        int length = Integer.MAX_VALUE;
+        for (Iterable<?> input : inputs) {
+            int inputLength = input instanceof IdeaList ? ((IdeaList<?>) input).knownLength() : IdeaList.UNKNOWN_LENGTH;
+            if (inputLength == IdeaList.UNKNOWN_LENGTH) return IdeaList.UNKNOWN_LENGTH;
+            length = Math.min(length, inputLength);
+        }
+        return length;
     }
 
     private static <A, B, C> Triplet<Iterator<A>, Iterator<B>, Iterator<C>> tripletOfIterators(Iterable<A> left, Iterable<B> middle, Iterable<C> right) {
@@ -59,11 +71,11 @@ public final class Enumerable {
     }
 
     public static <A, B, C> IdeaList<Triplet<A, B, C>> zip(Iterable<A> left, Iterable<B> middle, Iterable<C> right) {
-        return zipHelper(Triplet::of, tripletOfIterators(left, middle, right));
+        return zipHelper(Triplet::of, tripletOfIterators(left, middle, right), zippedLength(left, middle, right));
     }
 
     public static <A, B> IdeaList<Pair<A, B>> zip(Iterable<A> left, Iterable<B> right) {
-        return zipHelper(Pair::ofIgnoreLast, tripletOfIterators(left, right, infiniteNulls()));
+        return zipHelper(Pair::ofIgnoreLast, tripletOfIterators(left, right, infiniteNulls()), zippedLength(left, right));
     }
 
     static <A, B, C, D, R, S> R createIndexed(TriFunction<A, BiFunction<C, D, S>, B, R> function, A a, IndexedBiFunction<C, D, S> innerFunction, B b) {
@@ -140,12 +152,21 @@ public final class Enumerable {
         return createIndexed(Enumerable::reduceRight, initialValue, operation, elements);
     }
 
+    // Buffers the elements and folds them from the back instead of recursing once per element,
+    // so the stack depth doesn't depend on the length of the list. The price is heap: the buffer
+    // holds a reference to every element, O(n) on top of the list, and keeps them all alive until
+    // the fold is done, even if nothing else refers to the list.
     private static <A, E> A reduceRightHelper(BiFunction<E, A, A> operation, Function<E, A> transformLast, Iterator<E> iterator) {
-        if (iterator.hasNext()) {
-            E element = iterator.next();
-            return !iterator.hasNext() ? transformLast.apply(element) : operation.apply(element, reduceRightHelper(operation, transformLast, iterator));
+        if (!iterator.hasNext()) throw new UnsupportedOperationException("Empty list cannot be reduced");
+        List<E> elements = new ArrayList<>();
+        iterator.forEachRemaining(elements::add);
+
+        ListIterator<E> reversed = elements.listIterator(elements.size());
+        A accumulator = transformLast.apply(reversed.previous());
+        while (reversed.hasPrevious()) {
+            accumulator = operation.apply(reversed.previous(), accumulator);
         }
-        throw new UnsupportedOperationException("Empty list cannot be reduced");
+        return accumulator;
     }
 
     /*private static <A, E> A reduceRightHelper2(BiFunction<E, A, A> operation, Function<E, A> transformLast, Iterator<E> iterator) {
@@ -234,6 +255,8 @@ public final class Enumerable {
     }
 
     public static <E> List<E> toList(Iterable<E> elements) {
+        if (elements instanceof IdeaList) return ((IdeaList<E>) elements).toList();
+        if (elements instanceof Collection) return new ArrayList<>((Collection<E>) elements);
         List<E> list = new ArrayList<>();
         elements.forEach(list::add);
         return list;
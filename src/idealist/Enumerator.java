@@ -1,6 +1,7 @@
 package idealist;
 
 import java.util.Iterator;
+import java.util.NoSuchElementException;
 
 // Iterator would be a better name, but Java doesn't have type aliasing
 public final class Enumerator {
@@ -23,20 +24,26 @@ public final class Enumerator {
         };
     }
 
+    // Walks the list segment by segment, so iterating a chunk doesn't create a node per element
     public static <E> Iterator<E> of(IdeaList<E> elements) {
         return new Iterator<>() {
-            private IdeaList<E> innerList = elements;
+            private IdeaList<E> segment = elements;
+            private int index = 0;
 
             @Override
             public boolean hasNext() {
-                return innerList.any();
+                while (index == segment.segmentLength()) {
+                    if (segment.isEmpty()) return false;
+                    segment = segment.afterSegment();
+                    index = 0;
+                }
+                return true;
             }
 
             @Override
             public E next() {
-                E next = innerList.first();
-                innerList = innerList.tail.value();
-                return next;
+                if (!hasNext()) throw new NoSuchElementException("List is empty");
+                return segment.segmentElement(index++);
             }
         };
     }
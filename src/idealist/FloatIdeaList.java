@@ -0,0 +1,368 @@
+package idealist;
+
+import idealist.function.*;
+import idealist.primitive_specializations.FloatIterator;
+
+import java.util.*;
+
+// See DoubleIdeaList. The elements are added up in double precision.
+public abstract class FloatIdeaList extends SegmentList<FloatIdeaList, float[]> implements Iterable<Float> {
+
+    // Constructors and factory methods =============================================================
+    private FloatIdeaList() {}
+
+    // See IdeaList.createChunk
+    static FloatIdeaList createChunk(Lazy<float[]> elements, int offset, int end, Lazy<FloatIdeaList> rest, int knownLength) {
+        return new ChunkNode(elements, offset, end, rest, knownLength);
+    }
+
+    public static FloatIdeaList empty() {
+        return EndNode.EMPTY;
+    }
+
+    @Override
+    float[] newArray(int length) {
+        return new float[length];
+    }
+
+    @Override
+    FloatIdeaList chunk(Lazy<float[]> elements, int length, Lazy<FloatIdeaList> rest, int knownLength) {
+        return createChunk(elements, 0, length, rest, knownLength);
+    }
+
+    @Override
+    FloatIdeaList emptyList() {
+        return FloatIdeaList.empty();
+    }
+
+    public static FloatIdeaList of(Iterable<Float> elements) {
+        Iterator<Float> iterator = elements.iterator();
+        return FloatIdeaList.empty().chunksOf(chunk -> {
+            int length = 0;
+            while (length < IdeaList.CHUNK_SIZE && iterator.hasNext()) {
+                chunk[length++] = iterator.next();
+            }
+            return length;
+        });
+    }
+
+    // The list shares the given array instead of copying it
+    public static FloatIdeaList of(float... elements) {
+        if (elements.length == 0) return FloatIdeaList.empty();
+        return createChunk(Lazy.evaluated(elements), 0, elements.length, Lazy.evaluated(FloatIdeaList.empty()), elements.length);
+    }
+
+    // The output of IdeaList.mapToFloat, a chunk at a time, see mapFrom
+    static <E> FloatIdeaList mapped(IdeaList<E> source, int from, ToFloatFunction<E> transform) {
+        if (!source.any()) return FloatIdeaList.empty();
+        int end = Math.min(from + IdeaList.CHUNK_SIZE, source.segmentLength());
+        Lazy<float[]> chunk = Lazy.of(() -> {
+            float[] elements = new float[end - from];
+            for (int i = from; i < end; i++) {
+                elements[i - from] = transform.applyAsFloat(source.segmentElement(i));
+            }
+            return elements;
+        });
+        int knownLength = source.knownLength();
+        return createChunk(chunk, 0, end - from,
+                Lazy.of(() -> end < source.segmentLength() ? mapped(source, end, transform) : mapped(source.afterSegment(), 0, transform)),
+                knownLength == IdeaList.UNKNOWN_LENGTH ? IdeaList.UNKNOWN_LENGTH : knownLength - from);
+    }
+
+    public static FloatIdeaList initialiseWith(int length, IntToFloatFunction indexToElement) {
+        handleNegativeLength(length);
+        return FloatIdeaList.empty().initialiseChunks(0, length, (elements, from) -> {
+            for (int i = 0; i < elements.length; i++) {
+                elements[i] = indexToElement.applyAsFloat(from + i);
+            }
+        });
+    }
+
+    // Getters ======================================================================================
+    public float first() {
+        if (!any()) throw noSuchElementException();
+        return segmentElement(0);
+    }
+
+    // See IdeaList.get(int)
+    public float get(int index) {
+        if (index < 0) {
+            int length = length();
+            if (-index > length) throw indexTooBigException();
+            return get(length + index);
+        }
+        FloatIdeaList node = this;
+        int remaining = index;
+        while (node.any() && remaining >= node.segmentLength()) {
+            remaining -= node.segmentLength();
+            node = node.afterSegment();
+        }
+        if (!node.any()) throw indexTooBigException();
+        return node.segmentElement(remaining);
+    }
+
+    // See IdeaList.toArray(Class)
+    public float[] toArray() {
+        return Materialization.toArray(this);
+    }
+
+    public List<Float> toList() {
+        return Enumerable.toList(this);
+    }
+
+    @Override
+    public FloatIterator iterator() {
+        class Elements extends Cursor implements FloatIterator {
+            @Override
+            public float nextFloat() {
+                int index = advance();
+                return segment.segmentElement(index);
+            }
+        }
+        return new Elements();
+    }
+
+    // Iterable.forEach would box every element
+    public void forEachFloat(FloatConsumer action) {
+        for (FloatIdeaList node = this; node.any(); node = node.afterSegment()) {
+            for (int i = 0; i < node.segmentLength(); i++) {
+                action.accept(node.segmentElement(i));
+            }
+        }
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof FloatIdeaList)) return false;
+        FloatIterator it1 = iterator();
+        FloatIterator it2 = ((FloatIdeaList) o).iterator();
+        while (it1.hasNext() && it2.hasNext()) {
+            if (Float.compare(it1.nextFloat(), it2.nextFloat()) != 0) return false;
+        }
+        return !it1.hasNext() && !it2.hasNext();
+    }
+
+    @Override
+    public int hashCode() {
+        int hashCode = 1;
+        for (FloatIterator iterator = iterator(); iterator.hasNext(); ) {
+            hashCode = 31 * hashCode + Float.hashCode(iterator.nextFloat());
+        }
+        return hashCode;
+    }
+
+    @Override
+    public String toString() {
+        return toList().toString();
+    }
+
+
+    // Checks =======================================================================================
+    public boolean contains(float element) {
+        for (FloatIdeaList node = this; node.any(); node = node.afterSegment()) {
+            for (int i = 0; i < node.segmentLength(); i++) {
+                if (Float.compare(node.segmentElement(i), element) == 0) return true;
+            }
+        }
+        return false;
+    }
+
+
+    // Segments =====================================================================================
+    abstract float segmentElement(int index);
+
+    @Override
+    void copySegment(int from, float[] destination, int position, int length) {
+        for (int i = 0; i < length; i++) {
+            destination[position + i] = segmentElement(from + i);
+        }
+    }
+
+
+    // List operations ==============================================================================
+    public FloatIdeaList map(FloatUnaryOperator transform) {
+        return mapFrom(0, elements -> {
+            for (int i = 0; i < elements.length; i++) {
+                elements[i] = transform.applyAsFloat(elements[i]);
+            }
+        });
+    }
+
+    public <R> IdeaList<R> mapToObj(FloatFunction<R> transform) {
+        return mapToObjFrom(0, (elements, output) -> {
+            for (int i = 0; i < elements.length; i++) {
+                output[i] = transform.apply(elements[i]);
+            }
+        });
+    }
+
+    public FloatIdeaList where(FloatPredicate predicate) {
+        return where(this, 0, (elements, length) -> {
+            int matches = 0;
+            for (int i = 0; i < length; i++) {
+                if (predicate.test(elements[i])) elements[matches++] = elements[i];
+            }
+            return matches;
+        });
+    }
+
+    public float reduce(float initialValue, FloatBinaryOperator operation) {
+        float accumulator = initialValue;
+        for (FloatIdeaList node = this; node.any(); node = node.afterSegment()) {
+            for (int i = 0; i < node.segmentLength(); i++) {
+                accumulator = operation.applyAsFloat(accumulator, node.segmentElement(i));
+            }
+        }
+        return accumulator;
+    }
+
+    public float reduce(FloatBinaryOperator operation) {
+        if (!any()) throw new UnsupportedOperationException("Empty list cannot be reduced");
+        float accumulator = segmentElement(0);
+        for (int i = 1; i < segmentLength(); i++) {
+            accumulator = operation.applyAsFloat(accumulator, segmentElement(i));
+        }
+        return afterSegment().reduce(accumulator, operation);
+    }
+
+    public double sum() {
+        var sum = new CompensatedSum();
+        for (FloatIdeaList node = this; node.any(); node = node.afterSegment()) {
+            for (int i = 0; i < node.segmentLength(); i++) {
+                sum.add(node.segmentElement(i));
+            }
+        }
+        return sum.value();
+    }
+
+    public double average() {
+        return sum() / length();
+    }
+
+    public int count(FloatPredicate predicate) {
+        int count = 0;
+        for (FloatIdeaList node = this; node.any(); node = node.afterSegment()) {
+            for (int i = 0; i < node.segmentLength(); i++) {
+                if (predicate.test(node.segmentElement(i))) count++;
+            }
+        }
+        return count;
+    }
+
+    public float max() {
+        return reduce(Math::max);
+    }
+
+    public float min() {
+        return reduce(Math::min);
+    }
+
+
+    // Sorting ======================================================================================
+    // Arrays.sort orders -0.0 before 0.0 and NaN last, like Float.compare
+    private float[] sortedArray() {
+        float[] elements = toArray();
+        Arrays.sort(elements);
+        return elements;
+    }
+
+    // The elements are copied into an array and sorted eagerly, see PrimitiveSort
+    public FloatIdeaList sorted() {
+        return FloatIdeaList.of(sortedArray());
+    }
+
+    public FloatIdeaList sortedDescending() {
+        return FloatIdeaList.of(PrimitiveSort.reversed(sortedArray()));
+    }
+
+    // Equal keys keep their order
+    public FloatIdeaList sortedBy(FloatUnaryOperator key) {
+        float[] elements = toArray();
+        int[] keys = new int[elements.length];
+        for (int i = 0; i < elements.length; i++) {
+            keys[i] = PrimitiveSort.sortableKey(key.applyAsFloat(elements[i]));
+        }
+        return FloatIdeaList.of(PrimitiveSort.permute(elements, PrimitiveSort.order(keys)));
+    }
+
+
+    /////////////////////////////////////////////////////////////////////////////////////////////////
+    // The elements at index offset (inclusive) up to end (exclusive) of the array, followed by rest
+    private static class ChunkNode extends FloatIdeaList {
+        private final Lazy<float[]> elements;
+        private final int offset;
+        private final int end;
+        private final Lazy<FloatIdeaList> rest;
+        private final int knownLength;
+
+        private ChunkNode(Lazy<float[]> elements, int offset, int end, Lazy<FloatIdeaList> rest, int knownLength) {
+            this.elements = elements;
+            this.offset = offset;
+            this.end = end;
+            this.rest = rest;
+            this.knownLength = knownLength;
+        }
+
+        @Override
+        int knownLength() {
+            return knownLength;
+        }
+
+        @Override
+        public boolean any() {
+            return true;
+        }
+
+        @Override
+        int segmentLength() {
+            return end - offset;
+        }
+
+        @Override
+        float segmentElement(int index) {
+            return elements.value()[offset + index];
+        }
+
+        @Override
+        void copySegment(int from, float[] destination, int position, int length) {
+            System.arraycopy(elements.value(), offset + from, destination, position, length);
+        }
+
+        @Override
+        FloatIdeaList afterSegment() {
+            return rest.value();
+        }
+    }
+
+
+    /////////////////////////////////////////////////////////////////////////////////////////////////
+    private static class EndNode extends FloatIdeaList {
+        private static final FloatIdeaList EMPTY = new EndNode();
+
+        @Override
+        int knownLength() {
+            return 0;
+        }
+
+        @Override
+        public boolean any() {
+            return false;
+        }
+
+        @Override
+        int segmentLength() {
+            return 0;
+        }
+
+        @Override
+        float segmentElement(int index) {
+            throw noSuchElementException();
+        }
+
+        @Override
+        FloatIdeaList afterSegment() {
+            throw noSuchElementException();
+        }
+    }
+}
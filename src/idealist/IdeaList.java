@@ -4,6 +4,7 @@ import idealist.function.IndexedBiFunction;
 import idealist.function.IntObjConsumer;
 import idealist.function.IntObjFunction;
 import idealist.function.IntObjPredicate;
+import idealist.function.ToFloatFunction;
 import idealist.range.Range;
 import idealist.tuple.IndexElement;
 import idealist.tuple.Pair;
@@ -12,15 +13,18 @@ import idealist.tuple.Triplet;
 import java.util.*;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.*;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import static idealist.Enumerable.arrayOf;
 import static idealist.Enumerable.isContentEqual;
 import static idealist.Lambda.alwaysTrue;
 import static java.util.Arrays.asList;
-import static java.util.function.Predicate.isEqual;
 
 public abstract class IdeaList<E> implements Iterable<E> {
     private static final Random RANDOM = new Random();
+    static final int CHUNK_SIZE = 32;
+    static final int UNKNOWN_LENGTH = -1;
     public final Lazy<E> value;
     public final Lazy<IdeaList<E>> tail;
 
@@ -34,6 +38,28 @@ public abstract class IdeaList<E> implements Iterable<E> {
         return new NormalNode<>(value, tail);
     }
 
+    // knownLength is the length of the list starting at this node, or UNKNOWN_LENGTH
+    static <E> IdeaList<E> create(Lazy<E> value, Lazy<IdeaList<E>> tail, int knownLength) {
+        return new NormalNode<>(value, tail, knownLength);
+    }
+
+    // The elements at index offset (inclusive) up to end (exclusive) of the array, followed by rest
+    static <E> IdeaList<E> createChunk(Lazy<Object[]> elements, int offset, int end, Lazy<IdeaList<E>> rest, int knownLength) {
+        return new ChunkNode<>(elements, offset, end, rest, knownLength);
+    }
+
+    // The output of the pipeline from its current segment on. Evaluates segments until one has
+    // output left if the pipeline filters, as the list has to know whether it's empty.
+    static <E> IdeaList<E> fuse(Pipeline<Consumer<E>> pipeline) {
+        if (!pipeline.filters()) return pipeline.any() ? FusedNode.of(pipeline) : IdeaList.empty();
+        while (pipeline.any()) {
+            Object[] elements = Pipeline.collect(pipeline);
+            if (elements.length > 0) return FusedNode.of(pipeline, elements);
+            pipeline = pipeline.afterSegment();
+        }
+        return IdeaList.empty();
+    }
+
     @SuppressWarnings("unchecked")
     public static <E> IdeaList<E> empty() {
         return (IdeaList<E>) EndNode.EMPTY;
@@ -44,8 +70,11 @@ public abstract class IdeaList<E> implements Iterable<E> {
         return elements.lazyReduceRight(toIdeaList.apply(other), IdeaList::create);
     }
 
+    // Unlike concat(IdeaList, IdeaList), other is only evaluated once the end of elements is reached.
+    // Stacking a lot of these (e.g. when flattening) therefore doesn't recurse into the rest of the list.
     private static <E> IdeaList<E> concat(IdeaList<E> elements, Lazy<IdeaList<E>> other) {
-        return concat(elements, other, Lazy::value);
+        if (elements.isEmpty()) return other.value();
+        return IdeaList.create(elements.value, Lazy.of(() -> concat(elements.tail.value(), other)));
     }
 
     private static <E> IdeaList<E> concat(IdeaList<E> elements, IdeaList<E> other) {
@@ -55,26 +84,43 @@ public abstract class IdeaList<E> implements Iterable<E> {
     private static <E, O> IdeaList<E> concat(Iterator<E> iterator, O other, Function<O, IdeaList<E>> toIdeaList) {
         if (iterator.hasNext()) {
             E element = iterator.next(); // Objects.requireNonNull(iterator.next());
-            return IdeaList.create(Lazy.of(() -> element), Lazy.of(() -> concat(iterator, other, toIdeaList)));
+            return IdeaList.create(Lazy.evaluated(element), Lazy.of(() -> concat(iterator, other, toIdeaList)));
         }
         return toIdeaList.apply(other);
     }
 
-    private static <E> IdeaList<E> concat(Iterable<E> elements, Lazy<IdeaList<E>> other) {
-        return concat(elements.iterator(), other, Lazy::value);
-    }
-
     private static <E> IdeaList<E> concat(Iterable<E> elements, IdeaList<E> other) {
         return concat(elements.iterator(), other, Function.identity());
     }
 
+    private static <E> IdeaList<E> chunksOf(Iterator<E> iterator) {
+        Object[] chunk = new Object[CHUNK_SIZE];
+        int length = 0;
+        while (length < CHUNK_SIZE && iterator.hasNext()) {
+            chunk[length++] = iterator.next();
+        }
+        if (length == 0) return IdeaList.empty();
+        Object[] elements = length == CHUNK_SIZE ? chunk : Arrays.copyOf(chunk, length);
+        return createChunk(Lazy.evaluated(elements), 0, length, Lazy.of(() -> chunksOf(iterator)), UNKNOWN_LENGTH);
+    }
+
+    // Lists that support fast random access are read in place, so get, last, removeAt and insertAt
+    // don't have to walk them. Like an array passed to of, the list is not copied.
+    @SuppressWarnings("unchecked")
     public static <E> IdeaList<E> of(Iterable<E> elements) {
-        return concat(elements, IdeaList.empty());
+        if (elements instanceof RandomAccess && elements instanceof List) return randomAccess((List<E>) elements);
+        return chunksOf(elements.iterator());
     }
 
+    // The list shares the given array instead of copying it
     @SafeVarargs
     public static <E> IdeaList<E> of(E... elements) {
-        return IdeaList.of(asList(elements));
+        return randomAccess(asList(elements));
+    }
+
+    private static <E> IdeaList<E> randomAccess(List<E> elements) {
+        if (elements.isEmpty()) return IdeaList.empty();
+        return new RandomAccessNode<>(elements, 0, elements.size(), Lazy.evaluated(IdeaList.empty()), elements.size());
     }
 
     /*public static IntIdeaList of(int... elements) { }*/
@@ -92,13 +138,29 @@ public abstract class IdeaList<E> implements Iterable<E> {
         return IdeaList.create(elements.value, Lazy.of(() -> of(elements.tail)));
     }
 
-    private static IdeaList<Integer> rangeLength(int from, int length) {
-        return length == 0 ? IdeaList.empty() : IdeaList.create(Lazy.of(() -> from), Lazy.of(() -> rangeLength(from + 1, length - 1)));
+    // See of(MutableList), for a list of which the length is known
+    static <E> IdeaList<E> of(MutableList<E> elements, int length) {
+        if (elements.isEmpty()) return IdeaList.empty();
+        return IdeaList.create(elements.value, Lazy.of(() -> of(elements.tail, length - 1)), length);
+    }
+
+    // A whole chunk of elements is calculated as soon as one of its elements is needed
+    private static <E> IdeaList<E> initialiseChunks(int from, int length, Function<Integer, E> indexToElement) {
+        if (from == length) return IdeaList.empty();
+        int chunkLength = Math.min(CHUNK_SIZE, length - from);
+        Lazy<Object[]> chunk = Lazy.of(() -> {
+            Object[] elements = new Object[chunkLength];
+            for (int i = 0; i < chunkLength; i++) {
+                elements[i] = indexToElement.apply(from + i);
+            }
+            return elements;
+        });
+        return createChunk(chunk, 0, chunkLength, Lazy.of(() -> initialiseChunks(from + chunkLength, length, indexToElement)), length - from);
     }
 
     public static <E> IdeaList<E> initialiseWith(int length, Function<Integer, E> indexToElement) {
         handleNegativeLength(length);
-        return rangeLength(0, length).map(indexToElement);
+        return initialiseChunks(0, length, indexToElement);
     }
 
     // TODO benchmark
@@ -111,13 +173,23 @@ public abstract class IdeaList<E> implements Iterable<E> {
         return initialiseWith(length, indexToElement);
     }
 
-    private static IdeaList<Long> rangeLength(long from, long length) {
-        return length == 0L ? IdeaList.empty() : IdeaList.create(Lazy.of(() -> from), Lazy.of(() -> rangeLength(from + 1L, length - 1L)));
+    private static <E> IdeaList<E> initialiseLongChunks(long from, long length, Function<Long, E> indexToElement) {
+        if (from == length) return IdeaList.empty();
+        int chunkLength = (int) Math.min(CHUNK_SIZE, length - from);
+        Lazy<Object[]> chunk = Lazy.of(() -> {
+            Object[] elements = new Object[chunkLength];
+            for (int i = 0; i < chunkLength; i++) {
+                elements[i] = indexToElement.apply(from + i);
+            }
+            return elements;
+        });
+        int knownLength = length - from <= Integer.MAX_VALUE ? (int) (length - from) : UNKNOWN_LENGTH;
+        return createChunk(chunk, 0, chunkLength, Lazy.of(() -> initialiseLongChunks(from + chunkLength, length, indexToElement)), knownLength);
     }
 
     public static <E> IdeaList<E> initialiseWithLong(long length, Function<Long, E> indexToElement) {
         handleNegativeLength(length);
-        return rangeLength(0L, length).map(indexToElement);
+        return initialiseLongChunks(0L, length, indexToElement);
     }
 
     // TODO use int
@@ -141,10 +213,23 @@ public abstract class IdeaList<E> implements Iterable<E> {
 
 
     // Getters ======================================================================================
+    // Only walks the list if its length isn't known up front, without evaluating any elements
     public int length() {
-        return count(__ -> true);
+        int knownLength = knownLength();
+        if (knownLength != UNKNOWN_LENGTH) return knownLength;
+        int length = 0;
+        IdeaList<E> node = this;
+        // The end of a list often has a known length, e.g. the part of an array after a removeAt
+        while (node.knownLength() == UNKNOWN_LENGTH) {
+            length += node.segmentLength();
+            node = node.afterSegment();
+        }
+        return length + node.knownLength();
     }
 
+    // The length of the list if it can be told without walking it, otherwise UNKNOWN_LENGTH
+    abstract int knownLength();
+
     public int length2() {
         return count(alwaysTrue());
     }
@@ -181,14 +266,26 @@ public abstract class IdeaList<E> implements Iterable<E> {
     public E get(int index) {
         // if (index < 0) return takeLast(-index).first();
         if (index < 0) return get(toPositiveIndex(index));
-        return findFirstNodeIndexed((idx, __) -> idx == index)
-                .orElseThrow(IdeaList::indexTooBigException)
-                .element
-                .first();
+        // Walks the list in this method itself, so no helper frame keeps the nodes it already passed alive
+        IdeaList<E> node = this;
+        int remaining = index;
+        while (node.any() && remaining >= node.segmentLength()) {
+            remaining -= node.segmentLength();
+            node = node.afterSegment();
+        }
+        if (node.isEmpty()) throw indexTooBigException();
+        return node.segmentElement(remaining);
     }
 
+    // Walks the list in this method itself, like get
     public Optional<E> findFirst(Predicate<E> predicate) {
-        return findFirstIndexed((__, elem) -> predicate.test(elem));
+        for (IdeaList<E> node = this; node.any(); node = node.afterSegment()) {
+            for (int i = 0; i < node.segmentLength(); i++) {
+                E element = node.segmentElement(i);
+                if (predicate.test(element)) return Optional.ofNullable(element);
+            }
+        }
+        return Optional.empty();
     }
 
     public Optional<E> findFirstIndexed(IntObjPredicate<E> predicate) {
@@ -204,26 +301,38 @@ public abstract class IdeaList<E> implements Iterable<E> {
         return findFirstIndexed(predicate);
     }
 
+    // Walks the list in this method itself, like get
     public Optional<Integer> indexOfFirst(Predicate<E> predicate) {
-        return findFirstNodeIndexed((__, value) -> predicate.test(value.value()))
-                .map(idxList -> idxList.index);
+        int index = 0;
+        for (IdeaList<E> node = this; node.any(); node = node.afterSegment()) {
+            for (int i = 0; i < node.segmentLength(); i++, index++) {
+                if (predicate.test(node.segmentElement(i))) return Optional.of(index);
+            }
+        }
+        return Optional.empty();
     }
 
+    // The loop of indexOfFirst(Predicate), as a call to it would keep the head of the list alive
     public Optional<Integer> indexOfFirst(@Nullable E element) {
-        return indexOfFirst(isEqual(element));
+        int index = 0;
+        for (IdeaList<E> node = this; node.any(); node = node.afterSegment()) {
+            for (int i = 0; i < node.segmentLength(); i++, index++) {
+                if (Objects.equals(node.segmentElement(i), element)) return Optional.of(index);
+            }
+        }
+        return Optional.empty();
     }
 
     // Should return IntIdeaList
     public abstract IdeaList<Integer> indices();
 
+    // Walks the list once, see Materialization
     public List<E> toList() {
-        return Enumerable.toList(this);
+        return Materialization.toList(this);
     }
 
     public E[] toArray(Class<E> elementType) {
-        E[] result = arrayOf(elementType, length());
-        forEachIndexed((index, elem) -> result[index] = elem);
-        return result;
+        return Materialization.toArray(this, length -> arrayOf(elementType, length));
     }
 
     @Override
@@ -231,6 +340,20 @@ public abstract class IdeaList<E> implements Iterable<E> {
         return Enumerator.of(this);
     }
 
+    // Sized if the length of the list is known up front, splits without evaluating any elements
+    @Override
+    public Spliterator<E> spliterator() {
+        return SegmentSpliterator.of(this);
+    }
+
+    public Stream<E> stream() {
+        return StreamSupport.stream(spliterator(), false);
+    }
+
+    public Stream<E> parallelStream() {
+        return StreamSupport.stream(spliterator(), true);
+    }
+
     /*public IdeaList<E> takeLast(int n) {
 
     }*/
@@ -241,7 +364,7 @@ public abstract class IdeaList<E> implements Iterable<E> {
     @Override
     public boolean equals(@Nullable Object o) {
         if (this == o) return true;
-        if (o == null || getClass() != o.getClass()) return false;
+        if (!(o instanceof IdeaList)) return false;
         IdeaList<?> IdeaList = (IdeaList<?>) o;
         return isContentEqual(this, IdeaList);
     }
@@ -281,6 +404,43 @@ public abstract class IdeaList<E> implements Iterable<E> {
     }
 
 
+    // Segments =====================================================================================
+    // A segment is the run of elements a node stores itself: one for a NormalNode, up to CHUNK_SIZE
+    // for a ChunkNode, the whole range for a RandomAccessNode and none for the EndNode. Bulk operations walk a list segment by segment,
+    // so they don't allocate a node for every element of a chunk.
+    abstract int segmentLength();
+
+    abstract E segmentElement(int index);
+
+    abstract IdeaList<E> afterSegment();
+
+    // Whether every element of the segment can be read on its own, instead of all of them being
+    // evaluated together, so the segment can be split between threads
+    boolean hasIndependentSegmentElements() {
+        return false;
+    }
+
+    // Copies length elements of the segment, starting at index from, into destination at position
+    void copySegment(int from, Object[] destination, int position, int length) {
+        for (int i = 0; i < length; i++) {
+            destination[position + i] = segmentElement(from + i);
+        }
+    }
+
+    // Pushes the elements of the segment from index from up to index to into sink
+    void pushSegment(int from, int to, Consumer<E> sink) {
+        for (int i = from; i < to; i++) {
+            sink.accept(segmentElement(i));
+        }
+    }
+
+    // A pipeline that produces the elements of this list, which following map, mapToInt and where
+    // calls extend
+    Pipeline<Consumer<E>> pipeline() {
+        return Pipeline.of(this);
+    }
+
+
     // Modifiers ====================================================================================
     protected abstract IdeaList<E> concatWhenHelper(int index, IntObjPredicate<Lazy<E>> predicate, Function<IdeaList<E>, IdeaList<E>> listAtMatchToNewList, Supplier<IdeaList<E>> orElseReturn);
 
@@ -288,12 +448,15 @@ public abstract class IdeaList<E> implements Iterable<E> {
         return concatWhenHelper(0, predicate, listAtMatchToNewList, orElseReturn);
     }
 
+    // The elements before index, followed by the list that listAtIndexToNewList makes of the rest
+    IdeaList<E> concatAt(int index, Function<IdeaList<E>, IdeaList<E>> listAtIndexToNewList) {
+        return concatWhen((idx, __) -> idx == index, listAtIndexToNewList, IdeaList::throwIndexTooBigException);
+    }
+
     private <I> IdeaList<E> insertAtHelper(int index, I elements, BiFunction<I, IdeaList<E>, IdeaList<E>> concat) {
         //Objects.requireNonNull(elements);
         if (index < 0) return insertAtHelper(toPositiveIndex(index), elements, concat);
-        return concatWhen((idx, __) -> idx == index,
-                listAtMatch -> concat.apply(elements, listAtMatch),
-                IdeaList::throwIndexTooBigException);
+        return concatAt(index, listAtIndex -> concat.apply(elements, listAtIndex));
     }
 
     public IdeaList<E> insertAt(int index, IdeaList<E> elements) {
@@ -358,15 +521,47 @@ public abstract class IdeaList<E> implements Iterable<E> {
 
     public IdeaList<E> removeAt(int index) {
         if (index < 0) return removeAt(toPositiveIndex(index));
-        return concatWhen((idx, __) -> idx == index,
-                listAtMatch -> listAtMatch.tail.value(),
-                IdeaList::throwIndexTooBigException);
+        return concatAt(index, listAtIndex -> listAtIndex.tail.value());
     }
 
     public IdeaList<E> removeAll(@Nullable E element) {
         return where(elem -> !Objects.equals(elem, element));
     }
 
+    // Every node of the returned list evaluates its value and tail according to the given mode,
+    // so the result can be shared between threads. This list itself should not be evaluated
+    // concurrently anymore, it is only ever forced through the returned list. The elements are
+    // copied a chunk at a time, so nodes never share a lazy value that isn't thread-safe.
+    public IdeaList<E> threadSafe(LazyThreadSafetyMode mode) {
+        if (mode == LazyThreadSafetyMode.NONE) return this;
+        return threadSafeChunks(this, 0, mode);
+    }
+
+    // The elements of node from index from of its segment on, in chunks of which the nodes evaluate
+    // according to mode. The source isn't thread-safe, so whatever the mode it is read at most once,
+    // and the rest only after the chunk, which keeps all reads of the source in order.
+    private static <E> IdeaList<E> threadSafeChunks(IdeaList<E> node, int from, LazyThreadSafetyMode mode) {
+        if (!node.any()) return IdeaList.empty();
+        int length = Math.min(CHUNK_SIZE, node.segmentLength() - from);
+        Lazy<Object[]> chunk = Lazy.of(() -> {
+            Object[] elements = new Object[length];
+            node.copySegment(from, elements, 0, length);
+            return elements;
+        }, LazyThreadSafetyMode.AT_MOST_ONCE);
+        Lazy<IdeaList<E>> rest = Lazy.of(() -> {
+            chunk.value();
+            return from + length < node.segmentLength()
+                    ? threadSafeChunks(node, from + length, mode)
+                    : threadSafeChunks(node.afterSegment(), 0, mode);
+        }, LazyThreadSafetyMode.AT_MOST_ONCE);
+        int knownLength = node.knownLength();
+        return new ChunkNode<>(chunk, 0, length, rest, knownLength == UNKNOWN_LENGTH ? UNKNOWN_LENGTH : knownLength - from, mode);
+    }
+
+    public IdeaList<E> threadSafe() {
+        return threadSafe(LazyThreadSafetyMode.AT_MOST_ONCE);
+    }
+
     public void forEachIndexed(IntObjConsumer<E> action) {
         var index = new AtomicInteger();
         forEach(elem -> action.accept(index.getAndIncrement(), elem));
@@ -443,8 +638,40 @@ public abstract class IdeaList<E> implements Iterable<E> {
         return sumOf(elem -> predicate.test(elem) ? 1 : 0);
     }
 
+    // Adds the values up as they are selected, without building a list of them, see CompensatedSum
     public double sumOfDouble(Function<E, Double> selector) {
-        return map(selector).reduce(Double::sum);
+        var sum = new CompensatedSum();
+        for (IdeaList<E> node = this; node.any(); node = node.afterSegment()) {
+            for (int i = 0; i < node.segmentLength(); i++) {
+                sum.add(selector.apply(node.segmentElement(i)));
+            }
+        }
+        return sum.value();
+    }
+
+    // The parallel operations split the list with its spliterator and evaluate the parts on the
+    // common ForkJoinPool. The given functions are called from several threads at once, so they must
+    // be thread-safe and not depend on the order they are called in. combiner must be associative
+    // and identity must be an identity for it. The list must not be evaluated by other threads at
+    // the same time, see threadSafe(LazyThreadSafetyMode).
+    public <A> A parallelReduce(A identity, BiFunction<A, E, A> accumulator, BinaryOperator<A> combiner) {
+        return parallelStream().reduce(identity, accumulator::apply, combiner);
+    }
+
+    public int parallelSumOf(ToIntFunction<E> selector) {
+        return parallelStream().mapToInt(selector).sum();
+    }
+
+    public int parallelCount(Predicate<E> predicate) {
+        return (int) parallelStream().filter(predicate).count();
+    }
+
+    public boolean parallelAll(Predicate<E> predicate) {
+        return parallelStream().allMatch(predicate);
+    }
+
+    public boolean parallelAny(Predicate<E> predicate) {
+        return parallelStream().anyMatch(predicate);
     }
 
     /*public IdeaList<E> reverse() {
@@ -464,7 +691,7 @@ public abstract class IdeaList<E> implements Iterable<E> {
 
     public IdeaList<E> reverse() {
         return Enumerable.reduce(IdeaList.empty(),
-                (accum, elem) -> IdeaList.create(elem, Lazy.of(() -> accum)),
+                (accum, elem) -> IdeaList.create(elem, Lazy.evaluated(accum)),
                 Enumerable.ofLazy(this));
     }
 
@@ -475,24 +702,24 @@ public abstract class IdeaList<E> implements Iterable<E> {
         return function.apply(this, elem -> lambda.apply(index.getAndIncrement(), elem));
     }*/
 
-    public <R> IdeaList<R> map(Function<E, R> transform) {
-        //Objects.requireNonNull(transform);
-        BiFunction<Lazy<E>, Lazy<IdeaList<R>>, IdeaList<R>> transformAndPrependElem = (elem, list) -> IdeaList.create(Lazy.of(() -> transform.apply(elem.value())), list);
-        return lazyReduceRight(IdeaList.empty(), transformAndPrependElem);
-    }
+    public abstract <R> IdeaList<R> map(Function<E, R> transform);
 
     /*public <R> IdeaList<R> mapIndexed(IntObjFunction<E, R> transform) {
         return createIndexed(IdeaList::map, transform);
     }*/
 
     public <R> IdeaList<R> mapIndexed(IntObjFunction<E, R> transform) {
-        return Enumerable.createIndexed(IdeaList<E>::map,this, transform);
+        return Enumerable.createIndexed(IdeaList<E>::map, this, transform);
+    }
+
+    public abstract IntIdeaList mapToInt(ToIntFunction<E> transform);
+
+    public DoubleIdeaList mapToDouble(ToDoubleFunction<E> transform) {
+        return DoubleIdeaList.mapped(this, 0, transform);
     }
 
-    public IntIdeaList mapToInt(ToIntFunction<E> transform) {
-        //Objects.requireNonNull(transform);
-        BiFunction<Lazy<E>, Lazy<IntIdeaList>, IntIdeaList> transformAndPrependElem = (elem, list) -> IntIdeaList.create(LazyInt.of(() -> transform.applyAsInt(elem.value())), list);
-        return lazyReduceRight(IntIdeaList.empty(), transformAndPrependElem);
+    public FloatIdeaList mapToFloat(ToFloatFunction<E> transform) {
+        return FloatIdeaList.mapped(this, 0, transform);
     }
 
     public <R> IdeaList<R> select(Function<E, R> transform) {
@@ -503,13 +730,20 @@ public abstract class IdeaList<E> implements Iterable<E> {
         return mapIndexed(transform);
     }
 
+    // The loop of fuse, inlined: a call to fuse would leave this frame holding on to the head of
+    // the list, and with it every chunk that is skipped
     public IdeaList<E> where(Function<E, Boolean> predicate) {
-        BiFunction<Lazy<E>, Lazy<IdeaList<E>>, IdeaList<E>> prependElemIfMatch = (elem, list) -> predicate.apply(elem.value()) ? IdeaList.create(elem, list) : list.value();
-        return lazyReduceRight(IdeaList.empty(), prependElemIfMatch);
+        Pipeline<Consumer<E>> pipeline = pipeline().then(Pipeline.filtering(predicate), true);
+        while (pipeline.any()) {
+            Object[] elements = Pipeline.collect(pipeline);
+            if (elements.length > 0) return FusedNode.of(pipeline, elements);
+            pipeline = pipeline.afterSegment();
+        }
+        return IdeaList.empty();
     }
 
     public IdeaList<E> whereIndexed(IntObjFunction<E, Boolean> predicate) {
-        return Enumerable.createIndexed(IdeaList<E>::where, this, predicate);
+        return Enumerable.createIndexed((list, indexedPredicate) -> fuse(list.pipeline().then(Pipeline.filtering(indexedPredicate), true)), this, predicate);
     }
 
     public IdeaList<E> filter(Function<E, Boolean> predicate) {
@@ -533,39 +767,71 @@ public abstract class IdeaList<E> implements Iterable<E> {
         return whereIndexed((index, __) -> index % length == 0);
     }
 
-    // Implement sortByAscending() and sortByDescending() through sortWith(Comparator<E> comparator)
-    private <R extends Comparable<R>> List<E> toListSortedByAscending(Function<E, R> selector) {
-        List<E> list = toList();
-        list.sort(Comparator.comparing(selector));
-        return list;
+    // Stable, see MergeSort
+    public IdeaList<E> sortWith(Comparator<E> comparator) {
+        return MergeSort.sort(comparator, this);
+    }
+
+    // The keys are calculated once per element, see SortOrder
+    @SuppressWarnings("unchecked")
+    public IdeaList<E> sortBy(SortOrder<E> order) {
+        Object[] elements = Materialization.toArray(this, Object[]::new);
+        return IdeaList.of((E[]) PrimitiveSort.permute(elements, order.order(elements)));
+    }
+
+    public IdeaList<E> sortByInt(ToIntFunction<E> selector) {
+        return sortBy(SortOrder.byInt(selector));
+    }
+
+    public IdeaList<E> sortByLong(ToLongFunction<E> selector) {
+        return sortBy(SortOrder.byLong(selector));
+    }
+
+    public IdeaList<E> sortByDouble(ToDoubleFunction<E> selector) {
+        return sortBy(SortOrder.byDouble(selector));
     }
 
     public <R extends Comparable<R>> IdeaList<E> sortByAscending(Function<E, R> selector) {
-        return IdeaList.of(toListSortedByAscending(selector));
+        return sortBy(SortOrder.by(selector));
     }
 
     public <R extends Comparable<R>> IdeaList<E> sortByAsc(Function<E, R> selector) {
         return sortByAscending(selector);
     }
 
-    private <R extends Comparable<R>> List<E> toListSortedByDescending(Function<E, R> selector) {
-        List<E> list = toList();
-        list.sort(Comparator.comparing(selector, Comparator.reverseOrder()));
-        return list;
-    }
-
     public <R extends Comparable<R>> IdeaList<E> sortByDescending(Function<E, R> selector) {
-        return IdeaList.of(toListSortedByDescending(selector));
+        return sortBy(SortOrder.byDescending(selector));
     }
 
     public <R extends Comparable<R>> IdeaList<E> sortByDesc(Function<E, R> selector) {
         return sortByDescending(selector);
     }
 
-    /*public IdeaList<E> sortWith(Comparator<E> comparator) {
-        Comparator<Lazy<E>> lazyComparator = Comparator.comparing(Lazy::value, comparator);
-        return MergeSort.sort(lazyComparator, this);
-    }*/
+    // Same order as sortWith, but only sorts as far as the result is read, see IncrementalSort
+    public IdeaList<E> lazySortWith(Comparator<E> comparator) {
+        return IncrementalSort.sort(comparator, this);
+    }
+
+    public <R extends Comparable<R>> IdeaList<E> lazySortByAscending(Function<E, R> selector) {
+        return lazySortWith(Comparator.comparing(selector));
+    }
+
+    public <R extends Comparable<R>> IdeaList<E> lazySortByDescending(Function<E, R> selector) {
+        return lazySortWith(Comparator.comparing(selector, Comparator.reverseOrder()));
+    }
+
+    // Same order as sortWith, sorted on the fork-join pool of the caller, see ParallelSort
+    public IdeaList<E> parallelSortWith(Comparator<E> comparator) {
+        return ParallelSort.sort(comparator, this);
+    }
+
+    public <R extends Comparable<R>> IdeaList<E> parallelSortByAscending(Function<E, R> selector) {
+        return parallelSortWith(Comparator.comparing(selector));
+    }
+
+    public <R extends Comparable<R>> IdeaList<E> parallelSortByDescending(Function<E, R> selector) {
+        return parallelSortWith(Comparator.comparing(selector, Comparator.reverseOrder()));
+    }
 
     /*@SuppressWarnings("unchecked") // Cast is safe because isNested() first checks if list does in fact contain nested iterables
     private <N> IdeaList<N> concatNestedIterables() {
@@ -600,16 +866,16 @@ public abstract class IdeaList<E> implements Iterable<E> {
         throw new UnsupportedOperationException("List contains elements that are not Iterable");
     }*/
 
-    private static <I, N> IdeaList<N> concatNestedHelper(IdeaList<I> elements, BiFunction<I, Lazy<IdeaList<N>>, IdeaList<N>> concat) {
-        return elements.lazyReduceRight(IdeaList.empty(), (elem, accum) -> concat.apply(elem.value(), accum));
-    }
-
-    private static <N> IdeaList<N> concatNestedIdeaLists(IdeaList<IdeaList<N>> elements) {
-        return concatNestedHelper(elements, IdeaList::concat);
-    }
-
-    private static <N> IdeaList<N> concatNestedIterables(IdeaList<Iterable<N>> elements) {
-        return concatNestedHelper(elements, IdeaList::concat);
+    // Empty containers are skipped in a loop, so a long run of them cannot overflow the stack
+    private static <I, N> IdeaList<N> concatNestedHelper(IdeaList<I> containers, Function<I, IdeaList<N>> toIdeaList) {
+        IdeaList<N> elements = IdeaList.empty();
+        while (elements.isEmpty()) {
+            if (containers.isEmpty()) return IdeaList.empty();
+            elements = toIdeaList.apply(containers.first());
+            containers = containers.tail.value();
+        }
+        IdeaList<I> rest = containers;
+        return concat(elements, Lazy.of(() -> concatNestedHelper(rest, toIdeaList)));
     }
 
     /*private static <N> IdeaList<N> concatNestedIdeaLists(IdeaList<IdeaList<N>> elements) {
@@ -622,9 +888,20 @@ public abstract class IdeaList<E> implements Iterable<E> {
 
     @SuppressWarnings("unchecked") // Cast is safe because isNested() first checks if list does in fact contain nested iterables
     public <N> IdeaList<N> flatten() {
-        if (containsNestedIdeaLists()) return concatNestedIdeaLists((IdeaList<IdeaList<N>>) this);
-        if (isNested()) return concatNestedIterables((IdeaList<Iterable<N>>) this);
-        throw new UnsupportedOperationException("List contains elements that are not Iterable");
+        Function<Object, IdeaList<N>> toIdeaList;
+        if (containsNestedIdeaLists()) toIdeaList = container -> (IdeaList<N>) container;
+        else if (isNested()) toIdeaList = container -> IdeaList.of((Iterable<N>) container);
+        else throw new UnsupportedOperationException("List contains elements that are not Iterable");
+        // The loop of concatNestedHelper, inlined like in where so the empty containers it skips can be collected
+        IdeaList<Object> containers = (IdeaList<Object>) this;
+        IdeaList<N> elements = IdeaList.empty();
+        while (elements.isEmpty()) {
+            if (containers.isEmpty()) return IdeaList.empty();
+            elements = toIdeaList.apply(containers.first());
+            containers = containers.tail.value();
+        }
+        IdeaList<Object> rest = containers;
+        return concat(elements, Lazy.of(() -> concatNestedHelper(rest, toIdeaList)));
     }
 
     /*@SuppressWarnings("unchecked") // Cast is safe because isNested() first checks if list does in fact contain nested iterables
@@ -634,10 +911,10 @@ public abstract class IdeaList<E> implements Iterable<E> {
 
     @SuppressWarnings("unchecked")
     public <N> IdeaList<N> flatten2() {
-        return lazyReduceRight(IdeaList.empty(), (elem, list) ->
-                elem.value() instanceof IdeaList
-                        ? concat((IdeaList<N>) elem.value(), list)
-                        : concat((Iterable<N>) elem.value(), list));
+        return concatNestedHelper(this, elem ->
+                elem instanceof IdeaList
+                        ? (IdeaList<N>) elem
+                        : IdeaList.of((Iterable<N>) elem));
     }
 
     private static boolean isInstanceOfNormalNode(Object object) {
@@ -650,17 +927,17 @@ public abstract class IdeaList<E> implements Iterable<E> {
 
     // What about EndNode? Just return list
     @SuppressWarnings("unchecked")
-    private static <N> IdeaList<N> concatContainerToList(Lazy<?> container, Lazy<IdeaList<N>> list) {
-        return isInstanceOfNormalNode(container.value())
-                ? concat((IdeaList<N>) container.value(), list)
-                : concat((Iterable<N>) container.value(), list);
+    private static <N> IdeaList<N> containerToList(Object container) {
+        return isInstanceOfNormalNode(container)
+                ? (IdeaList<N>) container
+                : IdeaList.of((Iterable<N>) container);
     }
 
     @SuppressWarnings("unchecked")
-    private static <N> IdeaList<N> concatContainerToList2(Lazy<?> container, Lazy<IdeaList<N>> list) {
-        if (isInstanceOfNormalNode(container.value())) return concat((IdeaList<N>) container.value(), list);
-        if (isInstanceOfEndNode(container.value())) return list.value();
-        return concat((Iterable<N>) container.value(), list);
+    private static <N> IdeaList<N> containerToList2(Object container) {
+        if (isInstanceOfNormalNode(container)) return (IdeaList<N>) container;
+        if (isInstanceOfEndNode(container)) return IdeaList.empty();
+        return IdeaList.of((Iterable<N>) container);
     }
 
     /*@SuppressWarnings("unchecked")
@@ -672,18 +949,18 @@ public abstract class IdeaList<E> implements Iterable<E> {
     }*/
 
     public <N> IdeaList<N> flatten3() {
-        return lazyReduceRight(IdeaList.empty(), IdeaList::concatContainerToList);
+        return concatNestedHelper(this, IdeaList::containerToList);
     }
 
     @SuppressWarnings("unchecked") // This implementation also takes nested empty IdeaLists into account
-    private static <N> IdeaList<N> concatContainerToList3(Lazy<?> container, Lazy<IdeaList<N>> list) {
-        return container.value() instanceof IdeaList
-                ? concat((IdeaList<N>) container.value(), list)
-                : concat((Iterable<N>) container.value(), list);
+    private static <N> IdeaList<N> containerToList3(Object container) {
+        return container instanceof IdeaList
+                ? (IdeaList<N>) container
+                : IdeaList.of((Iterable<N>) container);
     }
 
     public <N> IdeaList<N> flatten4() {
-        return lazyReduceRight(IdeaList.empty(), IdeaList::concatContainerToList3);
+        return concatNestedHelper(this, IdeaList::containerToList3);
     }
 
     public <A, B> IdeaList<Triplet<E, A, B>> zipWith(Iterable<A> other, Iterable<B> other2) {
@@ -701,10 +978,16 @@ public abstract class IdeaList<E> implements Iterable<E> {
 
     /////////////////////////////////////////////////////////////////////////////////////////////////
     private static class NormalNode<E> extends IdeaList<E> {
+        private final int knownLength;
 
         // Constructors and factory methods =============================================================
         private NormalNode(Lazy<E> value, Lazy<IdeaList<E>> tail) {
+            this(value, tail, UNKNOWN_LENGTH);
+        }
+
+        private NormalNode(Lazy<E> value, Lazy<IdeaList<E>> tail, int knownLength) {
             super(value, tail);
+            this.knownLength = knownLength;
         }
 
         private IdeaList<E> keepValueAndTransformTail(UnaryOperator<IdeaList<E>> function) {
@@ -727,7 +1010,13 @@ public abstract class IdeaList<E> implements Iterable<E> {
         // return get(-1);
         @Override
         public E last() {
-            return tail.value().isEmpty() ? first() : tail.value().last();
+            IdeaList<E> node = this;
+            IdeaList<E> next = node.afterSegment();
+            while (next.any()) {
+                node = next;
+                next = node.afterSegment();
+            }
+            return node.segmentElement(node.segmentLength() - 1);
         }
 
         @Override
@@ -735,14 +1024,22 @@ public abstract class IdeaList<E> implements Iterable<E> {
             return length() - 1;
         }
 
+        @Override
+        int knownLength() {
+            return knownLength;
+        }
+
         @Override
         public IdeaList<Integer> indices() {
-            return Range.from(0).upToAndIncluding(lastIndex());
+            return Range.from(0).upToAndIncluding(lastIndex()).mapToObj(index -> index);
         }
 
         @Override
         protected Optional<IndexElement<IdeaList<E>>> findFirstNodeIndexedHelper(int index, IntObjPredicate<Lazy<E>> predicate) {
-            return predicate.test(index, value) ? Optional.of(IndexElement.of(index, this)) : tail.value().findFirstNodeIndexedHelper(index + 1, predicate);
+            for (IdeaList<E> node = this; node.any(); node = node.tail.value(), index++) {
+                if (predicate.test(index, node.value)) return Optional.of(IndexElement.of(index, node));
+            }
+            return Optional.empty();
         }
 
 
@@ -763,6 +1060,23 @@ public abstract class IdeaList<E> implements Iterable<E> {
         }
 
 
+        // Segments =====================================================================================
+        @Override
+        int segmentLength() {
+            return 1;
+        }
+
+        @Override
+        E segmentElement(int index) {
+            return first();
+        }
+
+        @Override
+        IdeaList<E> afterSegment() {
+            return tail.value();
+        }
+
+
         // Modifiers ====================================================================================
         @Override
         protected IdeaList<E> concatWhenHelper(int index, IntObjPredicate<Lazy<E>> predicate, Function<IdeaList<E>, IdeaList<E>> listAtMatchToNewList, Supplier<IdeaList<E>> orElseReturn) {
@@ -777,6 +1091,194 @@ public abstract class IdeaList<E> implements Iterable<E> {
         protected <A> A lazyReduceRight(A initialValue, BiFunction<Lazy<E>, Lazy<A>, A> operation) {
             return operation.apply(value, Lazy.of(() -> tail.value().lazyReduceRight(initialValue, operation)));
         }
+
+        @Override
+        public <R> IdeaList<R> map(Function<E, R> transform) {
+            //Objects.requireNonNull(transform);
+            return IdeaList.create(Lazy.of(() -> transform.apply(value.value())), Lazy.of(() -> tail.value().map(transform)), knownLength);
+        }
+
+        @Override
+        public IntIdeaList mapToInt(ToIntFunction<E> transform) {
+            //Objects.requireNonNull(transform);
+            return IntIdeaList.create(LazyInt.of(() -> transform.applyAsInt(value.value())), Lazy.of(() -> tail.value().mapToInt(transform)), knownLength);
+        }
+    }
+
+
+    /////////////////////////////////////////////////////////////////////////////////////////////////
+    // A node that stores more than one element. Operators go through a pipeline, so they handle the
+    // elements a chunk at a time instead of building a node for each one.
+    private static abstract class SegmentNode<E> extends NormalNode<E> {
+
+        // Constructors and factory methods =============================================================
+        private SegmentNode(Lazy<E> value, Lazy<IdeaList<E>> tail, int knownLength) {
+            super(value, tail, knownLength);
+        }
+
+
+        // List operations ==============================================================================
+        @Override
+        public <R> IdeaList<R> map(Function<E, R> transform) {
+            return fuse(pipeline().then(Pipeline.mapping(transform), false));
+        }
+
+        @Override
+        public IntIdeaList mapToInt(ToIntFunction<E> transform) {
+            return IntIdeaList.fuse(pipeline().then(Pipeline.mappingToInt(transform), false));
+        }
+    }
+
+
+    /////////////////////////////////////////////////////////////////////////////////////////////////
+    // Stores up to CHUNK_SIZE elements and a single lazy tail for the rest of the list, in the style
+    // of Clojure's chunked seqs. Walking it through value and tail still works like for a NormalNode,
+    // the tail is then a ChunkNode that starts one element further.
+    private static class ChunkNode<E> extends SegmentNode<E> {
+        private final Lazy<Object[]> elements;
+        private final int offset;
+        private final int end;
+        private final Lazy<IdeaList<E>> rest;
+
+        // Constructors and factory methods =============================================================
+        private ChunkNode(Lazy<Object[]> elements, int offset, int end, Lazy<IdeaList<E>> rest, int knownLength) {
+            this(elements, offset, end, rest, knownLength, LazyThreadSafetyMode.NONE);
+        }
+
+        // The value and tail of this node, and of the nodes after it in the chunk, are evaluated
+        // according to mode
+        @SuppressWarnings("unchecked")
+        private ChunkNode(Lazy<Object[]> elements, int offset, int end, Lazy<IdeaList<E>> rest, int knownLength, LazyThreadSafetyMode mode) {
+            super(Lazy.of(() -> (E) elements.value()[offset], mode),
+                    Lazy.of(() -> offset + 1 < end
+                            ? new ChunkNode<>(elements, offset + 1, end, rest, knownLength == UNKNOWN_LENGTH ? UNKNOWN_LENGTH : knownLength - 1, mode)
+                            : rest.value(), mode),
+                    knownLength);
+            this.elements = elements;
+            this.offset = offset;
+            this.end = end;
+            this.rest = rest;
+        }
+
+
+        // Segments =====================================================================================
+        @Override
+        int segmentLength() {
+            return end - offset;
+        }
+
+        @SuppressWarnings("unchecked")
+        @Override
+        E segmentElement(int index) {
+            return (E) elements.value()[offset + index];
+        }
+
+        @Override
+        IdeaList<E> afterSegment() {
+            return rest.value();
+        }
+
+        @Override
+        void copySegment(int from, Object[] destination, int position, int length) {
+            System.arraycopy(elements.value(), offset + from, destination, position, length);
+        }
+    }
+
+
+    /////////////////////////////////////////////////////////////////////////////////////////////////
+    // The elements at index offset (inclusive) up to end (exclusive) of an array or a random access
+    // list, followed by rest. The whole range is a single segment, so get and last reach any of its
+    // elements in one step. Walking it through value and tail works like for a ChunkNode.
+    private static class RandomAccessNode<E> extends SegmentNode<E> {
+        private final List<E> elements;
+        private final int offset;
+        private final int end;
+        private final Lazy<IdeaList<E>> rest;
+
+        // Constructors and factory methods =============================================================
+        private RandomAccessNode(List<E> elements, int offset, int end, Lazy<IdeaList<E>> rest, int knownLength) {
+            super(Lazy.of(() -> elements.get(offset)),
+                    Lazy.of(() -> offset + 1 < end
+                            ? new RandomAccessNode<>(elements, offset + 1, end, rest, knownLength == UNKNOWN_LENGTH ? UNKNOWN_LENGTH : knownLength - 1)
+                            : rest.value()),
+                    knownLength);
+            this.elements = elements;
+            this.offset = offset;
+            this.end = end;
+            this.rest = rest;
+        }
+
+
+        // Segments =====================================================================================
+        @Override
+        int segmentLength() {
+            return end - offset;
+        }
+
+        @Override
+        E segmentElement(int index) {
+            return elements.get(offset + index);
+        }
+
+        @Override
+        IdeaList<E> afterSegment() {
+            return rest.value();
+        }
+
+        @Override
+        boolean hasIndependentSegmentElements() {
+            return true;
+        }
+
+
+        // Modifiers ====================================================================================
+        // Splits the range at index instead of rebuilding the nodes in front of it
+        @Override
+        IdeaList<E> concatAt(int index, Function<IdeaList<E>, IdeaList<E>> listAtIndexToNewList) {
+            if (index == 0) return listAtIndexToNewList.apply(this);
+            int length = end - offset;
+            if (index >= length) {
+                return new RandomAccessNode<>(elements, offset, end, Lazy.of(() -> rest.value().concatAt(index - length, listAtIndexToNewList)), UNKNOWN_LENGTH);
+            }
+            int knownLength = knownLength();
+            var listAtIndex = new RandomAccessNode<>(elements, offset + index, end, rest, knownLength == UNKNOWN_LENGTH ? UNKNOWN_LENGTH : knownLength - index);
+            return new RandomAccessNode<>(elements, offset, offset + index, Lazy.of(() -> listAtIndexToNewList.apply(listAtIndex)), UNKNOWN_LENGTH);
+        }
+    }
+
+
+    /////////////////////////////////////////////////////////////////////////////////////////////////
+    // A chunk of the output of a pipeline. The next map, mapToInt or where call continues the
+    // pipeline instead of reading the chunk, so a chain of operators costs one loop per chunk of
+    // output. The output is recorded on the way, so the elements of the chunk are computed only once,
+    // whichever of the lists is read first.
+    private static class FusedNode<E> extends ChunkNode<E> {
+        private final Pipeline.Output<E> output;
+
+        // Constructors and factory methods =============================================================
+        private FusedNode(Pipeline<Consumer<E>> pipeline, Pipeline.Output<E> output, int length) {
+            super(Lazy.of(output::elements), 0, length, Lazy.of(() -> fuse(pipeline.afterSegment())), pipeline.knownLength());
+            this.output = output;
+        }
+
+        private static <E> IdeaList<E> of(Pipeline<Consumer<E>> pipeline) {
+            return new FusedNode<>(pipeline, new Pipeline.Output<>(pipeline), pipeline.segmentLength());
+        }
+
+        private static <E> IdeaList<E> of(Pipeline<Consumer<E>> pipeline, Object[] elements) {
+            return new FusedNode<>(pipeline, new Pipeline.Output<>(elements), elements.length);
+        }
+
+
+        // Segments =====================================================================================
+        @Override
+        void pushSegment(int from, int to, Consumer<E> sink) {
+            if (from == 0 && to == segmentLength()) {
+                output.push(sink);
+            } else {
+                super.pushSegment(from, to, sink);
+            }
+        }
     }
 
 
@@ -827,6 +1329,11 @@ public abstract class IdeaList<E> implements Iterable<E> {
             throw emptyListHasNoIndicesException();
         }
 
+        @Override
+        int knownLength() {
+            return 0;
+        }
+
         @Override
         public IdeaList<Integer> indices() {
             throw emptyListHasNoIndicesException();
@@ -855,6 +1362,23 @@ public abstract class IdeaList<E> implements Iterable<E> {
         }
 
 
+        // Segments =====================================================================================
+        @Override
+        int segmentLength() {
+            return 0;
+        }
+
+        @Override
+        E segmentElement(int index) {
+            throw noSuchElementException();
+        }
+
+        @Override
+        IdeaList<E> afterSegment() {
+            throw noSuchElementException();
+        }
+
+
         // Modifiers ====================================================================================
         @Override
         protected IdeaList<E> concatWhenHelper(int index, IntObjPredicate<Lazy<E>> predicate, Function<IdeaList<E>, IdeaList<E>> listAtMatchToNewList, Supplier<IdeaList<E>> orElseReturn) {
@@ -867,5 +1391,15 @@ public abstract class IdeaList<E> implements Iterable<E> {
         protected <A> A lazyReduceRight(A initialValue, BiFunction<Lazy<E>, Lazy<A>, A> operation) {
             return initialValue;
         }
+
+        @Override
+        public <R> IdeaList<R> map(Function<E, R> transform) {
+            return IdeaList.empty();
+        }
+
+        @Override
+        public IntIdeaList mapToInt(ToIntFunction<E> transform) {
+            return IntIdeaList.empty();
+        }
     }
 }
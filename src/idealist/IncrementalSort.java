@@ -0,0 +1,90 @@
+package idealist;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.concurrent.ThreadLocalRandom;
+
+// Incremental quicksort (Paredes and Navarro). The elements are only partitioned as far as needed
+// to know the next element in sorted order: a stack holds the positions of the pivots that are
+// already in their final place, and the range in front of the top pivot is partitioned until the
+// next position is a pivot itself. The first k elements cost O(n + k log k) comparisons on average,
+// sorting everything costs as much as a quicksort. Ties are broken by the original position, so
+// the order is the same as the stable MergeSort.
+final class IncrementalSort<E> {
+    private final Comparator<E> comparator;
+    private final Object[] elements;
+    private final int[] positions;
+    private int[] pivots;
+    private int pivotCount;
+    private int next = 0;
+
+    private IncrementalSort(Comparator<E> comparator, Object[] elements) {
+        this.comparator = comparator;
+        this.elements = elements;
+        this.positions = new int[elements.length];
+        for (int i = 0; i < positions.length; i++) {
+            positions[i] = i;
+        }
+        this.pivots = new int[Math.max(1, Integer.SIZE - Integer.numberOfLeadingZeros(elements.length)) * 2];
+        // The end of the array acts as a pivot past the last element
+        this.pivots[0] = elements.length;
+        this.pivotCount = 1;
+    }
+
+    // The elements of the list are copied into an array right away, comparing them is postponed
+    // until the sorted list is read
+    static <E> IdeaList<E> sort(Comparator<E> comparator, IdeaList<E> list) {
+        Object[] elements = Materialization.toArray(list, Object[]::new);
+        return new IncrementalSort<>(comparator, elements).from(0);
+    }
+
+    // Every chunk only partitions as much as it needs, the next chunk continues from there
+    private IdeaList<E> from(int position) {
+        if (position == elements.length) return IdeaList.empty();
+        int end = Math.min(position + IdeaList.CHUNK_SIZE, elements.length);
+        Lazy<Object[]> chunk = Lazy.of(() -> {
+            while (next < end) {
+                extractNext();
+            }
+            return Arrays.copyOfRange(elements, position, end);
+        });
+        return IdeaList.createChunk(chunk, 0, end - position, Lazy.of(() -> from(end)), elements.length - position);
+    }
+
+    // Puts the element that belongs at position next in place
+    private void extractNext() {
+        while (pivots[pivotCount - 1] != next) {
+            int pivot = partition(next, pivots[pivotCount - 1] - 1);
+            if (pivotCount == pivots.length) pivots = Arrays.copyOf(pivots, 2 * pivots.length);
+            pivots[pivotCount++] = pivot;
+        }
+        pivotCount--;
+        next++;
+    }
+
+    @SuppressWarnings("unchecked")
+    private boolean isLess(int left, int right) {
+        int comparison = comparator.compare((E) elements[left], (E) elements[right]);
+        return comparison < 0 || comparison == 0 && positions[left] < positions[right];
+    }
+
+    // Partitions from..to (inclusive) around a random pivot and returns where the pivot ends up
+    private int partition(int from, int to) {
+        swap(ThreadLocalRandom.current().nextInt(from, to + 1), to);
+        int store = from;
+        for (int i = from; i < to; i++) {
+            if (isLess(i, to)) swap(i, store++);
+        }
+        swap(store, to);
+        return store;
+    }
+
+    private void swap(int left, int right) {
+        Object element = elements[left];
+        elements[left] = elements[right];
+        elements[right] = element;
+        int position = positions[left];
+        positions[left] = positions[right];
+        positions[right] = position;
+    }
+}
@@ -0,0 +1,46 @@
+package idealist;
+
+import java.util.function.IntPredicate;
+
+// Reductions over a range of an int array. They are plain counted loops without calls or
+// branches that depend on earlier iterations, which is the shape the JIT compiles to SIMD
+// instructions. The loops are kept separate from IntIdeaList so they stay small enough to be
+// inlined and unrolled.
+final class IntArrays {
+    private IntArrays() {
+    }
+
+    static int sum(int accumulator, int[] array, int from, int to) {
+        int sum = accumulator;
+        for (int i = from; i < to; i++) {
+            sum += array[i];
+        }
+        return sum;
+    }
+
+    static int max(int accumulator, int[] array, int from, int to) {
+        int max = accumulator;
+        for (int i = from; i < to; i++) {
+            max = Math.max(max, array[i]);
+        }
+        return max;
+    }
+
+    static int min(int accumulator, int[] array, int from, int to) {
+        int min = accumulator;
+        for (int i = from; i < to; i++) {
+            min = Math.min(min, array[i]);
+        }
+        return min;
+    }
+
+    // The predicate is an opaque call, so this loop isn't vectorised, but it neither boxes nor
+    // builds a list
+    static int count(int accumulator, int[] array, int from, int to, IntPredicate predicate) {
+        int count = accumulator;
+        for (int i = from; i < to; i++) {
+            if (predicate.test(array[i])) count++;
+        }
+        return count;
+    }
+}
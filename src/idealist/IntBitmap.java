@@ -0,0 +1,347 @@
+package idealist;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+// A compressed set of ints in the style of a roaring bitmap. The ints are grouped by their high 16
+// bits, and the low 16 bits of every group are stored in a container: a sorted array while the group
+// has at most MAX_ARRAY_LENGTH elements, a bitmap of 2^16 bits otherwise. Dense data costs about
+// one bit per element, sparse data two bytes. Immutable once built.
+final class IntBitmap {
+    static final int MAX_ARRAY_LENGTH = 4096;
+    private static final int BITMAP_WORDS = (1 << 16) / Long.SIZE;
+
+    // The high 16 bits of the elements of every container, ascending
+    private final int[] keys;
+    private final Container[] containers;
+    private final int cardinality;
+
+    private IntBitmap(int[] keys, Container[] containers) {
+        this.keys = keys;
+        this.containers = containers;
+        int cardinality = 0;
+        for (Container container : containers) {
+            cardinality += container.cardinality();
+        }
+        this.cardinality = cardinality;
+    }
+
+    static IntBitmap of(IntIdeaList list) {
+        var builder = new Builder();
+        for (IntIdeaList node = list; node.any(); node = node.afterSegment()) {
+            for (int i = 0; i < node.segmentLength(); i++) {
+                builder.add(node.segmentElement(i));
+            }
+        }
+        return builder.build();
+    }
+
+    private static int key(long element) {
+        return (int) (element >> 16);
+    }
+
+    private static char low(long element) {
+        return (char) element;
+    }
+
+    int cardinality() {
+        return cardinality;
+    }
+
+    boolean contains(int element) {
+        int index = Arrays.binarySearch(keys, key(element));
+        return index >= 0 && containers[index].contains(low(element));
+    }
+
+    // The index of the first container whose elements aren't all smaller than element
+    private int containerIndex(long element) {
+        int index = Arrays.binarySearch(keys, key(element));
+        return index >= 0 ? index : -(index + 1);
+    }
+
+    // The count smallest elements that are at least from, there must be at least that many
+    int[] decode(long from, int count) {
+        int[] elements = new int[count];
+        int decoded = 0;
+        for (int index = containerIndex(from); decoded < count; index++) {
+            int fromLow = keys[index] == key(from) ? low(from) : 0;
+            decoded += containers[index].decode(fromLow, elements, decoded, count - decoded, keys[index] << 16);
+        }
+        return elements;
+    }
+
+
+    // Set operations ===============================================================================
+    private interface ContainerOperation {
+        // Returns null if the result is empty
+        Container apply(Container container, Container other);
+    }
+
+    // Applies operation to the containers with the same key. keepLeft and keepRight tell whether
+    // containers that only this or only other has are part of the result.
+    private IntBitmap merge(IntBitmap other, ContainerOperation operation, boolean keepLeft, boolean keepRight) {
+        List<Integer> resultKeys = new ArrayList<>();
+        List<Container> resultContainers = new ArrayList<>();
+        int i = 0, j = 0;
+        while (i < keys.length || j < other.keys.length) {
+            int key;
+            Container container;
+            if (j == other.keys.length || i < keys.length && keys[i] < other.keys[j]) {
+                key = keys[i];
+                container = keepLeft ? containers[i] : null;
+                i++;
+            } else if (i == keys.length || other.keys[j] < keys[i]) {
+                key = other.keys[j];
+                container = keepRight ? other.containers[j] : null;
+                j++;
+            } else {
+                key = keys[i];
+                container = operation.apply(containers[i], other.containers[j]);
+                i++;
+                j++;
+            }
+            if (container != null) {
+                resultKeys.add(key);
+                resultContainers.add(container);
+            }
+        }
+        return new IntBitmap(resultKeys.stream().mapToInt(Integer::intValue).toArray(), resultContainers.toArray(new Container[0]));
+    }
+
+    IntBitmap and(IntBitmap other) {
+        return merge(other, Container::and, false, false);
+    }
+
+    IntBitmap or(IntBitmap other) {
+        return merge(other, Container::or, true, true);
+    }
+
+    IntBitmap andNot(IntBitmap other) {
+        return merge(other, Container::andNot, true, false);
+    }
+
+
+    /////////////////////////////////////////////////////////////////////////////////////////////////
+    private abstract static class Container {
+        abstract int cardinality();
+
+        abstract boolean contains(char low);
+
+        // Writes at most count elements from fromLow on to destination, starting at offset, and
+        // returns how many were written
+        abstract int decode(int fromLow, int[] destination, int offset, int count, int high);
+
+        // The container as a bitmap, which may be shared with the container
+        abstract long[] words();
+
+        // A container for the set bits of words, or null if there are none
+        static Container of(long[] words) {
+            int cardinality = 0;
+            for (long word : words) {
+                cardinality += Long.bitCount(word);
+            }
+            if (cardinality == 0) return null;
+            if (cardinality > MAX_ARRAY_LENGTH) return new BitmapContainer(words, cardinality);
+            char[] values = new char[cardinality];
+            int length = 0;
+            for (int i = 0; i < words.length; i++) {
+                for (long word = words[i]; word != 0; word &= word - 1) {
+                    values[length++] = (char) (i * Long.SIZE + Long.numberOfTrailingZeros(word));
+                }
+            }
+            return new ArrayContainer(values, cardinality);
+        }
+
+        Container and(Container other) {
+            if (this instanceof ArrayContainer) return ((ArrayContainer) this).filter(other, true);
+            if (other instanceof ArrayContainer) return ((ArrayContainer) other).filter(this, true);
+            long[] words = words().clone();
+            long[] otherWords = other.words();
+            for (int i = 0; i < BITMAP_WORDS; i++) {
+                words[i] &= otherWords[i];
+            }
+            return of(words);
+        }
+
+        Container or(Container other) {
+            long[] words = words().clone();
+            long[] otherWords = other.words();
+            for (int i = 0; i < BITMAP_WORDS; i++) {
+                words[i] |= otherWords[i];
+            }
+            return of(words);
+        }
+
+        Container andNot(Container other) {
+            if (this instanceof ArrayContainer) return ((ArrayContainer) this).filter(other, false);
+            long[] words = words().clone();
+            long[] otherWords = other.words();
+            for (int i = 0; i < BITMAP_WORDS; i++) {
+                words[i] &= ~otherWords[i];
+            }
+            return of(words);
+        }
+    }
+
+
+    /////////////////////////////////////////////////////////////////////////////////////////////////
+    private static class ArrayContainer extends Container {
+        private final char[] values;
+        private final int length;
+
+        private ArrayContainer(char[] values, int length) {
+            this.values = values;
+            this.length = length;
+        }
+
+        @Override
+        int cardinality() {
+            return length;
+        }
+
+        @Override
+        boolean contains(char low) {
+            return Arrays.binarySearch(values, 0, length, low) >= 0;
+        }
+
+        @Override
+        int decode(int fromLow, int[] destination, int offset, int count, int high) {
+            int start = Arrays.binarySearch(values, 0, length, (char) fromLow);
+            if (start < 0) start = -(start + 1);
+            int decoded = Math.min(count, length - start);
+            for (int i = 0; i < decoded; i++) {
+                destination[offset + i] = high | values[start + i];
+            }
+            return decoded;
+        }
+
+        @Override
+        long[] words() {
+            long[] words = new long[BITMAP_WORDS];
+            for (int i = 0; i < length; i++) {
+                words[values[i] >>> 6] |= 1L << values[i];
+            }
+            return words;
+        }
+
+        // The values that other contains if keep is true, or doesn't contain otherwise
+        private Container filter(Container other, boolean keep) {
+            char[] filtered = new char[length];
+            int filteredLength = 0;
+            for (int i = 0; i < length; i++) {
+                if (other.contains(values[i]) == keep) filtered[filteredLength++] = values[i];
+            }
+            return filteredLength == 0 ? null : new ArrayContainer(filtered, filteredLength);
+        }
+    }
+
+
+    /////////////////////////////////////////////////////////////////////////////////////////////////
+    private static class BitmapContainer extends Container {
+        private final long[] words;
+        private final int cardinality;
+
+        private BitmapContainer(long[] words, int cardinality) {
+            this.words = words;
+            this.cardinality = cardinality;
+        }
+
+        @Override
+        int cardinality() {
+            return cardinality;
+        }
+
+        @Override
+        boolean contains(char low) {
+            return (words[low >>> 6] & 1L << low) != 0;
+        }
+
+        @Override
+        int decode(int fromLow, int[] destination, int offset, int count, int high) {
+            int decoded = 0;
+            int index = fromLow >>> 6;
+            // Clear the bits below fromLow in the first word
+            long word = index < BITMAP_WORDS ? words[index] & -1L << fromLow : 0;
+            while (decoded < count && index < BITMAP_WORDS) {
+                if (word == 0) {
+                    if (++index < BITMAP_WORDS) word = words[index];
+                    continue;
+                }
+                destination[offset + decoded++] = high | index * Long.SIZE + Long.numberOfTrailingZeros(word);
+                word &= word - 1;
+            }
+            return decoded;
+        }
+
+        @Override
+        long[] words() {
+            return words;
+        }
+    }
+
+
+    /////////////////////////////////////////////////////////////////////////////////////////////////
+    // Adds elements in any order. Sorted input only ever appends to the last container.
+    static final class Builder {
+        private final IntObjHashMap<MutableContainer> containers = new IntObjHashMap<>();
+        private int lastKey = 0;
+        private MutableContainer lastContainer = null;
+
+        void add(int element) {
+            int key = key(element);
+            if (lastContainer == null || key != lastKey) {
+                lastKey = key;
+                lastContainer = containers.computeIfAbsent(key, __ -> new MutableContainer());
+            }
+            lastContainer.add(low(element));
+        }
+
+        IntBitmap build() {
+            int[] keys = new int[containers.size()];
+            for (int i = 0; i < keys.length; i++) {
+                keys[i] = containers.keyAt(i);
+            }
+            int[] order = PrimitiveSort.order(keys);
+            Container[] built = new Container[keys.length];
+            for (int i = 0; i < keys.length; i++) {
+                built[i] = containers.valueAt(order[i]).build();
+            }
+            return new IntBitmap(PrimitiveSort.permute(keys, order), built);
+        }
+    }
+
+    private static class MutableContainer {
+        private char[] values = new char[4];
+        private long[] words = null;
+        private int cardinality = 0;
+
+        private void add(char low) {
+            if (words != null) {
+                if ((words[low >>> 6] & 1L << low) == 0) cardinality++;
+                words[low >>> 6] |= 1L << low;
+                return;
+            }
+            int index = cardinality > 0 && values[cardinality - 1] < low ? cardinality : Arrays.binarySearch(values, 0, cardinality, low);
+            if (index < 0) {
+                index = -(index + 1);
+            } else if (index < cardinality) {
+                return;
+            }
+            if (cardinality == MAX_ARRAY_LENGTH) {
+                words = new ArrayContainer(values, cardinality).words();
+                values = null;
+                add(low);
+                return;
+            }
+            if (cardinality == values.length) values = Arrays.copyOf(values, 2 * cardinality);
+            System.arraycopy(values, index, values, index + 1, cardinality - index);
+            values[index] = low;
+            cardinality++;
+        }
+
+        private Container build() {
+            return words != null ? new BitmapContainer(words, cardinality) : new ArrayContainer(Arrays.copyOf(values, cardinality), cardinality);
+        }
+    }
+}
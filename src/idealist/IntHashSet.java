@@ -0,0 +1,84 @@
+package idealist;
+
+import java.util.Arrays;
+
+// An open addressing hash set of ints that doesn't box its elements. The elements are stored in
+// the order they were added, the hash table only holds their index in that order (plus one, so
+// zero marks an empty slot). Collisions are resolved by linear probing and the table is kept at
+// most half full.
+final class IntHashSet {
+    private static final int INITIAL_CAPACITY = 8;
+
+    private int[] elements = new int[INITIAL_CAPACITY];
+    private int[] slots = new int[2 * INITIAL_CAPACITY];
+    private int size = 0;
+
+    static IntHashSet of(IntIdeaList list) {
+        var set = new IntHashSet();
+        for (IntIdeaList node = list; node.any(); node = node.afterSegment()) {
+            for (int i = 0; i < node.segmentLength(); i++) {
+                set.add(node.segmentElement(i));
+            }
+        }
+        return set;
+    }
+
+    private static int hash(int element) {
+        int hash = element * 0x9E3779B9;
+        return hash ^ hash >>> 16;
+    }
+
+    // The slot that holds element, or the empty slot where it would go
+    private int slotOf(int element) {
+        int mask = slots.length - 1;
+        int slot = hash(element) & mask;
+        while (slots[slot] != 0 && elements[slots[slot] - 1] != element) {
+            slot = slot + 1 & mask;
+        }
+        return slot;
+    }
+
+    // The position of element in the order the elements were added, or -1 if it isn't in the set
+    int indexOf(int element) {
+        return slots[slotOf(element)] - 1;
+    }
+
+    boolean contains(int element) {
+        return indexOf(element) >= 0;
+    }
+
+    // Returns the position of element, after adding it if it wasn't in the set yet
+    int insert(int element) {
+        int slot = slotOf(element);
+        if (slots[slot] != 0) return slots[slot] - 1;
+        if (size == elements.length) {
+            grow();
+            slot = slotOf(element);
+        }
+        elements[size] = element;
+        slots[slot] = ++size;
+        return size - 1;
+    }
+
+    // Returns false if element was already in the set
+    boolean add(int element) {
+        int size = this.size;
+        return insert(element) == size;
+    }
+
+    int size() {
+        return size;
+    }
+
+    int get(int index) {
+        return elements[index];
+    }
+
+    private void grow() {
+        elements = Arrays.copyOf(elements, 2 * elements.length);
+        slots = new int[2 * elements.length];
+        for (int i = 0; i < size; i++) {
+            slots[slotOf(elements[i])] = i + 1;
+        }
+    }
+}
@@ -1,11 +1,16 @@
 package idealist;
 
+import idealist.function.IntIntFunction;
+import idealist.tuple.IntIntPair;
 import idealist.tuple.IntObjPair;
 import idealist.primitive_specializations.PrimitiveEnumerator;
 import idealist.tuple.Pair;
 
+import java.nio.IntBuffer;
 import java.util.*;
 import java.util.function.*;
+import java.util.stream.IntStream;
+import java.util.stream.StreamSupport;
 
 public abstract class IntIdeaList implements Iterable<Integer> {
     public final LazyInt value;
@@ -20,6 +25,27 @@ public abstract class IntIdeaList implements Iterable<Integer> {
         return new NormalNode(value, tail);
     }
 
+    // See IdeaList.create(Lazy, Lazy, int)
+    static IntIdeaList create(LazyInt value, Lazy<IntIdeaList> tail, int knownLength) {
+        return new NormalNode(value, tail, knownLength);
+    }
+
+    // See IdeaList.createChunk
+    static IntIdeaList createChunk(Lazy<int[]> elements, int offset, int end, Lazy<IntIdeaList> rest, int knownLength) {
+        return new ChunkNode(elements, offset, end, rest, knownLength);
+    }
+
+    // See IdeaList.fuse(Pipeline)
+    static IntIdeaList fuse(Pipeline<IntConsumer> pipeline) {
+        if (!pipeline.filters()) return pipeline.any() ? FusedNode.of(pipeline) : IntIdeaList.empty();
+        while (pipeline.any()) {
+            int[] elements = Pipeline.collectInts(pipeline);
+            if (elements.length > 0) return FusedNode.of(pipeline, elements);
+            pipeline = pipeline.afterSegment();
+        }
+        return IntIdeaList.empty();
+    }
+
     public static IntIdeaList empty() {
         return EndNode.EMPTY;
     }
@@ -27,7 +53,7 @@ public abstract class IntIdeaList implements Iterable<Integer> {
     private static <L> IntIdeaList concat(PrimitiveIterator.OfInt iterator, L elements, Function<L, IntIdeaList> toIntIdeaList) {
         if (iterator.hasNext()) {
             int element = iterator.nextInt();
-            return IntIdeaList.create(LazyInt.of(() -> element), Lazy.of(() -> concat(iterator, elements, toIntIdeaList)));
+            return IntIdeaList.create(LazyInt.evaluated(element), Lazy.of(() -> concat(iterator, elements, toIntIdeaList)));
         }
         return toIntIdeaList.apply(elements);
     }
@@ -40,26 +66,47 @@ public abstract class IntIdeaList implements Iterable<Integer> {
         return concat(PrimitiveEnumerator.ofInt(iterable), elements, Function.identity());
     }
 
+    private static IntIdeaList chunksOf(PrimitiveIterator.OfInt iterator) {
+        int[] chunk = new int[IdeaList.CHUNK_SIZE];
+        int length = 0;
+        while (length < IdeaList.CHUNK_SIZE && iterator.hasNext()) {
+            chunk[length++] = iterator.nextInt();
+        }
+        if (length == 0) return IntIdeaList.empty();
+        int[] elements = length == IdeaList.CHUNK_SIZE ? chunk : Arrays.copyOf(chunk, length);
+        return createChunk(Lazy.evaluated(elements), 0, length, Lazy.of(() -> chunksOf(iterator)), IdeaList.UNKNOWN_LENGTH);
+    }
+
     public static IntIdeaList of(Iterable<Integer> elements) {
-        return concat(elements, IntIdeaList.empty());
+        return chunksOf(PrimitiveEnumerator.ofInt(elements));
     }
 
+    // The list shares the given array instead of copying it
     public static IntIdeaList of(int... elements) {
-        return concat(PrimitiveEnumerator.of(elements), IntIdeaList.empty(), Function.identity());
+        return wrap(elements, 0, elements.length);
     }
 
-    // Can potentially increase performance by immediately calculating "to" instead of
-    // continuously calculating length - 1
-    private static IntIdeaList rangeLength(int from, int length) {
-        return length == 0 ? IntIdeaList.empty() : IntIdeaList.create(
-                LazyInt.of(() -> from),
-                Lazy.of(() -> rangeLength(from + 1, length - 1))
-        );
+    // A view of array[from..to). Iteration, get, reductions and toArray read the array directly,
+    // nodes are only created for the elements of the view that are walked one by one. The array
+    // isn't copied, so it must not be changed while the list is in use.
+    public static IntIdeaList wrap(int[] array, int from, int to) {
+        Objects.checkFromToIndex(from, to, array.length);
+        return from == to ? IntIdeaList.empty() : new ArrayNode(array, from, to);
+    }
+
+    // A view of the remaining elements of the buffer, from its position up to its limit. The
+    // position and limit of the buffer are read once, so moving them later doesn't change the list.
+    // See wrap(int[], int, int)
+    public static IntIdeaList wrap(IntBuffer buffer) {
+        int from = buffer.position();
+        int to = buffer.limit();
+        if (buffer.hasArray()) return wrap(buffer.array(), buffer.arrayOffset() + from, buffer.arrayOffset() + to);
+        return from == to ? IntIdeaList.empty() : new BufferNode(buffer, from, to);
     }
 
     private static IntIdeaList rangeExclusive(int from, int upTo) {
         return from == upTo ? IntIdeaList.empty() : IntIdeaList.create(
-                LazyInt.of(() -> from),
+                LazyInt.evaluated(from),
                 Lazy.of(() -> rangeExclusive(from + 1, upTo))
         );
     }
@@ -68,51 +115,164 @@ public abstract class IntIdeaList implements Iterable<Integer> {
         if (length < 0) throw new IllegalArgumentException("Cannot initialise list with length " + length);
     }
 
+    // A whole chunk of elements is calculated as soon as one of its elements is needed
+    private static IntIdeaList initialiseChunks(int from, int length, IntUnaryOperator indexToElement) {
+        if (from == length) return IntIdeaList.empty();
+        int chunkLength = Math.min(IdeaList.CHUNK_SIZE, length - from);
+        Lazy<int[]> chunk = Lazy.of(() -> {
+            int[] elements = new int[chunkLength];
+            for (int i = 0; i < chunkLength; i++) {
+                elements[i] = indexToElement.applyAsInt(from + i);
+            }
+            return elements;
+        });
+        return createChunk(chunk, 0, chunkLength, Lazy.of(() -> initialiseChunks(from + chunkLength, length, indexToElement)), length - from);
+    }
+
     public static IntIdeaList initialiseWith(int length, IntUnaryOperator indexToElement) {
         handleNegativeLength(length);
         // rangeExclusive(0, length)
-        return rangeLength(0, length).map(indexToElement);
+        return initialiseChunks(0, length, indexToElement);
     }
 
     public static IntIdeaList initWith(int length, IntUnaryOperator indexToElement) {
         return initialiseWith(length, indexToElement);
     }
 
+    // first, first + step, first + 2 * step, ... Elements are calculated from their index, so the
+    // list takes no memory per element
+    public static IntIdeaList progression(int first, int step, int length) {
+        handleNegativeLength(length);
+        return length == 0 ? IntIdeaList.empty() : new RangeNode(first, step, length);
+    }
+
+    private static IndexOutOfBoundsException indexTooBigException() {
+        return new IndexOutOfBoundsException("Index too big");
+    }
+
+    // See IdeaList.get(int)
+    public int get(int index) {
+        if (index < 0) {
+            int length = length();
+            if (-index > length) throw indexTooBigException();
+            return get(length + index);
+        }
+        IntIdeaList node = this;
+        int remaining = index;
+        while (node.any() && remaining >= node.segmentLength()) {
+            remaining -= node.segmentLength();
+            node = node.afterSegment();
+        }
+        if (!node.any()) throw indexTooBigException();
+        return node.segmentElement(remaining);
+    }
+
+    public boolean contains(int element) {
+        for (IntIdeaList node = this; node.any(); node = node.afterSegment()) {
+            for (int i = 0; i < node.segmentLength(); i++) {
+                if (node.segmentElement(i) == element) return true;
+            }
+        }
+        return false;
+    }
+
     public abstract int first();
 
     public List<Integer> toList() {
-        return Enumerable.toList(this);
+        int[] elements = toArray();
+        List<Integer> list = new ArrayList<>(elements.length);
+        for (int element : elements) {
+            list.add(element);
+        }
+        return list;
     }
 
+    // See IdeaList.toArray(Class)
     public int[] toArray() {
-        int length = length();
-        int[] intArray = new int[length];
-        PrimitiveIterator.OfInt iterator = iterator();
-        for (int i = 0; i < length; i++) {
-            intArray[i] = iterator.nextInt();
-        }
-        return intArray;
+        return Materialization.toArray(this);
     }
 
+    // See Enumerator.of(IdeaList)
     @Override
     public PrimitiveIterator.OfInt iterator() {
-        return PrimitiveEnumerator.of(this);
+        return new PrimitiveIterator.OfInt() {
+            private IntIdeaList segment = IntIdeaList.this;
+            private int index = 0;
+
+            @Override
+            public boolean hasNext() {
+                while (index == segment.segmentLength()) {
+                    if (!segment.any()) return false;
+                    segment = segment.afterSegment();
+                    index = 0;
+                }
+                return true;
+            }
+
+            @Override
+            public int nextInt() {
+                if (!hasNext()) throw new NoSuchElementException("List is empty");
+                return segment.segmentElement(index++);
+            }
+        };
+    }
+
+    // See IdeaList.spliterator()
+    @Override
+    public Spliterator.OfInt spliterator() {
+        return IntSegmentSpliterator.of(this);
+    }
+
+    public IntStream intStream() {
+        return StreamSupport.intStream(spliterator(), false);
+    }
+
+    public IntStream parallelIntStream() {
+        return StreamSupport.intStream(spliterator(), true);
+    }
+
+    // Compares length elements of two segments, with Arrays.equals if both sit in an array
+    private static boolean isSegmentEqual(IntIdeaList segment, int index, IntIdeaList other, int otherIndex, int length) {
+        int[] array = segment.segmentArray();
+        int[] otherArray = other.segmentArray();
+        if (array != null && otherArray != null) {
+            int from = segment.segmentOffset() + index;
+            int otherFrom = other.segmentOffset() + otherIndex;
+            return Arrays.equals(array, from, from + length, otherArray, otherFrom, otherFrom + length);
+        }
+        for (int i = 0; i < length; i++) {
+            if (segment.segmentElement(index + i) != other.segmentElement(otherIndex + i)) return false;
+        }
+        return true;
     }
 
-    private static boolean isContentEqual(IntIdeaList iterable, IntIdeaList other) {
-        PrimitiveIterator.OfInt it1 = iterable.iterator();
-        PrimitiveIterator.OfInt it2 = other.iterator();
+    // Walks both lists segment by segment and compares the overlapping parts of the current segments
+    private static boolean isContentEqual(IntIdeaList list, IntIdeaList other) {
+        IntIdeaList segment = list;
+        IntIdeaList otherSegment = other;
+        int index = 0;
+        int otherIndex = 0;
         while (true) {
-            if (it1.hasNext() && !it2.hasNext() || !it1.hasNext() && it2.hasNext()) return false;
-            if (!it1.hasNext()) return true;
-            if (it1.nextInt() != it2.nextInt()) return false;
+            while (index == segment.segmentLength() && segment.any()) {
+                segment = segment.afterSegment();
+                index = 0;
+            }
+            while (otherIndex == otherSegment.segmentLength() && otherSegment.any()) {
+                otherSegment = otherSegment.afterSegment();
+                otherIndex = 0;
+            }
+            if (!segment.any() || !otherSegment.any()) return !segment.any() && !otherSegment.any();
+            int length = Math.min(segment.segmentLength() - index, otherSegment.segmentLength() - otherIndex);
+            if (!isSegmentEqual(segment, index, otherSegment, otherIndex, length)) return false;
+            index += length;
+            otherIndex += length;
         }
     }
 
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
-        if (o == null || getClass() != o.getClass()) return false;
+        if (!(o instanceof IntIdeaList)) return false;
         IntIdeaList integers = (IntIdeaList) o;
         return isContentEqual(this, integers);
     }
@@ -124,6 +284,57 @@ public abstract class IntIdeaList implements Iterable<Integer> {
 
     public abstract boolean any();
 
+    // See IdeaList segments
+    abstract int segmentLength();
+
+    abstract int segmentElement(int index);
+
+    abstract IntIdeaList afterSegment();
+
+    // See IdeaList.hasIndependentSegmentElements()
+    boolean hasIndependentSegmentElements() {
+        return false;
+    }
+
+    // The array that holds the elements of the segment, starting at segmentOffset(), or null if
+    // they aren't stored in an array. Reductions run over the array directly.
+    int[] segmentArray() {
+        return null;
+    }
+
+    int segmentOffset() {
+        return 0;
+    }
+
+    // The bitmap that holds exactly the elements of this list, or null if they aren't stored in one
+    IntBitmap bitmap() {
+        return null;
+    }
+
+    // Copies length elements of the segment, starting at index from, into destination at position
+    void copySegment(int from, int[] destination, int position, int length) {
+        int[] array = segmentArray();
+        if (array != null) {
+            System.arraycopy(array, segmentOffset() + from, destination, position, length);
+            return;
+        }
+        for (int i = 0; i < length; i++) {
+            destination[position + i] = segmentElement(from + i);
+        }
+    }
+
+    // See IdeaList.pushSegment(int, int, Consumer)
+    void pushSegment(int from, int to, IntConsumer sink) {
+        for (int i = from; i < to; i++) {
+            sink.accept(segmentElement(i));
+        }
+    }
+
+    // See IdeaList.pipeline()
+    Pipeline<IntConsumer> pipeline() {
+        return Pipeline.of(this);
+    }
+
     @Override
     public void forEach(Consumer<? super Integer> action) {
         iterator().forEachRemaining(action);
@@ -131,19 +342,42 @@ public abstract class IntIdeaList implements Iterable<Integer> {
 
     abstract <A> A lazyReduceRight(A initialValue, BiFunction<LazyInt, Lazy<A>, A> operation);
 
-    public <R> IdeaList<R> mapToObj(IntFunction<R> transform) {
-        BiFunction<LazyInt, Lazy<IdeaList<R>>, IdeaList<R>> transformAndPrependElem = (elem, list) -> IdeaList.create(Lazy.of(() -> transform.apply(elem.value())), list);
-        return lazyReduceRight(IdeaList.empty(), transformAndPrependElem);
+    // See IdeaList.threadSafe(LazyThreadSafetyMode)
+    public IntIdeaList threadSafe(LazyThreadSafetyMode mode) {
+        if (mode == LazyThreadSafetyMode.NONE) return this;
+        return threadSafeChunks(this, 0, mode);
     }
 
-    public IntIdeaList map(IntUnaryOperator transform) {
-        BiFunction<LazyInt, Lazy<IntIdeaList>, IntIdeaList> transformAndPrependElem = (elem, list) -> IntIdeaList.create(LazyInt.of(() -> transform.applyAsInt(elem.value())), list);
-        return lazyReduceRight(IntIdeaList.empty(), transformAndPrependElem);
+    // See IdeaList.threadSafeChunks
+    private static IntIdeaList threadSafeChunks(IntIdeaList node, int from, LazyThreadSafetyMode mode) {
+        if (!node.any()) return IntIdeaList.empty();
+        int length = Math.min(IdeaList.CHUNK_SIZE, node.segmentLength() - from);
+        Lazy<int[]> chunk = Lazy.of(() -> {
+            int[] elements = new int[length];
+            node.copySegment(from, elements, 0, length);
+            return elements;
+        }, LazyThreadSafetyMode.AT_MOST_ONCE);
+        Lazy<IntIdeaList> rest = Lazy.of(() -> {
+            chunk.value();
+            return from + length < node.segmentLength()
+                    ? threadSafeChunks(node, from + length, mode)
+                    : threadSafeChunks(node.afterSegment(), 0, mode);
+        }, LazyThreadSafetyMode.AT_MOST_ONCE);
+        int knownLength = node.knownLength();
+        return new ChunkNode(chunk, 0, length, rest, knownLength == IdeaList.UNKNOWN_LENGTH ? IdeaList.UNKNOWN_LENGTH : knownLength - from, mode);
     }
 
+    public IntIdeaList threadSafe() {
+        return threadSafe(LazyThreadSafetyMode.AT_MOST_ONCE);
+    }
+
+    public abstract <R> IdeaList<R> mapToObj(IntFunction<R> transform);
+
+    public abstract IntIdeaList map(IntUnaryOperator transform);
+
+    // See IdeaList.where(Function)
     public IntIdeaList where(IntPredicate predicate) {
-        BiFunction<LazyInt, Lazy<IntIdeaList>, IntIdeaList> prependElemIfMatch = (elem, list) -> predicate.test(elem.value()) ? IntIdeaList.create(elem, list) : list.value();
-        return lazyReduceRight(IntIdeaList.empty(), prependElemIfMatch);
+        return fuse(pipeline().then(Pipeline.filteringInt(predicate), true));
     }
 
     private static int reduceHelper(IntIdeaList list, int initialValue, IntBinaryOperator operation) {
@@ -159,13 +393,38 @@ public abstract class IntIdeaList implements Iterable<Integer> {
         return reduceHelper(this, initialValue, operation);
     }
 
+    private interface ArrayReduction {
+        int reduce(int accumulator, int[] array, int from, int to);
+    }
+
+    // Reduces segments that sit in an array with arrayReduction and the others element by element
+    private int reduceSegments(int initialValue, ArrayReduction arrayReduction, IntBinaryOperator operation) {
+        int accumulator = initialValue;
+        for (IntIdeaList node = this; node.any(); node = node.afterSegment()) {
+            int[] array = node.segmentArray();
+            if (array != null) {
+                int from = node.segmentOffset();
+                accumulator = arrayReduction.reduce(accumulator, array, from, from + node.segmentLength());
+                continue;
+            }
+            for (int i = 0; i < node.segmentLength(); i++) {
+                accumulator = operation.applyAsInt(accumulator, node.segmentElement(i));
+            }
+        }
+        return accumulator;
+    }
+
+    private static UnsupportedOperationException emptyReductionException() {
+        return new UnsupportedOperationException("Empty list cannot be reduced");
+    }
+
     public abstract int reduce(IntBinaryOperator operation);
 
     // TODO change to reduce(Integer::sum);
     // Throws exception when list is empty. When the list is empty
     // there is nothing to add up
     public int sum() {
-        return reduce(0, Integer::sum);
+        return reduceSegments(0, IntArrays::sum, Integer::sum);
     }
 
     public double average() {
@@ -177,19 +436,180 @@ public abstract class IntIdeaList implements Iterable<Integer> {
     }*/
 
     public int count(IntPredicate predicate) {
-        return map(elem -> predicate.test(elem) ? 1 : 0).sum();
+        return reduceSegments(0,
+                (accumulator, array, from, to) -> IntArrays.count(accumulator, array, from, to, predicate),
+                (accumulator, elem) -> predicate.test(elem) ? accumulator + 1 : accumulator);
+    }
+
+    // See IdeaList.parallelReduce(Object, BiFunction, BinaryOperator)
+    public int parallelReduce(int identity, IntBinaryOperator operation) {
+        return parallelIntStream().reduce(identity, operation);
+    }
+
+    public int parallelSum() {
+        return parallelIntStream().sum();
     }
 
+    public int parallelCount(IntPredicate predicate) {
+        return (int) parallelIntStream().filter(predicate).count();
+    }
+
+    public int parallelMax() {
+        return parallelIntStream().max().orElseThrow(() -> new NoSuchElementException("List is empty"));
+    }
+
+    public int parallelMin() {
+        return parallelIntStream().min().orElseThrow(() -> new NoSuchElementException("List is empty"));
+    }
+
+    // See IdeaList.length()
     public int length() {
-        return count(__ -> true);
+        int knownLength = knownLength();
+        if (knownLength != IdeaList.UNKNOWN_LENGTH) return knownLength;
+        int length = 0;
+        for (IntIdeaList node = this; node.any(); node = node.afterSegment()) {
+            length += node.segmentLength();
+        }
+        return length;
     }
 
+    abstract int knownLength();
+
     public int max() {
-        return reduce(Math::max);
+        if (!any()) throw emptyReductionException();
+        return reduceSegments(Integer.MIN_VALUE, IntArrays::max, Math::max);
     }
 
     public int min() {
-        return reduce(Math::min);
+        if (!any()) throw emptyReductionException();
+        return reduceSegments(Integer.MAX_VALUE, IntArrays::min, Math::min);
+    }
+
+    // The elements are copied into an array and sorted eagerly, see PrimitiveSort
+    public IntIdeaList sorted() {
+        return IntIdeaList.of(PrimitiveSort.sorted(toArray()));
+    }
+
+    public IntIdeaList sortedDescending() {
+        return IntIdeaList.of(PrimitiveSort.reversed(PrimitiveSort.sorted(toArray())));
+    }
+
+    // Equal keys keep their order
+    public IntIdeaList sortedBy(IntUnaryOperator key) {
+        int[] elements = toArray();
+        int[] keys = new int[elements.length];
+        for (int i = 0; i < elements.length; i++) {
+            keys[i] = key.applyAsInt(elements[i]);
+        }
+        return IntIdeaList.of(PrimitiveSort.permute(elements, PrimitiveSort.order(keys)));
+    }
+
+    // The elements of node from index from on, followed by the elements of rest
+    private static IntIdeaList concatFrom(IntIdeaList node, int from, Lazy<IntIdeaList> rest) {
+        if (!node.any()) return rest.value();
+        int end = Math.min(from + IdeaList.CHUNK_SIZE, node.segmentLength());
+        Lazy<int[]> chunk = Lazy.of(() -> {
+            int[] elements = new int[end - from];
+            for (int i = from; i < end; i++) {
+                elements[i - from] = node.segmentElement(i);
+            }
+            return elements;
+        });
+        return createChunk(chunk, 0, end - from,
+                Lazy.of(() -> end < node.segmentLength() ? concatFrom(node, end, rest) : concatFrom(node.afterSegment(), 0, rest)),
+                IdeaList.UNKNOWN_LENGTH);
+    }
+
+    // Keeps the first occurrence of the elements that satisfy predicate. The elements that were seen
+    // are kept in an IntHashSet, which works because a pipeline only pushes every element once.
+    private IntIdeaList whereFirstSeen(IntPredicate predicate) {
+        var seen = new IntHashSet();
+        IntPredicate firstSeen = elem -> predicate.test(elem) && seen.add(elem);
+        return fuse(pipeline().then(Pipeline.filteringInt(firstSeen), true));
+    }
+
+    // Elements are emitted the first time they are seen, so the list stays lazy
+    public IntIdeaList distinct() {
+        return whereFirstSeen(elem -> true);
+    }
+
+    // The set operations return every element at most once, in the order of this list followed by
+    // the order of other
+    public IntIdeaList union(IntIdeaList other) {
+        return concatFrom(this, 0, Lazy.evaluated(other)).distinct();
+    }
+
+    public IntIdeaList intersect(IntIdeaList other) {
+        Lazy<IntHashSet> otherElements = Lazy.of(() -> IntHashSet.of(other));
+        return whereFirstSeen(elem -> otherElements.value().contains(elem));
+    }
+
+    public IntIdeaList except(IntIdeaList other) {
+        Lazy<IntHashSet> otherElements = Lazy.of(() -> IntHashSet.of(other));
+        return whereFirstSeen(elem -> !otherElements.value().contains(elem));
+    }
+
+    // The sorted, distinct elements of this list, stored in a compressed bitmap that takes about a bit
+    // per element for dense data. Elements are decoded a chunk at a time while the list is walked,
+    // length and contains don't decode anything.
+    public IntIdeaList toBitmap() {
+        return bitmap() != null ? this : BitmapNode.of(IntBitmap.of(this));
+    }
+
+    // Like where(predicate).toBitmap(), but the elements that satisfy predicate go straight into the
+    // bitmap, so a filtered range never exists as a list
+    public IntIdeaList whereToBitmap(IntPredicate predicate) {
+        var builder = new IntBitmap.Builder();
+        for (IntIdeaList node = this; node.any(); node = node.afterSegment()) {
+            for (int i = 0; i < node.segmentLength(); i++) {
+                int element = node.segmentElement(i);
+                if (predicate.test(element)) builder.add(element);
+            }
+        }
+        return BitmapNode.of(builder.build());
+    }
+
+    private IntBitmap toIntBitmap() {
+        IntBitmap bitmap = bitmap();
+        return bitmap != null ? bitmap : IntBitmap.of(this);
+    }
+
+    // and, or and andNot are set operations on the sorted, distinct elements of both lists, their
+    // result is a bitmap, see toBitmap()
+    public IntIdeaList and(IntIdeaList other) {
+        return BitmapNode.of(toIntBitmap().and(other.toIntBitmap()));
+    }
+
+    public IntIdeaList or(IntIdeaList other) {
+        return BitmapNode.of(toIntBitmap().or(other.toIntBitmap()));
+    }
+
+    public IntIdeaList andNot(IntIdeaList other) {
+        return BitmapNode.of(toIntBitmap().andNot(other.toIntBitmap()));
+    }
+
+    // The number of elements per key, in the order the keys are first seen
+    public IdeaList<IntIntPair> countBy(IntUnaryOperator key) {
+        var counts = new IntIntHashMap();
+        for (IntIdeaList node = this; node.any(); node = node.afterSegment()) {
+            for (int i = 0; i < node.segmentLength(); i++) {
+                counts.add(key.applyAsInt(node.segmentElement(i)), 1);
+            }
+        }
+        return IdeaList.initialiseWith(counts.size(), index -> IntIntPair.of(counts.keyAt(index), counts.valueAt(index)));
+    }
+
+    // The elements per key, in the order the keys are first seen. Every group keeps the order of
+    // this list.
+    public IdeaList<IntObjPair<IntIdeaList>> groupingBy(IntUnaryOperator key) {
+        var groups = new IntObjHashMap<Group>();
+        for (IntIdeaList node = this; node.any(); node = node.afterSegment()) {
+            for (int i = 0; i < node.segmentLength(); i++) {
+                int element = node.segmentElement(i);
+                groups.computeIfAbsent(key.applyAsInt(element), __ -> new Group()).add(element);
+            }
+        }
+        return IdeaList.initialiseWith(groups.size(), index -> IntObjPair.of(groups.keyAt(index), groups.valueAt(index).toIntIdeaList()));
     }
 
     /*public <A> IdeaList<Pair<E, A>> zipWith(Iterable<A> other) {
@@ -207,7 +627,7 @@ public abstract class IntIdeaList implements Iterable<Integer> {
     private static <A, B> IdeaList<Pair<A, B>> zipHelper(Pair<Iterator<A>, Iterator<B>> iterators) {
         if (!allHaveNext(iterators)) return IdeaList.empty();
         Pair<A, B> elements = next(iterators);
-        return IdeaList.create(Lazy.of(() -> elements), Lazy.of(() -> zipHelper(iterators)));
+        return IdeaList.create(Lazy.evaluated(elements), Lazy.of(() -> zipHelper(iterators)));
     }*/
 
     private static <A> boolean allHaveNext(Pair<PrimitiveIterator.OfInt, Iterator<A>> iterators) {
@@ -218,22 +638,116 @@ public abstract class IntIdeaList implements Iterable<Integer> {
         return IntObjPair.of(iterators.first.nextInt(), iterators.second.next());
     }
 
-    private static <A> IdeaList<IntObjPair<A>> zipHelper(Pair<PrimitiveIterator.OfInt, Iterator<A>> iterators) {
+    private static <A> IdeaList<IntObjPair<A>> zipHelper(Pair<PrimitiveIterator.OfInt, Iterator<A>> iterators, int knownLength) {
         if (!allHaveNext(iterators)) return IdeaList.empty();
         IntObjPair<A> elements = next(iterators);
-        return IdeaList.create(Lazy.of(() -> elements), Lazy.of(() -> zipHelper(iterators)));
+        int tailLength = knownLength == IdeaList.UNKNOWN_LENGTH ? IdeaList.UNKNOWN_LENGTH : knownLength - 1;
+        return IdeaList.create(Lazy.evaluated(elements), Lazy.of(() -> zipHelper(iterators, tailLength)), knownLength);
     }
 
     public <A> IdeaList<IntObjPair<A>> zipWith(Iterable<A> other) {
-        return zipHelper(Pair.of(iterator(), other.iterator()));
+        int otherLength = Enumerable.zippedLength(other);
+        int knownLength = knownLength() == IdeaList.UNKNOWN_LENGTH || otherLength == IdeaList.UNKNOWN_LENGTH
+                ? IdeaList.UNKNOWN_LENGTH
+                : Math.min(knownLength(), otherLength);
+        return zipHelper(Pair.of(iterator(), other.iterator()), knownLength);
+    }
+
+    // The number of elements from index in the segment of node on, or IdeaList.UNKNOWN_LENGTH
+    private static int knownLengthFrom(IntIdeaList node, int index) {
+        int knownLength = node.knownLength();
+        return knownLength == IdeaList.UNKNOWN_LENGTH ? IdeaList.UNKNOWN_LENGTH : knownLength - index;
+    }
+
+    private static int zippedLength(IntIdeaList node, int index, IntIdeaList other, int otherIndex) {
+        int knownLength = knownLengthFrom(node, index);
+        int otherLength = knownLengthFrom(other, otherIndex);
+        if (knownLength == IdeaList.UNKNOWN_LENGTH || otherLength == IdeaList.UNKNOWN_LENGTH) return IdeaList.UNKNOWN_LENGTH;
+        return Math.min(knownLength, otherLength);
+    }
+
+    // Skips the segments that have no elements left from index on
+    private static IntIdeaList segmentAt(IntIdeaList node, int index) {
+        while (index == node.segmentLength() && node.any()) {
+            node = node.afterSegment();
+            index = 0;
+        }
+        return node;
+    }
+
+    // The number of elements the next chunk of a zip takes from both lists. A chunk never crosses
+    // the end of a segment, so neither list is evaluated ahead of the chunk that needs it.
+    private static int zippedChunkLength(IntIdeaList node, int index, IntIdeaList other, int otherIndex) {
+        return Math.min(IdeaList.CHUNK_SIZE, Math.min(node.segmentLength() - index, other.segmentLength() - otherIndex));
+    }
+
+    private static IntIdeaList zipFrom(IntIdeaList list, int listIndex, IntIdeaList otherList, int otherListIndex, IntBinaryOperator combine) {
+        IntIdeaList node = segmentAt(list, listIndex);
+        IntIdeaList other = segmentAt(otherList, otherListIndex);
+        int index = node == list ? listIndex : 0;
+        int otherIndex = other == otherList ? otherListIndex : 0;
+        if (!node.any() || !other.any()) return IntIdeaList.empty();
+        int length = zippedChunkLength(node, index, other, otherIndex);
+        Lazy<int[]> chunk = Lazy.of(() -> {
+            int[] elements = new int[length];
+            for (int i = 0; i < length; i++) {
+                elements[i] = combine.applyAsInt(node.segmentElement(index + i), other.segmentElement(otherIndex + i));
+            }
+            return elements;
+        });
+        return createChunk(chunk, 0, length,
+                Lazy.of(() -> zipFrom(node, index + length, other, otherIndex + length, combine)),
+                zippedLength(node, index, other, otherIndex));
+    }
+
+    // See zipFrom(IntIdeaList, int, IntIdeaList, int, IntBinaryOperator)
+    private static <R> IdeaList<R> zipToObjFrom(IntIdeaList list, int listIndex, IntIdeaList otherList, int otherListIndex, IntIntFunction<R> combine) {
+        IntIdeaList node = segmentAt(list, listIndex);
+        IntIdeaList other = segmentAt(otherList, otherListIndex);
+        int index = node == list ? listIndex : 0;
+        int otherIndex = other == otherList ? otherListIndex : 0;
+        if (!node.any() || !other.any()) return IdeaList.empty();
+        int length = zippedChunkLength(node, index, other, otherIndex);
+        Lazy<Object[]> chunk = Lazy.of(() -> {
+            Object[] elements = new Object[length];
+            for (int i = 0; i < length; i++) {
+                elements[i] = combine.apply(node.segmentElement(index + i), other.segmentElement(otherIndex + i));
+            }
+            return elements;
+        });
+        return IdeaList.createChunk(chunk, 0, length,
+                Lazy.of(() -> zipToObjFrom(node, index + length, other, otherIndex + length, combine)),
+                zippedLength(node, index, other, otherIndex));
+    }
+
+    // Pairs the elements chunk by chunk, without boxing them or creating a node per pair
+    public IdeaList<IntIntPair> zipWith(IntIdeaList other) {
+        return zipToObjFrom(this, 0, other, 0, IntIntPair::of);
+    }
+
+    // Combines the elements at the same index into a new IntIdeaList, without creating any tuples.
+    // The result is as long as the shortest list.
+    public IntIdeaList zipWith(IntIdeaList other, IntBinaryOperator combine) {
+        return zipFrom(this, 0, other, 0, combine);
+    }
+
+    // transform gets the index of the element first, like IdeaList.mapIndexed(IntObjFunction)
+    public IntIdeaList mapIndexed(IntBinaryOperator transform) {
+        return zipFrom(progression(0, 1, Integer.MAX_VALUE), 0, this, 0, transform);
     }
 
 
 
     private static class NormalNode extends IntIdeaList {
+        private final int knownLength;
 
         private NormalNode(LazyInt value, Lazy<IntIdeaList> tail) {
+            this(value, tail, IdeaList.UNKNOWN_LENGTH);
+        }
+
+        private NormalNode(LazyInt value, Lazy<IntIdeaList> tail, int knownLength) {
             super(value, tail);
+            this.knownLength = knownLength;
         }
 
         @Override
@@ -241,11 +755,31 @@ public abstract class IntIdeaList implements Iterable<Integer> {
             return value.value();
         }
 
+        @Override
+        int knownLength() {
+            return knownLength;
+        }
+
         @Override
         public boolean any() {
             return true;
         }
 
+        @Override
+        int segmentLength() {
+            return 1;
+        }
+
+        @Override
+        int segmentElement(int index) {
+            return first();
+        }
+
+        @Override
+        IntIdeaList afterSegment() {
+            return tail.value();
+        }
+
         @Override
         public int reduce(IntBinaryOperator operation) {
             return reduceHelper(tail.value(), first(), operation);
@@ -255,6 +789,352 @@ public abstract class IntIdeaList implements Iterable<Integer> {
         <A> A lazyReduceRight(A initialValue, BiFunction<LazyInt, Lazy<A>, A> operation) {
             return operation.apply(value, Lazy.of(() -> tail.value().lazyReduceRight(initialValue, operation)));
         }
+
+        @Override
+        public <R> IdeaList<R> mapToObj(IntFunction<R> transform) {
+            return IdeaList.create(Lazy.of(() -> transform.apply(value.value())), Lazy.of(() -> tail.value().mapToObj(transform)), knownLength);
+        }
+
+        @Override
+        public IntIdeaList map(IntUnaryOperator transform) {
+            return new NormalNode(LazyInt.of(() -> transform.applyAsInt(value.value())), Lazy.of(() -> tail.value().map(transform)), knownLength);
+        }
+    }
+
+
+    // See IdeaList.ChunkNode
+    private static class ChunkNode extends NormalNode {
+        private final Lazy<int[]> elements;
+        private final int offset;
+        private final int end;
+        private final Lazy<IntIdeaList> rest;
+
+        private ChunkNode(Lazy<int[]> elements, int offset, int end, Lazy<IntIdeaList> rest, int knownLength) {
+            this(elements, offset, end, rest, knownLength, LazyThreadSafetyMode.NONE);
+        }
+
+        // See IdeaList.ChunkNode
+        private ChunkNode(Lazy<int[]> elements, int offset, int end, Lazy<IntIdeaList> rest, int knownLength, LazyThreadSafetyMode mode) {
+            super(LazyInt.of(() -> elements.value()[offset], mode),
+                    Lazy.of(() -> offset + 1 < end
+                            ? new ChunkNode(elements, offset + 1, end, rest, knownLength == IdeaList.UNKNOWN_LENGTH ? IdeaList.UNKNOWN_LENGTH : knownLength - 1, mode)
+                            : rest.value(), mode),
+                    knownLength);
+            this.elements = elements;
+            this.offset = offset;
+            this.end = end;
+            this.rest = rest;
+        }
+
+        @Override
+        int segmentLength() {
+            return end - offset;
+        }
+
+        @Override
+        int segmentElement(int index) {
+            return elements.value()[offset + index];
+        }
+
+        @Override
+        IntIdeaList afterSegment() {
+            return rest.value();
+        }
+
+        @Override
+        int[] segmentArray() {
+            return elements.value();
+        }
+
+        @Override
+        int segmentOffset() {
+            return offset;
+        }
+
+        @Override
+        public <R> IdeaList<R> mapToObj(IntFunction<R> transform) {
+            return IdeaList.fuse(pipeline().then(Pipeline.mappingToObj(transform), false));
+        }
+
+        @Override
+        public IntIdeaList map(IntUnaryOperator transform) {
+            return fuse(pipeline().then(Pipeline.mappingInt(transform), false));
+        }
+    }
+
+
+    // See IdeaList.RandomAccessNode. The whole range of the array is a single segment, so
+    // reductions and comparisons run over it in one loop.
+    private static class ArrayNode extends NormalNode {
+        private final int[] elements;
+        private final int offset;
+        private final int end;
+
+        private ArrayNode(int[] elements, int offset, int end) {
+            super(LazyInt.evaluated(elements[offset]),
+                    Lazy.of(() -> offset + 1 < end ? new ArrayNode(elements, offset + 1, end) : IntIdeaList.empty()),
+                    end - offset);
+            this.elements = elements;
+            this.offset = offset;
+            this.end = end;
+        }
+
+        @Override
+        int segmentLength() {
+            return end - offset;
+        }
+
+        @Override
+        int segmentElement(int index) {
+            return elements[offset + index];
+        }
+
+        @Override
+        IntIdeaList afterSegment() {
+            return IntIdeaList.empty();
+        }
+
+        @Override
+        boolean hasIndependentSegmentElements() {
+            return true;
+        }
+
+        @Override
+        int[] segmentArray() {
+            return elements;
+        }
+
+        @Override
+        int segmentOffset() {
+            return offset;
+        }
+
+        @Override
+        public <R> IdeaList<R> mapToObj(IntFunction<R> transform) {
+            return IdeaList.fuse(pipeline().then(Pipeline.mappingToObj(transform), false));
+        }
+
+        @Override
+        public IntIdeaList map(IntUnaryOperator transform) {
+            return fuse(pipeline().then(Pipeline.mappingInt(transform), false));
+        }
+    }
+
+
+    // See IdeaList.RandomAccessNode. The whole progression is a single segment.
+    private static class RangeNode extends NormalNode {
+        private final int first;
+        private final int step;
+        private final int length;
+
+        private RangeNode(int first, int step, int length) {
+            super(LazyInt.evaluated(first),
+                    Lazy.of(() -> length > 1 ? new RangeNode(first + step, step, length - 1) : IntIdeaList.empty()),
+                    length);
+            this.first = first;
+            this.step = step;
+            this.length = length;
+        }
+
+        private int last() {
+            return first + (length - 1) * step;
+        }
+
+        // Only if the elements don't wrap around, in which case they are ordered
+        private boolean staysInRange() {
+            long last = (long) first + (long) (length - 1) * step;
+            return last >= Integer.MIN_VALUE && last <= Integer.MAX_VALUE;
+        }
+
+        @Override
+        int segmentLength() {
+            return length;
+        }
+
+        @Override
+        int segmentElement(int index) {
+            return first + index * step;
+        }
+
+        @Override
+        IntIdeaList afterSegment() {
+            return IntIdeaList.empty();
+        }
+
+        @Override
+        boolean hasIndependentSegmentElements() {
+            return true;
+        }
+
+        // Wraps around on overflow, like adding up the elements one by one
+        @Override
+        public int sum() {
+            long triangle = length % 2 == 0 ? (long) (length / 2) * (length - 1) : (long) length * ((length - 1) / 2);
+            return (int) ((long) length * first + triangle * step);
+        }
+
+        @Override
+        public int max() {
+            if (!staysInRange()) return super.max();
+            return step >= 0 ? last() : first;
+        }
+
+        @Override
+        public int min() {
+            if (!staysInRange()) return super.min();
+            return step >= 0 ? first : last();
+        }
+
+        @Override
+        public boolean contains(int element) {
+            if (!staysInRange()) return super.contains(element);
+            long distance = (long) element - first;
+            if (step == 0) return distance == 0;
+            return distance % step == 0 && distance / step >= 0 && distance / step < length;
+        }
+
+        @Override
+        public <R> IdeaList<R> mapToObj(IntFunction<R> transform) {
+            return IdeaList.fuse(pipeline().then(Pipeline.mappingToObj(transform), false));
+        }
+
+        @Override
+        public IntIdeaList map(IntUnaryOperator transform) {
+            return fuse(pipeline().then(Pipeline.mappingInt(transform), false));
+        }
+    }
+
+
+    // See ArrayNode. Used for buffers that aren't backed by an accessible array, such as direct
+    // buffers. The elements are read with absolute gets, so the buffer's position doesn't matter.
+    private static class BufferNode extends NormalNode {
+        private final IntBuffer buffer;
+        private final int offset;
+        private final int end;
+
+        private BufferNode(IntBuffer buffer, int offset, int end) {
+            super(LazyInt.of(() -> buffer.get(offset)),
+                    Lazy.of(() -> offset + 1 < end ? new BufferNode(buffer, offset + 1, end) : IntIdeaList.empty()),
+                    end - offset);
+            this.buffer = buffer;
+            this.offset = offset;
+            this.end = end;
+        }
+
+        @Override
+        int segmentLength() {
+            return end - offset;
+        }
+
+        @Override
+        int segmentElement(int index) {
+            return buffer.get(offset + index);
+        }
+
+        @Override
+        IntIdeaList afterSegment() {
+            return IntIdeaList.empty();
+        }
+
+        @Override
+        boolean hasIndependentSegmentElements() {
+            return true;
+        }
+
+        @Override
+        void copySegment(int from, int[] destination, int position, int length) {
+            buffer.get(offset + from, destination, position, length);
+        }
+
+        @Override
+        public <R> IdeaList<R> mapToObj(IntFunction<R> transform) {
+            return IdeaList.fuse(pipeline().then(Pipeline.mappingToObj(transform), false));
+        }
+
+        @Override
+        public IntIdeaList map(IntUnaryOperator transform) {
+            return fuse(pipeline().then(Pipeline.mappingInt(transform), false));
+        }
+    }
+
+
+    // The elements of a bitmap from a given value on. The elements are decoded CHUNK_SIZE at a time,
+    // the bitmap itself answers contains.
+    private static class BitmapNode extends ChunkNode {
+        private final IntBitmap bitmap;
+        private final long from;
+
+        private BitmapNode(IntBitmap bitmap, long from, int remaining) {
+            this(bitmap, from, remaining, Lazy.of(() -> bitmap.decode(from, Math.min(IdeaList.CHUNK_SIZE, remaining))));
+        }
+
+        private BitmapNode(IntBitmap bitmap, long from, int remaining, Lazy<int[]> chunk) {
+            super(chunk, 0, Math.min(IdeaList.CHUNK_SIZE, remaining), Lazy.of(() -> {
+                if (remaining <= IdeaList.CHUNK_SIZE) return IntIdeaList.empty();
+                int[] elements = chunk.value();
+                return new BitmapNode(bitmap, elements[elements.length - 1] + 1L, remaining - IdeaList.CHUNK_SIZE);
+            }), remaining);
+            this.bitmap = bitmap;
+            this.from = from;
+        }
+
+        private static IntIdeaList of(IntBitmap bitmap) {
+            return bitmap.cardinality() == 0 ? IntIdeaList.empty() : new BitmapNode(bitmap, Integer.MIN_VALUE, bitmap.cardinality());
+        }
+
+        @Override
+        IntBitmap bitmap() {
+            return knownLength() == bitmap.cardinality() ? bitmap : null;
+        }
+
+        @Override
+        public boolean contains(int element) {
+            return element >= from && bitmap.contains(element);
+        }
+    }
+
+
+    // The elements of a group of groupingBy, in an array that grows as elements are added
+    private static class Group {
+        private int[] elements = new int[4];
+        private int size = 0;
+
+        private void add(int element) {
+            if (size == elements.length) elements = Arrays.copyOf(elements, 2 * size);
+            elements[size++] = element;
+        }
+
+        private IntIdeaList toIntIdeaList() {
+            return wrap(elements, 0, size);
+        }
+    }
+
+
+    // See IdeaList.FusedNode
+    private static class FusedNode extends ChunkNode {
+        private final Pipeline.IntOutput output;
+
+        private FusedNode(Pipeline<IntConsumer> pipeline, Pipeline.IntOutput output, int length) {
+            super(Lazy.of(output::elements), 0, length, Lazy.of(() -> fuse(pipeline.afterSegment())), pipeline.knownLength());
+            this.output = output;
+        }
+
+        private static IntIdeaList of(Pipeline<IntConsumer> pipeline) {
+            return new FusedNode(pipeline, new Pipeline.IntOutput(pipeline), pipeline.segmentLength());
+        }
+
+        private static IntIdeaList of(Pipeline<IntConsumer> pipeline, int[] elements) {
+            return new FusedNode(pipeline, new Pipeline.IntOutput(elements), elements.length);
+        }
+
+        @Override
+        void pushSegment(int from, int to, IntConsumer sink) {
+            if (from == 0 && to == segmentLength()) {
+                output.push(sink);
+            } else {
+                super.pushSegment(from, to, sink);
+            }
+        }
     }
 
 
@@ -279,6 +1159,26 @@ public abstract class IntIdeaList implements Iterable<Integer> {
             return false;
         }
 
+        @Override
+        int knownLength() {
+            return 0;
+        }
+
+        @Override
+        int segmentLength() {
+            return 0;
+        }
+
+        @Override
+        int segmentElement(int index) {
+            throw noSuchElementException();
+        }
+
+        @Override
+        IntIdeaList afterSegment() {
+            throw noSuchElementException();
+        }
+
         @Override
         public int reduce(IntBinaryOperator operation) {
             throw new UnsupportedOperationException("Empty list cannot be reduced");
@@ -288,5 +1188,15 @@ public abstract class IntIdeaList implements Iterable<Integer> {
         <A> A lazyReduceRight(A initialValue, BiFunction<LazyInt, Lazy<A>, A> operation) {
             return initialValue;
         }
+
+        @Override
+        public <R> IdeaList<R> mapToObj(IntFunction<R> transform) {
+            return IdeaList.empty();
+        }
+
+        @Override
+        public IntIdeaList map(IntUnaryOperator transform) {
+            return IntIdeaList.empty();
+        }
     }
 }
@@ -0,0 +1,33 @@
+package idealist;
+
+import java.util.Arrays;
+
+// An IntHashSet of keys with an int value for every key, see IntHashSet
+final class IntIntHashMap {
+    private final IntHashSet keys = new IntHashSet();
+    private int[] values = new int[8];
+
+    // Adds delta to the value of key, which starts at 0
+    void add(int key, int delta) {
+        values[insert(key)] += delta;
+    }
+
+    private int insert(int key) {
+        int index = keys.insert(key);
+        if (index == values.length) values = Arrays.copyOf(values, 2 * values.length);
+        return index;
+    }
+
+    int size() {
+        return keys.size();
+    }
+
+    // The keys are numbered in the order they were added
+    int keyAt(int index) {
+        return keys.get(index);
+    }
+
+    int valueAt(int index) {
+        return values[index];
+    }
+}
@@ -0,0 +1,37 @@
+package idealist;
+
+import java.util.Arrays;
+import java.util.function.IntFunction;
+
+// An IntHashSet of keys with an object value for every key, see IntHashSet
+final class IntObjHashMap<V> {
+    private final IntHashSet keys = new IntHashSet();
+    private Object[] values = new Object[8];
+
+    @SuppressWarnings("unchecked") // Only values of type V are stored
+    V computeIfAbsent(int key, IntFunction<V> valueForKey) {
+        int index = insert(key);
+        if (values[index] == null) values[index] = valueForKey.apply(key);
+        return (V) values[index];
+    }
+
+    private int insert(int key) {
+        int index = keys.insert(key);
+        if (index == values.length) values = Arrays.copyOf(values, 2 * values.length);
+        return index;
+    }
+
+    int size() {
+        return keys.size();
+    }
+
+    // The keys are numbered in the order they were added
+    int keyAt(int index) {
+        return keys.get(index);
+    }
+
+    @SuppressWarnings("unchecked") // Only values of type V are stored
+    V valueAt(int index) {
+        return (V) values[index];
+    }
+}
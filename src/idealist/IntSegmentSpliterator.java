@@ -0,0 +1,133 @@
+package idealist;
+
+import java.util.Spliterator;
+import java.util.function.IntConsumer;
+
+// See SegmentSpliterator
+class IntSegmentSpliterator implements Spliterator.OfInt {
+    private IntIdeaList node;
+    private int index;
+    private final IntIdeaList fence;
+    private final int fenceIndex;
+    private long size;
+    private int batchSize = 0;
+
+    private IntSegmentSpliterator(IntIdeaList node, int index, IntIdeaList fence, int fenceIndex, long size) {
+        this.node = node;
+        this.index = index;
+        this.fence = fence;
+        this.fenceIndex = fenceIndex;
+        this.size = size;
+    }
+
+    static Spliterator.OfInt of(IntIdeaList list) {
+        int knownLength = list.knownLength();
+        return new IntSegmentSpliterator(list, 0, null, 0, knownLength == IdeaList.UNKNOWN_LENGTH ? -1 : knownLength);
+    }
+
+    private int segmentEnd(IntIdeaList segment) {
+        return segment == fence ? fenceIndex : segment.segmentLength();
+    }
+
+    private boolean advanceSegment() {
+        while (index == segmentEnd(node)) {
+            if (node == fence || !node.any()) return false;
+            node = node.afterSegment();
+            index = 0;
+        }
+        return true;
+    }
+
+    @Override
+    public boolean tryAdvance(IntConsumer action) {
+        if (!advanceSegment()) return false;
+        action.accept(node.segmentElement(index++));
+        if (size > 0) size--;
+        return true;
+    }
+
+    @Override
+    public void forEachRemaining(IntConsumer action) {
+        while (advanceSegment()) {
+            int end = segmentEnd(node);
+            for (; index < end; index++) {
+                action.accept(node.segmentElement(index));
+            }
+        }
+        size = 0;
+    }
+
+    @Override
+    public Spliterator.OfInt trySplit() {
+        if (size < 0) return splitBatch();
+        if (size < 2) return null;
+        return splitPrefix(size / 2);
+    }
+
+    private Spliterator.OfInt splitBatch() {
+        batchSize = Math.min(batchSize + SegmentSpliterator.BATCH_SIZE, SegmentSpliterator.MAX_BATCH_SIZE);
+        IntIdeaList segment = node;
+        int position = index;
+        long walked = 0;
+        while (walked < batchSize) {
+            int end = segmentEnd(segment);
+            if (position == end) {
+                if (segment == fence || !segment.any()) {
+                    size = walked;
+                    return trySplit();
+                }
+                segment = segment.afterSegment();
+                position = 0;
+                continue;
+            }
+            int taken = segment.hasIndependentSegmentElements() ? (int) Math.min(end - position, batchSize - walked) : end - position;
+            position += taken;
+            walked += taken;
+        }
+        return cutAt(segment, position, walked);
+    }
+
+    private Spliterator.OfInt splitPrefix(long length) {
+        IntIdeaList segment = node;
+        int position = index;
+        long remaining = length;
+        while (true) {
+            int end = segmentEnd(segment);
+            int available = end - position;
+            if (available >= remaining) {
+                if (segment.hasIndependentSegmentElements()) {
+                    position += (int) remaining;
+                } else if (length - remaining + available < size) {
+                    // Cut after the segment, so only one part evaluates it
+                    length += available - remaining;
+                    position = end;
+                } else {
+                    length -= remaining;
+                }
+                break;
+            }
+            remaining -= available;
+            segment = segment.afterSegment();
+            position = 0;
+        }
+        return length == 0 ? null : cutAt(segment, position, length);
+    }
+
+    private Spliterator.OfInt cutAt(IntIdeaList segment, int position, long length) {
+        var prefix = new IntSegmentSpliterator(node, index, segment, position, length);
+        node = segment;
+        index = position;
+        if (size >= 0) size -= length;
+        return prefix;
+    }
+
+    @Override
+    public long estimateSize() {
+        return size < 0 ? Long.MAX_VALUE : size;
+    }
+
+    @Override
+    public int characteristics() {
+        return size < 0 ? ORDERED : ORDERED | SIZED | SUBSIZED;
+    }
+}
@@ -1,14 +1,21 @@
 package idealist;
 
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
 import java.util.function.Supplier;
 
 public class Lazy<T> {
     private boolean evaluated;
     private T value;
-    private final Supplier<T> function;
+    private Supplier<T> function;
 
     private Lazy(Supplier<T> function) {
-        this.evaluated = false;
+        this(false, null, function);
+    }
+
+    private Lazy(boolean evaluated, T value, Supplier<T> function) {
+        this.evaluated = evaluated;
+        this.value = value;
         this.function = function;
     }
 
@@ -16,10 +23,23 @@ public class Lazy<T> {
         return new Lazy<>(function);
     }
 
+    // For a value that is already known, which saves allocating a supplier that captures it
+    public static <T> Lazy<T> evaluated(T value) {
+        return new Lazy<>(true, value, null);
+    }
+
+    public static <T> Lazy<T> of(Supplier<T> function, LazyThreadSafetyMode mode) {
+        return mode == LazyThreadSafetyMode.NONE
+                ? new Lazy<>(function)
+                : new Concurrent<>(function, mode);
+    }
+
     public T value() {
         if (!evaluated) {
             value = function.get();
             evaluated = true;
+            // Release the function and everything it captured, e.g. the nodes of the list it was derived from
+            function = null;
         }
         return value;
     }
@@ -30,4 +50,72 @@ public class Lazy<T> {
                 ? "Lazy{ " + value + " }"
                 : super.toString();
     }
+
+
+    /////////////////////////////////////////////////////////////////////////////////////////////////
+    // The thread that claims the function (by swapping it for null) is the only one that writes
+    // value, after which evaluated is set with release semantics. Readers that observe evaluated
+    // with acquire semantics are guaranteed to see the fully constructed value.
+    private static class Concurrent<T> extends Lazy<T> {
+        private static final VarHandle EVALUATED;
+        private static final VarHandle FUNCTION;
+
+        static {
+            try {
+                MethodHandles.Lookup lookup = MethodHandles.lookup();
+                EVALUATED = lookup.findVarHandle(Lazy.class, "evaluated", boolean.class);
+                FUNCTION = lookup.findVarHandle(Lazy.class, "function", Supplier.class);
+            } catch (ReflectiveOperationException e) {
+                throw new ExceptionInInitializerError(e);
+            }
+        }
+
+        private final LazyThreadSafetyMode mode;
+
+        private Concurrent(Supplier<T> function, LazyThreadSafetyMode mode) {
+            super(function);
+            this.mode = mode;
+        }
+
+        private boolean isEvaluated() {
+            return (boolean) EVALUATED.getAcquire(this);
+        }
+
+        @SuppressWarnings("unchecked")
+        private Supplier<T> function() {
+            return (Supplier<T>) FUNCTION.getAcquire(this);
+        }
+
+        private T publish(T result) {
+            super.value = result;
+            EVALUATED.setRelease(this, true);
+            return result;
+        }
+
+        @Override
+        public T value() {
+            while (!isEvaluated()) {
+                Supplier<T> function = function();
+                if (function == null) {
+                    Thread.onSpinWait();
+                } else if (mode == LazyThreadSafetyMode.AT_MOST_ONCE) {
+                    if (FUNCTION.compareAndSet(this, function, null)) return evaluate(function);
+                } else {
+                    T result = function.get();
+                    if (FUNCTION.compareAndSet(this, function, null)) return publish(result);
+                }
+            }
+            return super.value;
+        }
+
+        private T evaluate(Supplier<T> function) {
+            try {
+                return publish(function.get());
+            } catch (RuntimeException | Error e) {
+                // Give the function back so another caller can retry
+                FUNCTION.setRelease(this, function);
+                throw e;
+            }
+        }
+    }
 }
@@ -1,14 +1,21 @@
 package idealist;
 
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
 import java.util.function.IntSupplier;
 
 public class LazyInt {
     private boolean evaluated;
     private int value;
-    private final IntSupplier function;
+    private IntSupplier function;
 
     private LazyInt(IntSupplier function) {
-        this.evaluated = false;
+        this(false, 0, function);
+    }
+
+    private LazyInt(boolean evaluated, int value, IntSupplier function) {
+        this.evaluated = evaluated;
+        this.value = value;
         this.function = function;
     }
 
@@ -16,11 +23,89 @@ public class LazyInt {
         return new LazyInt(function);
     }
 
+    // For a value that is already known, which saves allocating a supplier that captures it
+    public static LazyInt evaluated(int value) {
+        return new LazyInt(true, value, null);
+    }
+
+    public static LazyInt of(IntSupplier function, LazyThreadSafetyMode mode) {
+        return mode == LazyThreadSafetyMode.NONE
+                ? new LazyInt(function)
+                : new Concurrent(function, mode);
+    }
+
     public int value() {
         if (!evaluated) {
             value = function.getAsInt();
             evaluated = true;
+            // Release the function and everything it captured, e.g. the nodes of the list it was derived from
+            function = null;
         }
         return value;
     }
+
+
+    /////////////////////////////////////////////////////////////////////////////////////////////////
+    // Same publication protocol as Lazy.Concurrent
+    private static class Concurrent extends LazyInt {
+        private static final VarHandle EVALUATED;
+        private static final VarHandle FUNCTION;
+
+        static {
+            try {
+                MethodHandles.Lookup lookup = MethodHandles.lookup();
+                EVALUATED = lookup.findVarHandle(LazyInt.class, "evaluated", boolean.class);
+                FUNCTION = lookup.findVarHandle(LazyInt.class, "function", IntSupplier.class);
+            } catch (ReflectiveOperationException e) {
+                throw new ExceptionInInitializerError(e);
+            }
+        }
+
+        private final LazyThreadSafetyMode mode;
+
+        private Concurrent(IntSupplier function, LazyThreadSafetyMode mode) {
+            super(function);
+            this.mode = mode;
+        }
+
+        private boolean isEvaluated() {
+            return (boolean) EVALUATED.getAcquire(this);
+        }
+
+        private IntSupplier function() {
+            return (IntSupplier) FUNCTION.getAcquire(this);
+        }
+
+        private int publish(int result) {
+            super.value = result;
+            EVALUATED.setRelease(this, true);
+            return result;
+        }
+
+        @Override
+        public int value() {
+            while (!isEvaluated()) {
+                IntSupplier function = function();
+                if (function == null) {
+                    Thread.onSpinWait();
+                } else if (mode == LazyThreadSafetyMode.AT_MOST_ONCE) {
+                    if (FUNCTION.compareAndSet(this, function, null)) return evaluate(function);
+                } else {
+                    int result = function.getAsInt();
+                    if (FUNCTION.compareAndSet(this, function, null)) return publish(result);
+                }
+            }
+            return super.value;
+        }
+
+        private int evaluate(IntSupplier function) {
+            try {
+                return publish(function.getAsInt());
+            } catch (RuntimeException | Error e) {
+                // Give the function back so another caller can retry
+                FUNCTION.setRelease(this, function);
+                throw e;
+            }
+        }
+    }
 }
@@ -0,0 +1,27 @@
+package idealist;
+
+/**
+ * Determines how a {@link Lazy} or {@link LazyInt} synchronises the evaluation
+ * of its supplier when it is shared between threads.
+ */
+public enum LazyThreadSafetyMode {
+
+    /**
+     * No synchronisation. Only safe when a single thread evaluates the value.
+     */
+    NONE,
+
+    /**
+     * The supplier runs at most once. Threads that ask for the value while it is
+     * being computed wait until the evaluating thread publishes it. If the supplier
+     * throws, the next caller gets to try again.
+     */
+    AT_MOST_ONCE,
+
+    /**
+     * The supplier may run concurrently on several threads, but only the first
+     * result is published and returned to every caller. Use this for cheap suppliers
+     * without side effects.
+     */
+    PUBLICATION
+}
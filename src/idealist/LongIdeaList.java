@@ -0,0 +1,414 @@
+package idealist;
+
+import idealist.tuple.LongObjPair;
+
+import java.util.*;
+import java.util.function.*;
+
+// A list of longs, see SegmentList
+public abstract class LongIdeaList extends SegmentList<LongIdeaList, long[]> implements Iterable<Long> {
+
+    // Constructors and factory methods =============================================================
+    private LongIdeaList() {}
+
+    // See IdeaList.createChunk
+    static LongIdeaList createChunk(Lazy<long[]> elements, int offset, int end, Lazy<LongIdeaList> rest, int knownLength) {
+        return new ChunkNode(elements, offset, end, rest, knownLength);
+    }
+
+    public static LongIdeaList empty() {
+        return EndNode.EMPTY;
+    }
+
+    @Override
+    long[] newArray(int length) {
+        return new long[length];
+    }
+
+    @Override
+    LongIdeaList chunk(Lazy<long[]> elements, int length, Lazy<LongIdeaList> rest, int knownLength) {
+        return createChunk(elements, 0, length, rest, knownLength);
+    }
+
+    @Override
+    LongIdeaList emptyList() {
+        return LongIdeaList.empty();
+    }
+
+    public static LongIdeaList of(Iterable<Long> elements) {
+        Iterator<Long> iterator = elements.iterator();
+        return LongIdeaList.empty().chunksOf(chunk -> {
+            int length = 0;
+            while (length < IdeaList.CHUNK_SIZE && iterator.hasNext()) {
+                chunk[length++] = iterator.next();
+            }
+            return length;
+        });
+    }
+
+    // The list shares the given array instead of copying it
+    public static LongIdeaList of(long... elements) {
+        if (elements.length == 0) return LongIdeaList.empty();
+        return createChunk(Lazy.evaluated(elements), 0, elements.length, Lazy.evaluated(LongIdeaList.empty()), elements.length);
+    }
+
+    public static LongIdeaList initialiseWith(int length, IntToLongFunction indexToElement) {
+        handleNegativeLength(length);
+        return LongIdeaList.empty().initialiseChunks(0, length, (elements, from) -> {
+            for (int i = 0; i < elements.length; i++) {
+                elements[i] = indexToElement.applyAsLong(from + i);
+            }
+        });
+    }
+
+    // See IntIdeaList.progression(int, int, int)
+    public static LongIdeaList progression(long first, long step, int length) {
+        handleNegativeLength(length);
+        return length == 0 ? LongIdeaList.empty() : new RangeNode(first, step, length);
+    }
+
+
+    // Getters ======================================================================================
+    public long first() {
+        if (!any()) throw noSuchElementException();
+        return segmentElement(0);
+    }
+
+    // See IdeaList.get(int)
+    public long get(int index) {
+        if (index < 0) {
+            int length = length();
+            if (-index > length) throw indexTooBigException();
+            return get(length + index);
+        }
+        LongIdeaList node = this;
+        int remaining = index;
+        while (node.any() && remaining >= node.segmentLength()) {
+            remaining -= node.segmentLength();
+            node = node.afterSegment();
+        }
+        if (!node.any()) throw indexTooBigException();
+        return node.segmentElement(remaining);
+    }
+
+    // See IdeaList.toArray(Class)
+    public long[] toArray() {
+        return Materialization.toArray(this);
+    }
+
+    public List<Long> toList() {
+        return Enumerable.toList(this);
+    }
+
+    @Override
+    public PrimitiveIterator.OfLong iterator() {
+        class Elements extends Cursor implements PrimitiveIterator.OfLong {
+            @Override
+            public long nextLong() {
+                int index = advance();
+                return segment.segmentElement(index);
+            }
+        }
+        return new Elements();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof LongIdeaList)) return false;
+        PrimitiveIterator.OfLong it1 = iterator();
+        PrimitiveIterator.OfLong it2 = ((LongIdeaList) o).iterator();
+        while (it1.hasNext() && it2.hasNext()) {
+            if (it1.nextLong() != it2.nextLong()) return false;
+        }
+        return !it1.hasNext() && !it2.hasNext();
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(reduce(1L, (accum, elem) -> 31 * accum + Long.hashCode(elem)));
+    }
+
+    @Override
+    public String toString() {
+        return toList().toString();
+    }
+
+
+    // Checks =======================================================================================
+    public boolean contains(long element) {
+        for (LongIdeaList node = this; node.any(); node = node.afterSegment()) {
+            for (int i = 0; i < node.segmentLength(); i++) {
+                if (node.segmentElement(i) == element) return true;
+            }
+        }
+        return false;
+    }
+
+
+    // Segments =====================================================================================
+    abstract long segmentElement(int index);
+
+    @Override
+    void copySegment(int from, long[] destination, int position, int length) {
+        for (int i = 0; i < length; i++) {
+            destination[position + i] = segmentElement(from + i);
+        }
+    }
+
+
+    // List operations ==============================================================================
+    public LongIdeaList map(LongUnaryOperator transform) {
+        return mapFrom(0, elements -> {
+            for (int i = 0; i < elements.length; i++) {
+                elements[i] = transform.applyAsLong(elements[i]);
+            }
+        });
+    }
+
+    public <R> IdeaList<R> mapToObj(LongFunction<R> transform) {
+        return mapToObjFrom(0, (elements, output) -> {
+            for (int i = 0; i < elements.length; i++) {
+                output[i] = transform.apply(elements[i]);
+            }
+        });
+    }
+
+    public LongIdeaList where(LongPredicate predicate) {
+        return where(this, 0, (elements, length) -> {
+            int matches = 0;
+            for (int i = 0; i < length; i++) {
+                if (predicate.test(elements[i])) elements[matches++] = elements[i];
+            }
+            return matches;
+        });
+    }
+
+    public long reduce(long initialValue, LongBinaryOperator operation) {
+        long accumulator = initialValue;
+        for (LongIdeaList node = this; node.any(); node = node.afterSegment()) {
+            for (int i = 0; i < node.segmentLength(); i++) {
+                accumulator = operation.applyAsLong(accumulator, node.segmentElement(i));
+            }
+        }
+        return accumulator;
+    }
+
+    public long reduce(LongBinaryOperator operation) {
+        if (!any()) throw new UnsupportedOperationException("Empty list cannot be reduced");
+        long accumulator = segmentElement(0);
+        for (int i = 1; i < segmentLength(); i++) {
+            accumulator = operation.applyAsLong(accumulator, segmentElement(i));
+        }
+        return afterSegment().reduce(accumulator, operation);
+    }
+
+    public long sum() {
+        return reduce(0L, Long::sum);
+    }
+
+    public double average() {
+        return (double) sum() / length();
+    }
+
+    public int count(LongPredicate predicate) {
+        return (int) reduce(0L, (count, elem) -> predicate.test(elem) ? count + 1 : count);
+    }
+
+    public long max() {
+        return reduce(Math::max);
+    }
+
+    public long min() {
+        return reduce(Math::min);
+    }
+
+    public <A> IdeaList<LongObjPair<A>> zipWith(Iterable<A> other) {
+        return zip(iterator(), other, (longs, object) -> LongObjPair.of(longs.nextLong(), object));
+    }
+
+
+    // Sorting ======================================================================================
+    // The elements are copied into an array and sorted eagerly, see PrimitiveSort
+    public LongIdeaList sorted() {
+        return LongIdeaList.of(PrimitiveSort.sorted(toArray()));
+    }
+
+    public LongIdeaList sortedDescending() {
+        return LongIdeaList.of(PrimitiveSort.reversed(PrimitiveSort.sorted(toArray())));
+    }
+
+    // Equal keys keep their order
+    public LongIdeaList sortedBy(LongUnaryOperator key) {
+        long[] elements = toArray();
+        long[] keys = new long[elements.length];
+        for (int i = 0; i < elements.length; i++) {
+            keys[i] = key.applyAsLong(elements[i]);
+        }
+        return LongIdeaList.of(PrimitiveSort.permute(elements, PrimitiveSort.order(keys)));
+    }
+
+
+    /////////////////////////////////////////////////////////////////////////////////////////////////
+    // The elements at index offset (inclusive) up to end (exclusive) of the array, followed by rest
+    private static class ChunkNode extends LongIdeaList {
+        private final Lazy<long[]> elements;
+        private final int offset;
+        private final int end;
+        private final Lazy<LongIdeaList> rest;
+        private final int knownLength;
+
+        private ChunkNode(Lazy<long[]> elements, int offset, int end, Lazy<LongIdeaList> rest, int knownLength) {
+            this.elements = elements;
+            this.offset = offset;
+            this.end = end;
+            this.rest = rest;
+            this.knownLength = knownLength;
+        }
+
+        @Override
+        int knownLength() {
+            return knownLength;
+        }
+
+        @Override
+        public boolean any() {
+            return true;
+        }
+
+        @Override
+        int segmentLength() {
+            return end - offset;
+        }
+
+        @Override
+        long segmentElement(int index) {
+            return elements.value()[offset + index];
+        }
+
+        @Override
+        void copySegment(int from, long[] destination, int position, int length) {
+            System.arraycopy(elements.value(), offset + from, destination, position, length);
+        }
+
+        @Override
+        LongIdeaList afterSegment() {
+            return rest.value();
+        }
+    }
+
+
+    /////////////////////////////////////////////////////////////////////////////////////////////////
+    // See IntIdeaList.RangeNode
+    private static class RangeNode extends LongIdeaList {
+        private final long first;
+        private final long step;
+        private final int length;
+
+        private RangeNode(long first, long step, int length) {
+            this.first = first;
+            this.step = step;
+            this.length = length;
+        }
+
+        private long last() {
+            return first + (length - 1) * step;
+        }
+
+        // Only if the elements don't wrap around, in which case they are ordered
+        private boolean staysInRange() {
+            try {
+                Math.addExact(first, Math.multiplyExact(length - 1L, step));
+                return true;
+            } catch (ArithmeticException e) {
+                return false;
+            }
+        }
+
+        @Override
+        int knownLength() {
+            return length;
+        }
+
+        @Override
+        public boolean any() {
+            return true;
+        }
+
+        @Override
+        int segmentLength() {
+            return length;
+        }
+
+        @Override
+        long segmentElement(int index) {
+            return first + index * step;
+        }
+
+        @Override
+        LongIdeaList afterSegment() {
+            return LongIdeaList.empty();
+        }
+
+        // Wraps around on overflow, like adding up the elements one by one
+        @Override
+        public long sum() {
+            long triangle = length % 2 == 0 ? (long) (length / 2) * (length - 1) : (long) length * ((length - 1) / 2);
+            return length * first + triangle * step;
+        }
+
+        @Override
+        public long max() {
+            if (!staysInRange()) return super.max();
+            return step >= 0 ? last() : first;
+        }
+
+        @Override
+        public long min() {
+            if (!staysInRange()) return super.min();
+            return step >= 0 ? first : last();
+        }
+
+        @Override
+        public boolean contains(long element) {
+            if (!staysInRange()) return super.contains(element);
+            long last = last();
+            if (element < Math.min(first, last) || element > Math.max(first, last)) return false;
+            if (step == 0) return true;
+            // Both fit in an unsigned long, even if the range is wider than Long.MAX_VALUE
+            long distance = step > 0 ? element - first : first - element;
+            return Long.remainderUnsigned(distance, step > 0 ? step : -step) == 0;
+        }
+    }
+
+
+    /////////////////////////////////////////////////////////////////////////////////////////////////
+    private static class EndNode extends LongIdeaList {
+        private static final LongIdeaList EMPTY = new EndNode();
+
+        @Override
+        int knownLength() {
+            return 0;
+        }
+
+        @Override
+        public boolean any() {
+            return false;
+        }
+
+        @Override
+        int segmentLength() {
+            return 0;
+        }
+
+        @Override
+        long segmentElement(int index) {
+            throw noSuchElementException();
+        }
+
+        @Override
+        LongIdeaList afterSegment() {
+            throw noSuchElementException();
+        }
+    }
+}
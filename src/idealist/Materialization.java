@@ -0,0 +1,249 @@
+package idealist;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.IntFunction;
+
+// Copies the elements of a list into an array of the exact length in a single walk over the list.
+// As soon as the length of the rest of the list is known, which for a sized list is right away, the
+// result is allocated and the segments are copied straight into it. Until then they are copied
+// into buffers that double in size, so no element is copied more than twice. Segments that are
+// backed by an array are copied with System.arraycopy.
+final class Materialization {
+    private static final int INITIAL_BUFFER_LENGTH = IdeaList.CHUNK_SIZE;
+
+    private Materialization() {
+    }
+
+    static <E, T> T[] toArray(IdeaList<E> list, IntFunction<T[]> newArray) {
+        return toArray(list, new ObjectSegments<>(newArray));
+    }
+
+    static int[] toArray(IntIdeaList list) {
+        return toArray(list, IntSegments.INSTANCE);
+    }
+
+    static <L extends SegmentList<L, A>, A> A toArray(L list) {
+        return toArray(list, new ListSegments<>(list));
+    }
+
+    // Every kind of list is copied by the same walk, only the way its segments are read differs
+    private static <N, A> A toArray(N list, Segments<N, A> segments) {
+        var buffers = new Buffers<>(segments);
+        A result = null;
+        int position = 0;
+        for (N node = list; segments.any(node); node = segments.afterSegment(node)) {
+            int segmentLength = segments.segmentLength(node);
+            if (result == null && segments.knownLength(node) != IdeaList.UNKNOWN_LENGTH) {
+                result = segments.newArray(buffers.length + segments.knownLength(node));
+                position = buffers.copyInto(result);
+            }
+            if (result == null) {
+                buffers.add(node, segmentLength);
+            } else {
+                segments.copySegment(node, 0, result, position, segmentLength);
+                position += segmentLength;
+            }
+        }
+        if (result != null) return result;
+        result = segments.newArray(buffers.length);
+        buffers.copyInto(result);
+        return result;
+    }
+
+    // The elements are added to the list straight away, without buffers. Its capacity is raised to
+    // the final length as soon as that is known, so a sized list is never resized.
+    static <E> List<E> toList(IdeaList<E> list) {
+        var result = new ArrayList<E>();
+        boolean sized = false;
+        for (IdeaList<E> node = list; node.any(); node = node.afterSegment()) {
+            if (!sized && node.knownLength() != IdeaList.UNKNOWN_LENGTH) {
+                result.ensureCapacity(result.size() + node.knownLength());
+                sized = true;
+            }
+            node.pushSegment(0, node.segmentLength(), result::add);
+        }
+        return result;
+    }
+
+    /////////////////////////////////////////////////////////////////////////////////////////////////
+    // How to walk the segments of a list whose nodes are of type N and copy them into arrays of type A
+    private interface Segments<N, A> {
+        boolean any(N node);
+
+        int knownLength(N node);
+
+        int segmentLength(N node);
+
+        N afterSegment(N node);
+
+        void copySegment(N node, int from, A destination, int position, int length);
+
+        A newArray(int length);
+    }
+
+
+    /////////////////////////////////////////////////////////////////////////////////////////////////
+    private static class ObjectSegments<E, T> implements Segments<IdeaList<E>, T[]> {
+        private final IntFunction<T[]> newArray;
+
+        private ObjectSegments(IntFunction<T[]> newArray) {
+            this.newArray = newArray;
+        }
+
+        @Override
+        public boolean any(IdeaList<E> node) {
+            return node.any();
+        }
+
+        @Override
+        public int knownLength(IdeaList<E> node) {
+            return node.knownLength();
+        }
+
+        @Override
+        public int segmentLength(IdeaList<E> node) {
+            return node.segmentLength();
+        }
+
+        @Override
+        public IdeaList<E> afterSegment(IdeaList<E> node) {
+            return node.afterSegment();
+        }
+
+        @Override
+        public void copySegment(IdeaList<E> node, int from, T[] destination, int position, int length) {
+            node.copySegment(from, destination, position, length);
+        }
+
+        @Override
+        public T[] newArray(int length) {
+            return newArray.apply(length);
+        }
+    }
+
+
+    /////////////////////////////////////////////////////////////////////////////////////////////////
+    private static class IntSegments implements Segments<IntIdeaList, int[]> {
+        private static final IntSegments INSTANCE = new IntSegments();
+
+        @Override
+        public boolean any(IntIdeaList node) {
+            return node.any();
+        }
+
+        @Override
+        public int knownLength(IntIdeaList node) {
+            return node.knownLength();
+        }
+
+        @Override
+        public int segmentLength(IntIdeaList node) {
+            return node.segmentLength();
+        }
+
+        @Override
+        public IntIdeaList afterSegment(IntIdeaList node) {
+            return node.afterSegment();
+        }
+
+        @Override
+        public void copySegment(IntIdeaList node, int from, int[] destination, int position, int length) {
+            node.copySegment(from, destination, position, length);
+        }
+
+        @Override
+        public int[] newArray(int length) {
+            return new int[length];
+        }
+    }
+
+
+    /////////////////////////////////////////////////////////////////////////////////////////////////
+    // The arrays are made by the list itself
+    private static class ListSegments<L extends SegmentList<L, A>, A> implements Segments<L, A> {
+        private final L list;
+
+        private ListSegments(L list) {
+            this.list = list;
+        }
+
+        @Override
+        public boolean any(L node) {
+            return node.any();
+        }
+
+        @Override
+        public int knownLength(L node) {
+            return node.knownLength();
+        }
+
+        @Override
+        public int segmentLength(L node) {
+            return node.segmentLength();
+        }
+
+        @Override
+        public L afterSegment(L node) {
+            return node.afterSegment();
+        }
+
+        @Override
+        public void copySegment(L node, int from, A destination, int position, int length) {
+            node.copySegment(from, destination, position, length);
+        }
+
+        @Override
+        public A newArray(int length) {
+            return list.newArray(length);
+        }
+    }
+
+
+    /////////////////////////////////////////////////////////////////////////////////////////////////
+    // The elements copied so far. Every full buffer is followed by one twice as long.
+    private static class Buffers<N, A> {
+        private final Segments<N, A> segments;
+        private final List<A> full = new ArrayList<>();
+        private A current;
+        private int capacity = INITIAL_BUFFER_LENGTH;
+        private int used = 0;
+        private int length = 0;
+
+        private Buffers(Segments<N, A> segments) {
+            this.segments = segments;
+            current = segments.newArray(capacity);
+        }
+
+        // Copies the first count elements of the segment of node
+        private void add(N node, int count) {
+            int copied = 0;
+            while (copied < count) {
+                if (used == capacity) {
+                    full.add(current);
+                    capacity *= 2;
+                    current = segments.newArray(capacity);
+                    used = 0;
+                }
+                int part = Math.min(count - copied, capacity - used);
+                segments.copySegment(node, copied, current, used, part);
+                used += part;
+                copied += part;
+            }
+            length += count;
+        }
+
+        // Returns the number of elements that were copied
+        private int copyInto(A destination) {
+            int position = 0;
+            int bufferLength = INITIAL_BUFFER_LENGTH;
+            for (A buffer : full) {
+                System.arraycopy(buffer, 0, destination, position, bufferLength);
+                position += bufferLength;
+                bufferLength *= 2;
+            }
+            System.arraycopy(current, 0, destination, position, used);
+            return position + used;
+        }
+    }
+}
@@ -1,86 +1,54 @@
 package idealist;
 
+import java.util.Arrays;
 import java.util.Comparator;
 
+// A natural merge sort that relinks MutableList nodes instead of copying elements. The list is cut
+// into runs that are already in order: ascending runs, in which equal elements may follow each
+// other, and strictly descending runs, which are reversed. A strictly descending run has no equal
+// elements, so reversing it keeps the sort stable. Like in TimSort, the runs are pushed on a stack
+// and adjacent runs are merged until every run is longer than the one above it and than the two
+// above it together, so merged runs have similar lengths. Sorted input, and input sorted in reverse,
+// is a single run and costs one pass. Elements stay lazy until they are compared, so a list with a
+// single element is never evaluated.
 class MergeSort {
-    private static final int NODE_REFERENCE_ARRAY_SIZE = 32;
-
-    /*static <E> IdeaList<E> sort(Comparator<E> comparator, IdeaList<E> elements) {
-    }*/
+    private static final int INITIAL_STACK_SIZE = 32;
 
+    // Stable, elements that compare equal keep their order
     static <E> IdeaList<E> sort(Comparator<E> comparator, IdeaList<E> elements) {
-        if (elements.isEmpty()) return elements;
-
-        @SuppressWarnings("unchecked")
-        MutableList<E>[] temp = (MutableList<E>[]) new MutableList[NODE_REFERENCE_ARRAY_SIZE];
-        //MutableList<E>[] temp2 = Enumerable.arrayOf(MutableList.empty(), NODE_REFERENCE_ARRAY_SIZE);
-        //MutableList<E>[] temp2 = Enumerable.arrayOf(MutableList[]::new, NODE_REFERENCE_ARRAY_SIZE);
-        MutableList<E>[] temp3 = Enumerable.unsafeArrayOf(MutableList.class, NODE_REFERENCE_ARRAY_SIZE);
-        //Comparator<Lazy<E>> lazyComparator = Comparator.comparing(Lazy::value, comparator);
-        int requiredSizeForMerge = 2;
-        int currentSize = 2;
-
-        Lazy<E> first = elements.value;
-        elements = elements.tail.value();
-        Lazy<E> second = elements.value;
-        elements = elements.tail.value();
-        // 1)
-        temp[0] = merge(comparator, first, second);
-
-        Lazy<E> third = elements.value;
-        elements = elements.tail.value();
-        Lazy<E> fourth = elements.value;
-        elements = elements.tail.value();
-        // 2)
-        temp[1] = merge(comparator, third, fourth);
-
-        // 3)
-        temp[0] = merge(comparator, temp[0], temp[1]);
-
-        Lazy<E> fifth = elements.value;
-        elements = elements.tail.value();
-        Lazy<E> sixth = elements.value;
-        elements = elements.tail.value();
-        // 4)
-        temp[1] = merge(comparator, fifth, sixth);
-
-        Lazy<E> seventh = elements.value;
-        elements = elements.tail.value();
-        Lazy<E> eighth = elements.value;
-        elements = elements.tail.value();
-        // 5)
-        temp[2] = merge(comparator, seventh, eighth);
-
-        // 6)
-        temp[1] = merge(comparator, temp[1], temp[2]);
-
-        // 7)
-        temp[0] = merge(comparator, temp[0], temp[1]);
-
-        // 8)
-        
-
-        return IdeaList.of(temp[0]);
-    }
+        // A dummy head, so the shared empty list is never written to
+        MutableList<E> first = MutableList.create(null, MutableList.empty());
+        MutableList<E> last = first;
+        int length = 0;
+        for (IdeaList<E> node = elements; node.any(); node = node.afterSegment()) {
+            IdeaList<E> segment = node;
+            for (int i = 0; i < segment.segmentLength(); i++) {
+                int index = i;
+                last.tail = MutableList.create(Lazy.of(() -> segment.segmentElement(index)), MutableList.empty());
+                last = last.tail;
+            }
+            length += segment.segmentLength();
+        }
 
-    private static <E> int compare(Comparator<E> comparator, Lazy<E> left, Lazy<E> right) {
-        return comparator.compare(left.value(), right.value());
+        var runs = new RunStack<>(comparator);
+        for (MutableList<E> rest = first.tail; rest.any(); ) {
+            rest = runs.pushRun(rest);
+        }
+        return IdeaList.of(runs.mergeAll(), length);
     }
 
-    private static <E> MutableList<E> merge(Comparator<E> comparator, Lazy<E> left, Lazy<E> right) {
-        return compare(comparator, left, right) <= 0
-                ? MutableList.of(left, right)
-                : MutableList.of(right, left);
+    private static <E> int compare(Comparator<E> comparator, MutableList<E> left, MutableList<E> right) {
+        return comparator.compare(left.value.value(), right.value.value());
     }
 
+    // Both lists must have at least one element. Takes from left when the elements compare equal.
     private static <E> MutableList<E> merge(Comparator<E> comparator, MutableList<E> left, MutableList<E> right) {
-        // TODO change to dummy MutableList node instead of EMPTY
-        // EMPTY will remain modified forever
-        MutableList<E> merged = MutableList.empty();
+        // A fresh dummy head, so the shared empty list is never written to
+        MutableList<E> merged = MutableList.create(null, MutableList.empty());
         MutableList<E> temp = merged;
 
         while (left.any() && right.any()) {
-            if (compare(comparator, left.value, right.value) <= 0) {
+            if (compare(comparator, left, right) <= 0) {
                 temp.tail = left;
                 left = left.tail;
             } else {
@@ -90,27 +58,100 @@ class MergeSort {
             temp = temp.tail;
         }
 
-        // As a replacement for the two following while loops
-        if (left.any()) {
-            temp.tail = left;
+        // The rest of the list that isn't used up is already sorted
+        temp.tail = left.any() ? left : right;
+        return merged.tail;
+    }
+
+
+    /////////////////////////////////////////////////////////////////////////////////////////////////
+    // The sorted runs that still have to be merged, the earliest elements at the bottom
+    private static class RunStack<E> {
+        private final Comparator<E> comparator;
+        private MutableList<E>[] runs = Enumerable.unsafeArrayOf(MutableList.class, INITIAL_STACK_SIZE);
+        private int[] lengths = new int[INITIAL_STACK_SIZE];
+        private int count = 0;
+
+        private RunStack(Comparator<E> comparator) {
+            this.comparator = comparator;
+        }
+
+        // Cuts the run at the start of nodes off, pushes it and returns the nodes after it
+        private MutableList<E> pushRun(MutableList<E> nodes) {
+            if (!nodes.tail.any()) {
+                push(nodes, 1);
+                return MutableList.empty();
+            }
+            int length = 2;
+            if (compare(comparator, nodes.tail, nodes) < 0) {
+                // Strictly descending, reversed while it is walked
+                MutableList<E> reversed = nodes.tail;
+                MutableList<E> rest = reversed.tail;
+                reversed.tail = nodes;
+                nodes.tail = MutableList.empty();
+                while (rest.any() && compare(comparator, rest, reversed) < 0) {
+                    MutableList<E> next = rest.tail;
+                    rest.tail = reversed;
+                    reversed = rest;
+                    rest = next;
+                    length++;
+                }
+                push(reversed, length);
+                return rest;
+            }
+            // The first two elements are already known to be in order
+            MutableList<E> last = nodes.tail;
+            while (last.tail.any() && compare(comparator, last.tail, last) >= 0) {
+                last = last.tail;
+                length++;
+            }
+            MutableList<E> rest = last.tail;
+            last.tail = MutableList.empty();
+            push(nodes, length);
+            return rest;
         }
 
-        if (right.any()) {
-            temp.tail = right;
+        private void push(MutableList<E> run, int length) {
+            if (count == runs.length) {
+                runs = Arrays.copyOf(runs, 2 * count);
+                lengths = Arrays.copyOf(lengths, 2 * count);
+            }
+            runs[count] = run;
+            lengths[count] = length;
+            count++;
+            collapse();
         }
 
-        /*while (left.any()) {
-            temp.tail = left;
-            left = left.tail;
-            temp = temp.tail;
+        // Restores the invariant on the lengths, checking the top four runs as the fixed TimSort does
+        private void collapse() {
+            while (count > 1) {
+                int n = count - 2;
+                if (n > 0 && lengths[n - 1] <= lengths[n] + lengths[n + 1] || n > 1 && lengths[n - 2] <= lengths[n - 1] + lengths[n]) {
+                    // Merge the smaller of the two neighbours into the middle run
+                    if (lengths[n - 1] < lengths[n + 1]) n--;
+                } else if (lengths[n] > lengths[n + 1]) {
+                    break;
+                }
+                mergeAt(n);
+            }
         }
 
-        while (right.any()) {
-            temp.tail = right;
-            right = right.tail;
-            temp = temp.tail;
-        }*/
+        // Merges run n with the run above it
+        private void mergeAt(int n) {
+            runs[n] = merge(comparator, runs[n], runs[n + 1]);
+            lengths[n] += lengths[n + 1];
+            if (n + 2 < count) {
+                runs[n + 1] = runs[n + 2];
+                lengths[n + 1] = lengths[n + 2];
+            }
+            runs[--count] = null;
+        }
 
-        return merged.tail;
+        private MutableList<E> mergeAll() {
+            while (count > 1) {
+                mergeAt(count - 2);
+            }
+            return count == 0 ? MutableList.empty() : runs[0];
+        }
     }
 }
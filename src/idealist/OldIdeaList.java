@@ -37,7 +37,7 @@ public abstract class IdeaList<E> implements Iterable<E> {
     private static <L, E> IdeaList<E> concat(Iterator<E> iterator, L elements, Function<L, IdeaList<E>> toIdeaList) {
         if (iterator.hasNext()) {
             E element = iterator.next();
-            return IdeaList.create(Lazy.of(() -> element), Lazy.of(() -> concat(iterator, elements, toIdeaList)));
+            return IdeaList.create(Lazy.evaluated(element), Lazy.of(() -> concat(iterator, elements, toIdeaList)));
         }
         return toIdeaList.apply(elements);
     }
@@ -60,7 +60,7 @@ public abstract class IdeaList<E> implements Iterable<E> {
     }
 
     private static IdeaList<Integer> rangeLength(int from, int length) {
-        return length == 0 ? IdeaList.empty() : IdeaList.create(Lazy.of(() -> from), Lazy.of(() -> rangeLength(from + 1, length - 1)));
+        return length == 0 ? IdeaList.empty() : IdeaList.create(Lazy.evaluated(from), Lazy.of(() -> rangeLength(from + 1, length - 1)));
     }
 
     public static <E> IdeaList<E> initialiseWith(int length, Function<Integer, E> indexToElement) {
@@ -80,7 +80,7 @@ public abstract class IdeaList<E> implements Iterable<E> {
     }
 
     private static IdeaList<Long> rangeLength(long from, long length) {
-        return length == 0L ? IdeaList.empty() : IdeaList.create(Lazy.of(() -> from), Lazy.of(() -> rangeLength(from + 1L, length - 1L)));
+        return length == 0L ? IdeaList.empty() : IdeaList.create(Lazy.evaluated(from), Lazy.of(() -> rangeLength(from + 1L, length - 1L)));
     }
 
     public static <E> IdeaList<E> initialiseWithLong(long length, Function<Long, E> indexToElement) {
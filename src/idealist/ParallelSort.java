@@ -0,0 +1,144 @@
+package idealist;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.concurrent.RecursiveAction;
+
+// A stable merge sort on the fork-join framework. The list is copied into an array, which is split
+// in halves until the ranges are small enough for Arrays.sort, and the halves are merged back
+// together in parallel as well: the larger of two runs is split at its middle element, the other
+// run at the position that element belongs, and both pairs of halves are merged at the same time.
+// The sorted runs move back and forth between the array and a buffer of the same length, so there
+// are no copying passes. The tasks run in the pool of the calling thread, or the common pool.
+final class ParallelSort {
+    // Ranges shorter than this are sorted or merged on a single thread
+    static final int SEQUENTIAL_THRESHOLD = 1 << 13;
+
+    private ParallelSort() {
+    }
+
+    // Stable, so the result is the same as that of MergeSort
+    @SuppressWarnings("unchecked")
+    static <E> IdeaList<E> sort(Comparator<E> comparator, IdeaList<E> list) {
+        E[] elements = (E[]) Materialization.toArray(list, Object[]::new);
+        if (elements.length < SEQUENTIAL_THRESHOLD) {
+            Arrays.sort(elements, comparator);
+        } else {
+            new SortTask<>(comparator, elements, (E[]) new Object[elements.length], 0, elements.length, false).invoke();
+        }
+        return IdeaList.of(elements);
+    }
+
+
+    /////////////////////////////////////////////////////////////////////////////////////////////////
+    // Sorts from..to of elements and leaves the result in buffer if inBuffer is true, in elements
+    // otherwise
+    @SuppressWarnings("serial")
+    private static class SortTask<E> extends RecursiveAction {
+        private final Comparator<E> comparator;
+        private final E[] elements;
+        private final E[] buffer;
+        private final int from;
+        private final int to;
+        private final boolean inBuffer;
+
+        private SortTask(Comparator<E> comparator, E[] elements, E[] buffer, int from, int to, boolean inBuffer) {
+            this.comparator = comparator;
+            this.elements = elements;
+            this.buffer = buffer;
+            this.from = from;
+            this.to = to;
+            this.inBuffer = inBuffer;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= SEQUENTIAL_THRESHOLD) {
+                Arrays.sort(elements, from, to, comparator);
+                if (inBuffer) System.arraycopy(elements, from, buffer, from, to - from);
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            // The halves end up in the other array, so they can be merged into this one
+            invokeAll(new SortTask<>(comparator, elements, buffer, from, middle, !inBuffer),
+                    new SortTask<>(comparator, elements, buffer, middle, to, !inBuffer));
+            E[] source = inBuffer ? elements : buffer;
+            E[] target = inBuffer ? buffer : elements;
+            new MergeTask<>(comparator, source, from, middle, middle, to, target, from).compute();
+        }
+    }
+
+
+    /////////////////////////////////////////////////////////////////////////////////////////////////
+    // Merges the sorted runs leftFrom..leftTo and rightFrom..rightTo of source into target from
+    // targetFrom on. Takes from the left run when elements compare equal.
+    @SuppressWarnings("serial")
+    private static class MergeTask<E> extends RecursiveAction {
+        private final Comparator<E> comparator;
+        private final E[] source;
+        private final int leftFrom;
+        private final int leftTo;
+        private final int rightFrom;
+        private final int rightTo;
+        private final E[] target;
+        private final int targetFrom;
+
+        private MergeTask(Comparator<E> comparator, E[] source, int leftFrom, int leftTo, int rightFrom, int rightTo, E[] target, int targetFrom) {
+            this.comparator = comparator;
+            this.source = source;
+            this.leftFrom = leftFrom;
+            this.leftTo = leftTo;
+            this.rightFrom = rightFrom;
+            this.rightTo = rightTo;
+            this.target = target;
+            this.targetFrom = targetFrom;
+        }
+
+        @Override
+        protected void compute() {
+            int leftLength = leftTo - leftFrom;
+            int rightLength = rightTo - rightFrom;
+            if (leftLength + rightLength <= SEQUENTIAL_THRESHOLD) {
+                merge();
+                return;
+            }
+            int leftMiddle, rightMiddle;
+            if (leftLength >= rightLength) {
+                // Right elements equal to the split element go after it
+                leftMiddle = (leftFrom + leftTo) >>> 1;
+                rightMiddle = search(source[leftMiddle], rightFrom, rightTo, false);
+            } else {
+                // Left elements equal to the split element go before it
+                rightMiddle = (rightFrom + rightTo) >>> 1;
+                leftMiddle = search(source[rightMiddle], leftFrom, leftTo, true);
+            }
+            int targetMiddle = targetFrom + (leftMiddle - leftFrom) + (rightMiddle - rightFrom);
+            invokeAll(new MergeTask<>(comparator, source, leftFrom, leftMiddle, rightFrom, rightMiddle, target, targetFrom),
+                    new MergeTask<>(comparator, source, leftMiddle, leftTo, rightMiddle, rightTo, target, targetMiddle));
+        }
+
+        // The first position in from..to of which the element is greater than key, or not less than
+        // key if inclusive is false
+        private int search(E key, int from, int to, boolean inclusive) {
+            while (from < to) {
+                int middle = (from + to) >>> 1;
+                int comparison = comparator.compare(source[middle], key);
+                if (comparison < 0 || inclusive && comparison == 0) {
+                    from = middle + 1;
+                } else {
+                    to = middle;
+                }
+            }
+            return from;
+        }
+
+        private void merge() {
+            int left = leftFrom, right = rightFrom, position = targetFrom;
+            while (left < leftTo && right < rightTo) {
+                target[position++] = comparator.compare(source[left], source[right]) <= 0 ? source[left++] : source[right++];
+            }
+            System.arraycopy(source, left, target, position, leftTo - left);
+            System.arraycopy(source, right, target, position + leftTo - left, rightTo - right);
+        }
+    }
+}
@@ -0,0 +1,319 @@
+package idealist;
+
+import java.util.Arrays;
+import java.util.function.*;
+
+// A source list followed by a map, mapToInt or where call. The operator turns the sink for the
+// output elements into a sink for the source elements, and every segment of the source is pushed
+// through it in a single loop. A list built from a pipeline pushes its own segments through the
+// pipeline it was built from, see IdeaList.FusedNode, so pushing a chunk through the last list of a
+// chain runs every operator of the chain in one nested loop. Every list of the chain still has a
+// node and an Output for each chunk, which records the output on its way, so continuing the
+// pipeline never evaluates an element twice.
+//
+// K is the type of sink the output elements are pushed into: Consumer<E> or IntConsumer.
+abstract class Pipeline<K> {
+
+    // Constructors and factory methods =============================================================
+    static <E> Pipeline<Consumer<E>> of(IdeaList<E> source) {
+        return new ObjectSource<>(source);
+    }
+
+    static Pipeline<IntConsumer> of(IntIdeaList source) {
+        return new IntSource(source);
+    }
+
+
+    // Segments =====================================================================================
+    abstract boolean any();
+
+    abstract int segmentLength();
+
+    // The number of output elements from the current segment on, or IdeaList.UNKNOWN_LENGTH
+    abstract int knownLength();
+
+    // Whether the current segment can lose elements on its way through the operators, in which case
+    // the output can only be known by running them
+    abstract boolean filters();
+
+    abstract void pushSegment(K sink);
+
+    abstract Pipeline<K> afterSegment();
+
+
+    // Operators ====================================================================================
+    <L> Pipeline<L> then(Function<L, K> operator, boolean filters) {
+        return new Composed<>(this, operator, filters);
+    }
+
+    static <E, R> Function<Consumer<R>, Consumer<E>> mapping(Function<E, R> transform) {
+        return sink -> elem -> sink.accept(transform.apply(elem));
+    }
+
+    static <E> Function<IntConsumer, Consumer<E>> mappingToInt(ToIntFunction<E> transform) {
+        return sink -> elem -> sink.accept(transform.applyAsInt(elem));
+    }
+
+    static <E> Function<Consumer<E>, Consumer<E>> filtering(Function<E, Boolean> predicate) {
+        return sink -> elem -> {
+            if (predicate.apply(elem)) sink.accept(elem);
+        };
+    }
+
+    static <R> Function<Consumer<R>, IntConsumer> mappingToObj(IntFunction<R> transform) {
+        return sink -> elem -> sink.accept(transform.apply(elem));
+    }
+
+    static Function<IntConsumer, IntConsumer> mappingInt(IntUnaryOperator transform) {
+        return sink -> elem -> sink.accept(transform.applyAsInt(elem));
+    }
+
+    static Function<IntConsumer, IntConsumer> filteringInt(IntPredicate predicate) {
+        return sink -> elem -> {
+            if (predicate.test(elem)) sink.accept(elem);
+        };
+    }
+
+
+    // Evaluation ===================================================================================
+    // The output of the current segment, which is never longer than the segment itself
+    static <E> Object[] collect(Pipeline<Consumer<E>> pipeline) {
+        return collect(pipeline, elem -> {});
+    }
+
+    // Also pushes every output element into sink
+    static <E> Object[] collect(Pipeline<Consumer<E>> pipeline, Consumer<E> sink) {
+        Object[] buffer = new Object[pipeline.segmentLength()];
+        int[] length = {0};
+        pipeline.pushSegment(elem -> {
+            buffer[length[0]++] = elem;
+            sink.accept(elem);
+        });
+        return length[0] == buffer.length ? buffer : Arrays.copyOf(buffer, length[0]);
+    }
+
+    static int[] collectInts(Pipeline<IntConsumer> pipeline) {
+        return collectInts(pipeline, elem -> {});
+    }
+
+    static int[] collectInts(Pipeline<IntConsumer> pipeline, IntConsumer sink) {
+        int[] buffer = new int[pipeline.segmentLength()];
+        int[] length = {0};
+        pipeline.pushSegment(elem -> {
+            buffer[length[0]++] = elem;
+            sink.accept(elem);
+        });
+        return length[0] == buffer.length ? buffer : Arrays.copyOf(buffer, length[0]);
+    }
+
+
+    /////////////////////////////////////////////////////////////////////////////////////////////////
+    // The output of the current segment of a pipeline, which is computed at most once. The list node
+    // built from the pipeline reads it through elements. A following operator continues the pipeline
+    // through push instead, which records the output on its way, so the elements are still there
+    // when the node is read later on.
+    static final class Output<E> {
+        private Pipeline<Consumer<E>> pipeline;
+        private Object[] elements;
+
+        Output(Pipeline<Consumer<E>> pipeline) {
+            this.pipeline = pipeline;
+        }
+
+        Output(Object[] elements) {
+            this.elements = elements;
+        }
+
+        Object[] elements() {
+            if (elements == null) push(elem -> {});
+            return elements;
+        }
+
+        @SuppressWarnings("unchecked")
+        void push(Consumer<E> sink) {
+            if (elements != null) {
+                for (Object element : elements) {
+                    sink.accept((E) element);
+                }
+                return;
+            }
+            elements = collect(pipeline, sink);
+            pipeline = null;
+        }
+    }
+
+    // See Output
+    static final class IntOutput {
+        private Pipeline<IntConsumer> pipeline;
+        private int[] elements;
+
+        IntOutput(Pipeline<IntConsumer> pipeline) {
+            this.pipeline = pipeline;
+        }
+
+        IntOutput(int[] elements) {
+            this.elements = elements;
+        }
+
+        int[] elements() {
+            if (elements == null) push(elem -> {});
+            return elements;
+        }
+
+        void push(IntConsumer sink) {
+            if (elements != null) {
+                for (int element : elements) {
+                    sink.accept(element);
+                }
+                return;
+            }
+            elements = collectInts(pipeline, sink);
+            pipeline = null;
+        }
+    }
+
+
+    /////////////////////////////////////////////////////////////////////////////////////////////////
+    // Hands out the segments of the list at most CHUNK_SIZE elements at a time, so the segment of a
+    // RandomAccessNode is still evaluated lazily, chunk by chunk
+    private static class ObjectSource<E> extends Pipeline<Consumer<E>> {
+        private final IdeaList<E> list;
+        private final int from;
+
+        private ObjectSource(IdeaList<E> list) {
+            this(list, 0);
+        }
+
+        private ObjectSource(IdeaList<E> list, int from) {
+            this.list = list;
+            this.from = from;
+        }
+
+        @Override
+        boolean any() {
+            return list.any();
+        }
+
+        @Override
+        int segmentLength() {
+            return Math.min(IdeaList.CHUNK_SIZE, list.segmentLength() - from);
+        }
+
+        @Override
+        int knownLength() {
+            int knownLength = list.knownLength();
+            return knownLength == IdeaList.UNKNOWN_LENGTH ? IdeaList.UNKNOWN_LENGTH : knownLength - from;
+        }
+
+        @Override
+        boolean filters() {
+            return false;
+        }
+
+        @Override
+        void pushSegment(Consumer<E> sink) {
+            list.pushSegment(from, from + segmentLength(), sink);
+        }
+
+        @Override
+        Pipeline<Consumer<E>> afterSegment() {
+            int next = from + IdeaList.CHUNK_SIZE;
+            return next < list.segmentLength() ? new ObjectSource<>(list, next) : new ObjectSource<>(list.afterSegment());
+        }
+    }
+
+
+    /////////////////////////////////////////////////////////////////////////////////////////////////
+    // See ObjectSource
+    private static class IntSource extends Pipeline<IntConsumer> {
+        private final IntIdeaList list;
+        private final int from;
+
+        private IntSource(IntIdeaList list) {
+            this(list, 0);
+        }
+
+        private IntSource(IntIdeaList list, int from) {
+            this.list = list;
+            this.from = from;
+        }
+
+        @Override
+        boolean any() {
+            return list.any();
+        }
+
+        @Override
+        int segmentLength() {
+            return Math.min(IdeaList.CHUNK_SIZE, list.segmentLength() - from);
+        }
+
+        @Override
+        int knownLength() {
+            int knownLength = list.knownLength();
+            return knownLength == IdeaList.UNKNOWN_LENGTH ? IdeaList.UNKNOWN_LENGTH : knownLength - from;
+        }
+
+        @Override
+        boolean filters() {
+            return false;
+        }
+
+        @Override
+        void pushSegment(IntConsumer sink) {
+            list.pushSegment(from, from + segmentLength(), sink);
+        }
+
+        @Override
+        Pipeline<IntConsumer> afterSegment() {
+            int next = from + IdeaList.CHUNK_SIZE;
+            return next < list.segmentLength() ? new IntSource(list, next) : new IntSource(list.afterSegment());
+        }
+    }
+
+
+    /////////////////////////////////////////////////////////////////////////////////////////////////
+    // A single operator after source. J is the type of sink the source accepts.
+    private static class Composed<J, K> extends Pipeline<K> {
+        private final Pipeline<J> source;
+        private final Function<K, J> operator;
+        private final boolean filters;
+
+        private Composed(Pipeline<J> source, Function<K, J> operator, boolean filters) {
+            this.source = source;
+            this.operator = operator;
+            this.filters = filters;
+        }
+
+        @Override
+        boolean any() {
+            return source.any();
+        }
+
+        @Override
+        int segmentLength() {
+            return source.segmentLength();
+        }
+
+        @Override
+        int knownLength() {
+            return filters ? IdeaList.UNKNOWN_LENGTH : source.knownLength();
+        }
+
+        @Override
+        boolean filters() {
+            return filters;
+        }
+
+        @Override
+        void pushSegment(K sink) {
+            source.pushSegment(operator.apply(sink));
+        }
+
+        @Override
+        Pipeline<K> afterSegment() {
+            return new Composed<>(source.afterSegment(), operator, filters);
+        }
+    }
+
+}
@@ -0,0 +1,308 @@
+package idealist;
+
+import java.util.Arrays;
+import java.util.function.IntBinaryOperator;
+
+// Sorting for the primitive lists. Arrays of ints and longs, and the keys of sortedBy, are sorted
+// with an LSD radix sort once they are big enough for the extra buffer to pay off, smaller arrays
+// and floating point elements go through Arrays.sort. A radix pass is skipped when all elements
+// have the same digit, so keys that only use their low bytes cost fewer passes. Keys that can only
+// be compared, like the ones of SortOrder, are sorted with a merge sort on their indices.
+final class PrimitiveSort {
+    static final int RADIX_THRESHOLD = 1 << 12;
+    private static final int INSERTION_THRESHOLD = 16;
+
+    private static final int DIGIT_BITS = 8;
+    private static final int DIGIT_MASK = (1 << DIGIT_BITS) - 1;
+
+    private PrimitiveSort() {
+    }
+
+    // Sorting ======================================================================================
+    static int[] sorted(int[] elements) {
+        if (elements.length < RADIX_THRESHOLD) {
+            Arrays.sort(elements);
+            return elements;
+        }
+        return radixSort(elements, null);
+    }
+
+    static long[] sorted(long[] elements) {
+        if (elements.length < RADIX_THRESHOLD) {
+            Arrays.sort(elements);
+            return elements;
+        }
+        return radixSort(elements, null);
+    }
+
+    // The indices of the keys in ascending order of key. Equal keys keep their order.
+    static int[] order(int[] keys) {
+        if (keys.length < RADIX_THRESHOLD) {
+            // The index in the low bits keeps the sort stable
+            long[] packed = new long[keys.length];
+            for (int i = 0; i < keys.length; i++) {
+                packed[i] = (long) keys[i] << Integer.SIZE | i;
+            }
+            Arrays.sort(packed);
+            int[] order = new int[keys.length];
+            for (int i = 0; i < keys.length; i++) {
+                order[i] = (int) packed[i];
+            }
+            return order;
+        }
+        int[] order = indices(keys.length);
+        radixSort(keys, order);
+        return order;
+    }
+
+    // See order(int[])
+    static int[] order(long[] keys) {
+        int[] order = indices(keys.length);
+        radixSort(keys, order);
+        return order;
+    }
+
+    // The indices 0 until length in the order of comparator, which compares two indices. Equal
+    // indices keep their order.
+    static int[] order(int length, IntBinaryOperator comparator) {
+        int[] order = indices(length);
+        mergeSort(indices(length), order, 0, length, comparator);
+        return order;
+    }
+
+    // Keys that sort floating point numbers in the order of Float.compare and Double.compare: the
+    // sign bit is kept and the other bits of negative numbers are flipped, so -0.0 comes before 0.0
+    // and NaN comes last
+    static int sortableKey(float element) {
+        int bits = Float.floatToIntBits(element);
+        return bits ^ (bits >> 31 & Integer.MAX_VALUE);
+    }
+
+    static long sortableKey(double element) {
+        long bits = Double.doubleToLongBits(element);
+        return bits ^ (bits >> 63 & Long.MAX_VALUE);
+    }
+
+    private static int[] indices(int length) {
+        int[] indices = new int[length];
+        for (int i = 0; i < length; i++) {
+            indices[i] = i;
+        }
+        return indices;
+    }
+
+
+    // Radix sort ===================================================================================
+    // Sorts keys in place, moving the elements of payload along with them if it isn't null. The
+    // sign bit is flipped while reading a digit, so negative keys come first.
+    private static int[] radixSort(int[] keys, int[] payload) {
+        int length = keys.length;
+        int[] keysFrom = keys, keysTo = new int[length];
+        int[] payloadFrom = payload, payloadTo = payload == null ? null : new int[length];
+        for (int shift = 0; shift < Integer.SIZE; shift += DIGIT_BITS) {
+            int[] offsets = new int[DIGIT_MASK + 2];
+            for (int key : keysFrom) {
+                offsets[digit(key, shift) + 1]++;
+            }
+            if (isSingleDigit(offsets, length)) continue;
+            for (int i = 1; i < offsets.length; i++) {
+                offsets[i] += offsets[i - 1];
+            }
+            for (int i = 0; i < length; i++) {
+                int position = offsets[digit(keysFrom[i], shift)]++;
+                keysTo[position] = keysFrom[i];
+                if (payloadFrom != null) payloadTo[position] = payloadFrom[i];
+            }
+            int[] keysSwap = keysFrom;
+            keysFrom = keysTo;
+            keysTo = keysSwap;
+            int[] payloadSwap = payloadFrom;
+            payloadFrom = payloadTo;
+            payloadTo = payloadSwap;
+        }
+        if (keysFrom != keys) {
+            System.arraycopy(keysFrom, 0, keys, 0, length);
+            if (payload != null) System.arraycopy(payloadFrom, 0, payload, 0, length);
+        }
+        return keys;
+    }
+
+    // See radixSort(int[], int[])
+    private static long[] radixSort(long[] keys, int[] payload) {
+        int length = keys.length;
+        long[] keysFrom = keys, keysTo = new long[length];
+        int[] payloadFrom = payload, payloadTo = payload == null ? null : new int[length];
+        for (int shift = 0; shift < Long.SIZE; shift += DIGIT_BITS) {
+            int[] offsets = new int[DIGIT_MASK + 2];
+            for (long key : keysFrom) {
+                offsets[digit(key, shift) + 1]++;
+            }
+            if (isSingleDigit(offsets, length)) continue;
+            for (int i = 1; i < offsets.length; i++) {
+                offsets[i] += offsets[i - 1];
+            }
+            for (int i = 0; i < length; i++) {
+                int position = offsets[digit(keysFrom[i], shift)]++;
+                keysTo[position] = keysFrom[i];
+                if (payloadFrom != null) payloadTo[position] = payloadFrom[i];
+            }
+            long[] keysSwap = keysFrom;
+            keysFrom = keysTo;
+            keysTo = keysSwap;
+            int[] payloadSwap = payloadFrom;
+            payloadFrom = payloadTo;
+            payloadTo = payloadSwap;
+        }
+        if (keysFrom != keys) {
+            System.arraycopy(keysFrom, 0, keys, 0, length);
+            if (payload != null) System.arraycopy(payloadFrom, 0, payload, 0, length);
+        }
+        return keys;
+    }
+
+    private static int digit(int key, int shift) {
+        return (key ^ Integer.MIN_VALUE) >>> shift & DIGIT_MASK;
+    }
+
+    private static int digit(long key, int shift) {
+        return (int) ((key ^ Long.MIN_VALUE) >>> shift) & DIGIT_MASK;
+    }
+
+    // offsets still holds the count of every digit, shifted by one
+    private static boolean isSingleDigit(int[] offsets, int length) {
+        for (int count : offsets) {
+            if (count == length) return true;
+        }
+        return false;
+    }
+
+
+    // Merge sort ===================================================================================
+    // Sorts from..to of target. The range of source holds the same indices and is used as buffer,
+    // the sorted halves are built in it and then merged into target.
+    private static void mergeSort(int[] source, int[] target, int from, int to, IntBinaryOperator comparator) {
+        if (to - from <= INSERTION_THRESHOLD) {
+            insertionSort(target, from, to, comparator);
+            return;
+        }
+        int middle = (from + to) >>> 1;
+        mergeSort(target, source, from, middle, comparator);
+        mergeSort(target, source, middle, to, comparator);
+        // The halves are already in order
+        if (comparator.applyAsInt(source[middle - 1], source[middle]) <= 0) {
+            System.arraycopy(source, from, target, from, to - from);
+            return;
+        }
+        int left = from, right = middle;
+        for (int i = from; i < to; i++) {
+            boolean takeLeft = right == to || left < middle && comparator.applyAsInt(source[left], source[right]) <= 0;
+            target[i] = takeLeft ? source[left++] : source[right++];
+        }
+    }
+
+    private static void insertionSort(int[] indices, int from, int to, IntBinaryOperator comparator) {
+        for (int i = from + 1; i < to; i++) {
+            int index = indices[i];
+            int j = i;
+            for (; j > from && comparator.applyAsInt(indices[j - 1], index) > 0; j--) {
+                indices[j] = indices[j - 1];
+            }
+            indices[j] = index;
+        }
+    }
+
+
+    // Rearranging ==================================================================================
+    static int[] permute(int[] elements, int[] order) {
+        int[] permuted = new int[elements.length];
+        for (int i = 0; i < order.length; i++) {
+            permuted[i] = elements[order[i]];
+        }
+        return permuted;
+    }
+
+    static Object[] permute(Object[] elements, int[] order) {
+        Object[] permuted = new Object[elements.length];
+        for (int i = 0; i < order.length; i++) {
+            permuted[i] = elements[order[i]];
+        }
+        return permuted;
+    }
+
+    static long[] permute(long[] elements, int[] order) {
+        long[] permuted = new long[elements.length];
+        for (int i = 0; i < order.length; i++) {
+            permuted[i] = elements[order[i]];
+        }
+        return permuted;
+    }
+
+    static char[] permute(char[] elements, int[] order) {
+        char[] permuted = new char[elements.length];
+        for (int i = 0; i < order.length; i++) {
+            permuted[i] = elements[order[i]];
+        }
+        return permuted;
+    }
+
+    static double[] permute(double[] elements, int[] order) {
+        double[] permuted = new double[elements.length];
+        for (int i = 0; i < order.length; i++) {
+            permuted[i] = elements[order[i]];
+        }
+        return permuted;
+    }
+
+    static float[] permute(float[] elements, int[] order) {
+        float[] permuted = new float[elements.length];
+        for (int i = 0; i < order.length; i++) {
+            permuted[i] = elements[order[i]];
+        }
+        return permuted;
+    }
+
+    static int[] reversed(int[] elements) {
+        for (int i = 0, j = elements.length - 1; i < j; i++, j--) {
+            int swap = elements[i];
+            elements[i] = elements[j];
+            elements[j] = swap;
+        }
+        return elements;
+    }
+
+    static long[] reversed(long[] elements) {
+        for (int i = 0, j = elements.length - 1; i < j; i++, j--) {
+            long swap = elements[i];
+            elements[i] = elements[j];
+            elements[j] = swap;
+        }
+        return elements;
+    }
+
+    static char[] reversed(char[] elements) {
+        for (int i = 0, j = elements.length - 1; i < j; i++, j--) {
+            char swap = elements[i];
+            elements[i] = elements[j];
+            elements[j] = swap;
+        }
+        return elements;
+    }
+
+    static double[] reversed(double[] elements) {
+        for (int i = 0, j = elements.length - 1; i < j; i++, j--) {
+            double swap = elements[i];
+            elements[i] = elements[j];
+            elements[j] = swap;
+        }
+        return elements;
+    }
+
+    static float[] reversed(float[] elements) {
+        for (int i = 0, j = elements.length - 1; i < j; i++, j--) {
+            float swap = elements[i];
+            elements[i] = elements[j];
+            elements[j] = swap;
+        }
+        return elements;
+    }
+}
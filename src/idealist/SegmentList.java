@@ -0,0 +1,205 @@
+package idealist;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.ObjIntConsumer;
+import java.util.function.ToIntFunction;
+
+// What the lists of longs, chars, doubles and floats have in common. They only store segments:
+// chunks of up to CHUNK_SIZE elements in an array of type A, and progressions that calculate their
+// elements from their index. Operators build one node per chunk of output, see the segments of
+// IdeaList. A chunk is copied out of its segment with copySegment and handed to the subclass as an
+// array, so the elements are never boxed. L is the type of the list itself.
+abstract class SegmentList<L extends SegmentList<L, A>, A> {
+
+    // Constructors and factory methods =============================================================
+    SegmentList() {}
+
+    // Any list of the type can build its chunks, the factory methods of the subclasses use the empty one
+    abstract A newArray(int length);
+
+    abstract L chunk(Lazy<A> elements, int length, Lazy<L> rest, int knownLength);
+
+    abstract L emptyList();
+
+    static void handleNegativeLength(int length) {
+        if (length < 0) throw new IllegalArgumentException("Cannot initialise list with length " + length);
+    }
+
+    // fill puts up to CHUNK_SIZE elements in the array it is given and returns how many, 0 at the end
+    L chunksOf(ToIntFunction<A> fill) {
+        A chunk = newArray(IdeaList.CHUNK_SIZE);
+        int length = fill.applyAsInt(chunk);
+        if (length == 0) return emptyList();
+        A elements = length == IdeaList.CHUNK_SIZE ? chunk : copyOf(chunk, length);
+        return chunk(Lazy.evaluated(elements), length, Lazy.of(() -> chunksOf(fill)), IdeaList.UNKNOWN_LENGTH);
+    }
+
+    // A whole chunk of elements is calculated as soon as one of its elements is needed. fill sets the
+    // elements of the chunk that starts at the given index.
+    L initialiseChunks(int from, int length, ObjIntConsumer<A> fill) {
+        if (from == length) return emptyList();
+        int chunkLength = Math.min(IdeaList.CHUNK_SIZE, length - from);
+        Lazy<A> chunk = Lazy.of(() -> {
+            A elements = newArray(chunkLength);
+            fill.accept(elements, from);
+            return elements;
+        });
+        return chunk(chunk, chunkLength, Lazy.of(() -> initialiseChunks(from + chunkLength, length, fill)), length - from);
+    }
+
+    A copyOf(A elements, int length) {
+        A copy = newArray(length);
+        System.arraycopy(elements, 0, copy, 0, length);
+        return copy;
+    }
+
+    @SuppressWarnings("unchecked")
+    private L self() {
+        return (L) this;
+    }
+
+
+    // Getters ======================================================================================
+    static IndexOutOfBoundsException indexTooBigException() {
+        return new IndexOutOfBoundsException("Index too big");
+    }
+
+    static NoSuchElementException noSuchElementException() {
+        return new NoSuchElementException("List is empty");
+    }
+
+    // See IdeaList.length()
+    public int length() {
+        int length = 0;
+        L node = self();
+        while (node.knownLength() == IdeaList.UNKNOWN_LENGTH) {
+            length += node.segmentLength();
+            node = node.afterSegment();
+        }
+        return length + node.knownLength();
+    }
+
+    abstract int knownLength();
+
+
+    /////////////////////////////////////////////////////////////////////////////////////////////////
+    // The position of an iterator of a subclass, which reads the element at index of segment
+    abstract class Cursor {
+        L segment = self();
+        int index = 0;
+
+        public boolean hasNext() {
+            while (index == segment.segmentLength()) {
+                if (!segment.any()) return false;
+                segment = segment.afterSegment();
+                index = 0;
+            }
+            return true;
+        }
+
+        // Moves past the next element and returns its index in segment
+        int advance() {
+            if (!hasNext()) throw noSuchElementException();
+            return index++;
+        }
+    }
+
+
+    // Checks =======================================================================================
+    public abstract boolean any();
+
+
+    // Segments =====================================================================================
+    abstract int segmentLength();
+
+    abstract L afterSegment();
+
+    // See IntIdeaList.copySegment(int, int[], int, int)
+    abstract void copySegment(int from, A destination, int position, int length);
+
+
+    // List operations ==============================================================================
+    // The elements from index from of the current segment on, a chunk at a time. transform changes
+    // the elements of a copy of the chunk in place.
+    L mapFrom(int from, Consumer<A> transform) {
+        if (!any()) return emptyList();
+        int end = Math.min(from + IdeaList.CHUNK_SIZE, segmentLength());
+        Lazy<A> chunk = Lazy.of(() -> {
+            A elements = newArray(end - from);
+            copySegment(from, elements, 0, end - from);
+            transform.accept(elements);
+            return elements;
+        });
+        int knownLength = knownLength();
+        return chunk(chunk, end - from,
+                Lazy.of(() -> end < segmentLength() ? mapFrom(end, transform) : afterSegment().mapFrom(0, transform)),
+                knownLength == IdeaList.UNKNOWN_LENGTH ? IdeaList.UNKNOWN_LENGTH : knownLength - from);
+    }
+
+    // See mapFrom. transform fills the output chunk from a copy of the chunk.
+    <R> IdeaList<R> mapToObjFrom(int from, BiConsumer<A, Object[]> transform) {
+        if (!any()) return IdeaList.empty();
+        int end = Math.min(from + IdeaList.CHUNK_SIZE, segmentLength());
+        Lazy<Object[]> chunk = Lazy.of(() -> {
+            A elements = newArray(end - from);
+            copySegment(from, elements, 0, end - from);
+            Object[] output = new Object[end - from];
+            transform.accept(elements, output);
+            return output;
+        });
+        int knownLength = knownLength();
+        return IdeaList.createChunk(chunk, 0, end - from,
+                Lazy.of(() -> end < segmentLength() ? mapToObjFrom(end, transform) : afterSegment().mapToObjFrom(0, transform)),
+                knownLength == IdeaList.UNKNOWN_LENGTH ? IdeaList.UNKNOWN_LENGTH : knownLength - from);
+    }
+
+    // Keeps the elements that match at the start of the first length elements and returns how many
+    @FunctionalInterface
+    interface ChunkFilter<A> {
+        int filter(A elements, int length);
+    }
+
+    // Evaluates chunks until one has a match, as the list has to know whether it's empty
+    static <L extends SegmentList<L, A>, A> L where(L node, int from, ChunkFilter<A> filter) {
+        A buffer = node.newArray(IdeaList.CHUNK_SIZE);
+        while (node.any()) {
+            int end = Math.min(from + IdeaList.CHUNK_SIZE, node.segmentLength());
+            node.copySegment(from, buffer, 0, end - from);
+            int length = filter.filter(buffer, end - from);
+            if (length > 0) {
+                L current = node;
+                return node.chunk(Lazy.evaluated(node.copyOf(buffer, length)), length,
+                        Lazy.of(() -> end < current.segmentLength() ? where(current, end, filter) : where(current.afterSegment(), 0, filter)),
+                        IdeaList.UNKNOWN_LENGTH);
+            }
+            if (end < node.segmentLength()) {
+                from = end;
+            } else {
+                node = node.afterSegment();
+                from = 0;
+            }
+        }
+        return node;
+    }
+
+    // The pairs that pair makes of the next element of elements, an iterator over this list, and the
+    // next element of other
+    <I extends Iterator<?>, B, P> IdeaList<P> zip(I elements, Iterable<B> other, BiFunction<I, B, P> pair) {
+        int otherLength = Enumerable.zippedLength(other);
+        int knownLength = knownLength() == IdeaList.UNKNOWN_LENGTH || otherLength == IdeaList.UNKNOWN_LENGTH
+                ? IdeaList.UNKNOWN_LENGTH
+                : Math.min(knownLength(), otherLength);
+        return zipHelper(elements, other.iterator(), pair, knownLength);
+    }
+
+    private static <I extends Iterator<?>, B, P> IdeaList<P> zipHelper(I elements, Iterator<B> objects, BiFunction<I, B, P> pair, int knownLength) {
+        if (!elements.hasNext() || !objects.hasNext()) return IdeaList.empty();
+        P first = pair.apply(elements, objects.next());
+        int tailLength = knownLength == IdeaList.UNKNOWN_LENGTH ? IdeaList.UNKNOWN_LENGTH : knownLength - 1;
+        return IdeaList.create(Lazy.evaluated(first), Lazy.of(() -> zipHelper(elements, objects, pair, tailLength)), knownLength);
+    }
+}
@@ -0,0 +1,146 @@
+package idealist;
+
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+// Covers the elements from index in the segment of node up to fenceIndex in the segment of fence,
+// or up to the end of the list if fence is null. Splitting walks the segments without evaluating
+// any elements, so every part evaluates its own chunks, ranges or array elements. Segments whose
+// elements are evaluated together are never cut, so the parts can be evaluated on different
+// threads without sharing a lazy value.
+class SegmentSpliterator<E> implements Spliterator<E> {
+    // The number of elements the first split of a list with an unknown length hands out, the
+    // following splits hand out one more batch than the one before
+    static final int BATCH_SIZE = 1024;
+    static final int MAX_BATCH_SIZE = 1 << 25;
+
+    private IdeaList<E> node;
+    private int index;
+    private final IdeaList<E> fence;
+    private final int fenceIndex;
+    private long size;
+    private int batchSize = 0;
+
+    private SegmentSpliterator(IdeaList<E> node, int index, IdeaList<E> fence, int fenceIndex, long size) {
+        this.node = node;
+        this.index = index;
+        this.fence = fence;
+        this.fenceIndex = fenceIndex;
+        this.size = size;
+    }
+
+    static <E> Spliterator<E> of(IdeaList<E> list) {
+        int knownLength = list.knownLength();
+        return new SegmentSpliterator<>(list, 0, null, 0, knownLength == IdeaList.UNKNOWN_LENGTH ? -1 : knownLength);
+    }
+
+    private int segmentEnd(IdeaList<E> segment) {
+        return segment == fence ? fenceIndex : segment.segmentLength();
+    }
+
+    // Moves to the next segment that has elements left, returns false at the end
+    private boolean advanceSegment() {
+        while (index == segmentEnd(node)) {
+            if (node == fence || node.isEmpty()) return false;
+            node = node.afterSegment();
+            index = 0;
+        }
+        return true;
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super E> action) {
+        if (!advanceSegment()) return false;
+        action.accept(node.segmentElement(index++));
+        if (size > 0) size--;
+        return true;
+    }
+
+    @Override
+    public void forEachRemaining(Consumer<? super E> action) {
+        while (advanceSegment()) {
+            int end = segmentEnd(node);
+            for (; index < end; index++) {
+                action.accept(node.segmentElement(index));
+            }
+        }
+        size = 0;
+    }
+
+    @Override
+    public Spliterator<E> trySplit() {
+        if (size < 0) return splitBatch();
+        if (size < 2) return null;
+        return splitPrefix(size / 2);
+    }
+
+    // Hands out the next batch of a list with an unknown length. If the list ends within the batch,
+    // its length is known from then on and it's split in half instead.
+    private Spliterator<E> splitBatch() {
+        batchSize = Math.min(batchSize + BATCH_SIZE, MAX_BATCH_SIZE);
+        IdeaList<E> segment = node;
+        int position = index;
+        long walked = 0;
+        while (walked < batchSize) {
+            int end = segmentEnd(segment);
+            if (position == end) {
+                if (segment == fence || segment.isEmpty()) {
+                    size = walked;
+                    return trySplit();
+                }
+                segment = segment.afterSegment();
+                position = 0;
+                continue;
+            }
+            int taken = segment.hasIndependentSegmentElements() ? (int) Math.min(end - position, batchSize - walked) : end - position;
+            position += taken;
+            walked += taken;
+        }
+        return cutAt(segment, position, walked);
+    }
+
+    private Spliterator<E> splitPrefix(long length) {
+        IdeaList<E> segment = node;
+        int position = index;
+        long remaining = length;
+        while (true) {
+            int end = segmentEnd(segment);
+            int available = end - position;
+            if (available >= remaining) {
+                if (segment.hasIndependentSegmentElements()) {
+                    position += (int) remaining;
+                } else if (length - remaining + available < size) {
+                    // Cut after the segment, so only one part evaluates it
+                    length += available - remaining;
+                    position = end;
+                } else {
+                    length -= remaining;
+                }
+                break;
+            }
+            remaining -= available;
+            segment = segment.afterSegment();
+            position = 0;
+        }
+        return length == 0 ? null : cutAt(segment, position, length);
+    }
+
+    // Returns the elements up to the given position and keeps the ones after it
+    private Spliterator<E> cutAt(IdeaList<E> segment, int position, long length) {
+        var prefix = new SegmentSpliterator<>(node, index, segment, position, length);
+        node = segment;
+        index = position;
+        if (size >= 0) size -= length;
+        return prefix;
+    }
+
+    @Override
+    public long estimateSize() {
+        return size < 0 ? Long.MAX_VALUE : size;
+    }
+
+    @Override
+    public int characteristics() {
+        return size < 0 ? ORDERED : ORDERED | SIZED | SUBSIZED;
+    }
+}
@@ -0,0 +1,209 @@
+package idealist;
+
+import java.util.Comparator;
+import java.util.function.Function;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
+
+// The keys to sort an IdeaList by, see IdeaList.sortBy. Every key is calculated once per element
+// and stored in an array, so a selector that does real work runs n times instead of on every
+// comparison. Primitive keys are stored without boxing, and a single primitive key is radix sorted.
+// Later keys only decide the order of elements of which all earlier keys are equal.
+public final class SortOrder<E> {
+    // Null for the first key
+    private final SortOrder<E> previous;
+    private final Function<Object[], Column> keyColumn;
+
+    private SortOrder(SortOrder<E> previous, Function<Object[], Column> keyColumn) {
+        this.previous = previous;
+        this.keyColumn = keyColumn;
+    }
+
+    public static <E, R extends Comparable<R>> SortOrder<E> by(Function<E, R> selector) {
+        return new SortOrder<>(null, objectKeys(selector, Comparator.naturalOrder()));
+    }
+
+    public static <E, R extends Comparable<R>> SortOrder<E> byDescending(Function<E, R> selector) {
+        return new SortOrder<>(null, objectKeys(selector, Comparator.reverseOrder()));
+    }
+
+    public static <E> SortOrder<E> byInt(ToIntFunction<E> selector) {
+        return new SortOrder<>(null, intKeys(selector));
+    }
+
+    public static <E> SortOrder<E> byLong(ToLongFunction<E> selector) {
+        return new SortOrder<>(null, longKeys(selector));
+    }
+
+    // Same order as Double.compare
+    public static <E> SortOrder<E> byDouble(ToDoubleFunction<E> selector) {
+        return new SortOrder<>(null, doubleKeys(selector));
+    }
+
+    public <R extends Comparable<R>> SortOrder<E> thenBy(Function<E, R> selector) {
+        return new SortOrder<>(this, objectKeys(selector, Comparator.naturalOrder()));
+    }
+
+    public <R extends Comparable<R>> SortOrder<E> thenByDescending(Function<E, R> selector) {
+        return new SortOrder<>(this, objectKeys(selector, Comparator.reverseOrder()));
+    }
+
+    public SortOrder<E> thenByInt(ToIntFunction<E> selector) {
+        return new SortOrder<>(this, intKeys(selector));
+    }
+
+    public SortOrder<E> thenByLong(ToLongFunction<E> selector) {
+        return new SortOrder<>(this, longKeys(selector));
+    }
+
+    public SortOrder<E> thenByDouble(ToDoubleFunction<E> selector) {
+        return new SortOrder<>(this, doubleKeys(selector));
+    }
+
+    // The indices of elements in sorted order. Elements with equal keys keep their order.
+    int[] order(Object[] elements) {
+        if (previous == null) return keyColumn.apply(elements).order();
+        int keyCount = 0;
+        for (SortOrder<E> order = this; order != null; order = order.previous) {
+            keyCount++;
+        }
+        Column[] columns = new Column[keyCount];
+        for (SortOrder<E> order = this; order != null; order = order.previous) {
+            columns[--keyCount] = order.keyColumn.apply(elements);
+        }
+        return PrimitiveSort.order(elements.length, (left, right) -> {
+            for (Column column : columns) {
+                int comparison = column.compare(left, right);
+                if (comparison != 0) return comparison;
+            }
+            return 0;
+        });
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <E, R> Function<Object[], Column> objectKeys(Function<E, R> selector, Comparator<R> comparator) {
+        return elements -> {
+            Object[] keys = new Object[elements.length];
+            for (int i = 0; i < elements.length; i++) {
+                keys[i] = selector.apply((E) elements[i]);
+            }
+            return new ObjectColumn<>((R[]) keys, comparator);
+        };
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <E> Function<Object[], Column> intKeys(ToIntFunction<E> selector) {
+        return elements -> {
+            int[] keys = new int[elements.length];
+            for (int i = 0; i < elements.length; i++) {
+                keys[i] = selector.applyAsInt((E) elements[i]);
+            }
+            return new IntColumn(keys);
+        };
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <E> Function<Object[], Column> longKeys(ToLongFunction<E> selector) {
+        return elements -> {
+            long[] keys = new long[elements.length];
+            for (int i = 0; i < elements.length; i++) {
+                keys[i] = selector.applyAsLong((E) elements[i]);
+            }
+            return new LongColumn(keys);
+        };
+    }
+
+    // Doubles are stored as longs that compare in the same order, see PrimitiveSort.sortableKey
+    @SuppressWarnings("unchecked")
+    private static <E> Function<Object[], Column> doubleKeys(ToDoubleFunction<E> selector) {
+        return elements -> {
+            long[] keys = new long[elements.length];
+            for (int i = 0; i < elements.length; i++) {
+                keys[i] = PrimitiveSort.sortableKey(selector.applyAsDouble((E) elements[i]));
+            }
+            return new LongColumn(keys);
+        };
+    }
+
+
+    /////////////////////////////////////////////////////////////////////////////////////////////////
+    // The keys of all elements for a single SortOrder
+    private abstract static class Column {
+        abstract int length();
+
+        // Compares the keys of the elements at the indices left and right
+        abstract int compare(int left, int right);
+
+        // The indices in the order of this key alone
+        int[] order() {
+            return PrimitiveSort.order(length(), this::compare);
+        }
+    }
+
+    private static class ObjectColumn<R> extends Column {
+        private final R[] keys;
+        private final Comparator<R> comparator;
+
+        private ObjectColumn(R[] keys, Comparator<R> comparator) {
+            this.keys = keys;
+            this.comparator = comparator;
+        }
+
+        @Override
+        int length() {
+            return keys.length;
+        }
+
+        @Override
+        int compare(int left, int right) {
+            return comparator.compare(keys[left], keys[right]);
+        }
+    }
+
+    private static class IntColumn extends Column {
+        private final int[] keys;
+
+        private IntColumn(int[] keys) {
+            this.keys = keys;
+        }
+
+        @Override
+        int length() {
+            return keys.length;
+        }
+
+        @Override
+        int compare(int left, int right) {
+            return Integer.compare(keys[left], keys[right]);
+        }
+
+        @Override
+        int[] order() {
+            return PrimitiveSort.order(keys);
+        }
+    }
+
+    private static class LongColumn extends Column {
+        private final long[] keys;
+
+        private LongColumn(long[] keys) {
+            this.keys = keys;
+        }
+
+        @Override
+        int length() {
+            return keys.length;
+        }
+
+        @Override
+        int compare(int left, int right) {
+            return Long.compare(keys[left], keys[right]);
+        }
+
+        @Override
+        int[] order() {
+            return PrimitiveSort.order(keys);
+        }
+    }
+}
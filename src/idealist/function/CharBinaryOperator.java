@@ -0,0 +1,8 @@
+package idealist.function;
+
+@FunctionalInterface
+public interface CharBinaryOperator {
+
+    char applyAsChar(char left, char right);
+
+}
@@ -0,0 +1,8 @@
+package idealist.function;
+
+@FunctionalInterface
+public interface CharFunction<R> {
+
+    R apply(char value);
+
+}
@@ -0,0 +1,8 @@
+package idealist.function;
+
+@FunctionalInterface
+public interface CharPredicate {
+
+    boolean test(char value);
+
+}
@@ -0,0 +1,8 @@
+package idealist.function;
+
+@FunctionalInterface
+public interface CharUnaryOperator {
+
+    char applyAsChar(char operand);
+
+}
@@ -0,0 +1,8 @@
+package idealist.function;
+
+@FunctionalInterface
+public interface FloatBinaryOperator {
+
+    float applyAsFloat(float left, float right);
+
+}
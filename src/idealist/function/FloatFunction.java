@@ -0,0 +1,8 @@
+package idealist.function;
+
+@FunctionalInterface
+public interface FloatFunction<R> {
+
+    R apply(float value);
+
+}
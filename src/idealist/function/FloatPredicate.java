@@ -0,0 +1,8 @@
+package idealist.function;
+
+@FunctionalInterface
+public interface FloatPredicate {
+
+    boolean test(float value);
+
+}
@@ -0,0 +1,8 @@
+package idealist.function;
+
+@FunctionalInterface
+public interface FloatUnaryOperator {
+
+    float applyAsFloat(float operand);
+
+}
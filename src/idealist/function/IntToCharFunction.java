@@ -0,0 +1,8 @@
+package idealist.function;
+
+@FunctionalInterface
+public interface IntToCharFunction {
+
+    char applyAsChar(int value);
+
+}
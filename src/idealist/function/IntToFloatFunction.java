@@ -0,0 +1,8 @@
+package idealist.function;
+
+@FunctionalInterface
+public interface IntToFloatFunction {
+
+    float applyAsFloat(int value);
+
+}
@@ -0,0 +1,8 @@
+package idealist.function;
+
+@FunctionalInterface
+public interface ToFloatFunction<T> {
+
+    float applyAsFloat(T value);
+
+}
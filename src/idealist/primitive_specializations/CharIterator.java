@@ -0,0 +1,14 @@
+package idealist.primitive_specializations;
+
+import java.util.Iterator;
+
+// The char counterpart of PrimitiveIterator.OfInt, which Java doesn't provide
+public interface CharIterator extends Iterator<Character> {
+
+    char nextChar();
+
+    @Override
+    default Character next() {
+        return nextChar();
+    }
+}
@@ -0,0 +1,14 @@
+package idealist.primitive_specializations;
+
+import java.util.Iterator;
+
+// The float counterpart of PrimitiveIterator.OfInt, which Java doesn't provide
+public interface FloatIterator extends Iterator<Float> {
+
+    float nextFloat();
+
+    @Override
+    default Float next() {
+        return nextFloat();
+    }
+}
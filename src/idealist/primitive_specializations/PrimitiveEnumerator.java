@@ -11,21 +11,7 @@ public final class PrimitiveEnumerator {
     private PrimitiveEnumerator() {}
 
     public static PrimitiveIterator.OfInt of(IntIdeaList elements) {
-        return new PrimitiveIterator.OfInt() {
-            private IntIdeaList innerList = elements;
-
-            @Override
-            public boolean hasNext() {
-                return innerList.any();
-            }
-
-            @Override
-            public int nextInt() {
-                int next = innerList.first();
-                innerList = innerList.tail.value();
-                return next;
-            }
-        };
+        return elements.iterator();
     }
 
     public static PrimitiveIterator.OfInt ofInt(Iterable<Integer> elements) {
@@ -1,35 +1,36 @@
 package idealist.range;
 
-import idealist.IdeaList;
+import idealist.CharIdeaList;
 
 public class CharRange {
-    private final IntRange intRange;
+    private final char from;
 
     CharRange(char from) {
-        intRange = new IntRange(from);
+        this.from = from;
     }
 
-    private static IdeaList<Character> intToCharRange(IdeaList<Integer> integers) {
-        return integers.map(integer -> (char) integer.intValue());
+    public CharIdeaList length(int length) {
+        return (length < 0) ? CharIdeaList.empty() : CharIdeaList.progression(from, 1, length);
     }
 
-    public IdeaList<Character> length(int length) {
-        return intToCharRange(intRange.length(length));
+    public CharIdeaList upTo(char end) {
+        return step(1).upTo(end);
     }
 
-    public IdeaList<Character> upTo(char end) {
-        return intToCharRange(intRange.upTo(end));
+    public CharIdeaList upToAndIncluding(char end) {
+        return step(1).upToAndIncluding(end);
     }
 
-    public IdeaList<Character> upToAndIncluding(char end) {
-        return intToCharRange(intRange.upToAndIncluding(end));
+    public CharIdeaList downTo(char end) {
+        return step(1).downTo(end);
     }
 
-    public IdeaList<Character> downTo(char end) {
-        return intToCharRange(intRange.downTo(end));
+    public CharIdeaList downToAndIncluding(char end) {
+        return step(1).downToAndIncluding(end);
     }
 
-    public IdeaList<Character> downToAndIncluding(char end) {
-        return intToCharRange(intRange.downToAndIncluding(end));
+    // See IntRange.step(int)
+    public CharStepRange step(int step) {
+        return new CharStepRange(from, step);
     }
 }
@@ -0,0 +1,40 @@
+package idealist.range;
+
+import idealist.CharIdeaList;
+
+// See IntStepRange
+public class CharStepRange {
+    private final char from;
+    private final int step;
+
+    CharStepRange(char from, int step) {
+        if (step <= 0) throw new IllegalArgumentException("Step must be positive, was " + step);
+        this.from = from;
+        this.step = step;
+    }
+
+    // The number of steps it takes to cover distance, counting a last partial step
+    private int steps(int distance) {
+        return distance <= 0 ? 0 : (distance - 1) / step + 1;
+    }
+
+    public CharIdeaList length(int length) {
+        return (length < 0) ? CharIdeaList.empty() : CharIdeaList.progression(from, step, length);
+    }
+
+    public CharIdeaList upTo(char end) {
+        return length(steps(end - from));
+    }
+
+    public CharIdeaList upToAndIncluding(char end) {
+        return length(steps(end - from + 1));
+    }
+
+    public CharIdeaList downTo(char end) {
+        return CharIdeaList.progression(from, -step, steps(from - end));
+    }
+
+    public CharIdeaList downToAndIncluding(char end) {
+        return CharIdeaList.progression(from, -step, steps(from - end + 1));
+    }
+}
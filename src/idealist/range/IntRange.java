@@ -1,9 +1,6 @@
 package idealist.range;
 
-import idealist.IdeaList;
-
-import java.util.function.Function;
-import java.util.function.IntUnaryOperator;
+import idealist.IntIdeaList;
 
 public class IntRange {
     private final int from;
@@ -12,59 +9,33 @@ public class IntRange {
         this.from = from;
     }
 
-    private static IdeaList<Integer> createRange(int length, IntUnaryOperator indexToElement) {
-        return (length < 0) ? IdeaList.empty() : IdeaList.initialiseWith(length, indexToElement::applyAsInt);
-    }
-
-    public IdeaList<Integer> length(int length) {
-        return createRange(length, index -> from + index);
-    }
-
-    public IdeaList<Integer> upTo(int end) {
-        return length(end - from);
-    }
-
-    public IdeaList<Integer> upToAndIncluding(int end) {
-        return upTo(end + 1);
-    }
-
-    public IdeaList<Integer> downTo(int end) {
-        return createRange(from - end, index -> from - index);
-    }
-
-    public IdeaList<Integer> downToAndIncluding(int end) {
-        return downTo(end - 1);
-    }
-
-    public static IdeaList<Integer> infiniteIndices() {
-        return IdeaList.initialiseWith(Integer.MAX_VALUE, Function.identity());
-    }
-
-    /*private static IntIdeaList createRange(int length, IntUnaryOperator indexToElement) {
-        return (length < 0) ? IntIdeaList.empty() : IntIdeaList.initialiseWith(length, indexToElement);
-    }
-
     public IntIdeaList length(int length) {
-        return createRange(length, index -> from + index);
+        return (length < 0) ? IntIdeaList.empty() : IntIdeaList.progression(from, 1, length);
     }
 
+    // The distance to end can overflow an int, so the step range calculates the lengths
     public IntIdeaList upTo(int end) {
-        return length(end - from);
+        return step(1).upTo(end);
     }
 
     public IntIdeaList upToAndIncluding(int end) {
-        return upTo(end + 1);
+        return step(1).upToAndIncluding(end);
     }
 
     public IntIdeaList downTo(int end) {
-        return createRange(from - end, index -> from - index);
+        return step(1).downTo(end);
     }
 
     public IntIdeaList downToAndIncluding(int end) {
-        return downTo(end - 1);
+        return step(1).downToAndIncluding(end);
+    }
+
+    // The same ranges, but with only every step-th integer
+    public IntStepRange step(int step) {
+        return new IntStepRange(from, step);
     }
 
     public static IntIdeaList infiniteIndices() {
-        return IntIdeaList.initialiseWith(Integer.MAX_VALUE, index -> index);
-    }*/
+        return IntIdeaList.progression(0, 1, Integer.MAX_VALUE);
+    }
 }
@@ -0,0 +1,46 @@
+package idealist.range;
+
+import idealist.IntIdeaList;
+
+// Every step-th integer from a start, as an IntIdeaList that calculates its elements from their
+// index instead of storing them
+public class IntStepRange {
+    private final int from;
+    private final int step;
+
+    IntStepRange(int from, int step) {
+        if (step <= 0) throw new IllegalArgumentException("Step must be positive, was " + step);
+        this.from = from;
+        this.step = step;
+    }
+
+    private static int toLength(long length) {
+        if (length > Integer.MAX_VALUE) throw new IllegalArgumentException("Range has more than " + Integer.MAX_VALUE + " elements");
+        return (int) length;
+    }
+
+    // The number of steps it takes to cover distance, counting a last partial step
+    private int steps(long distance) {
+        return distance <= 0 ? 0 : toLength((distance + step - 1) / step);
+    }
+
+    public IntIdeaList length(int length) {
+        return (length < 0) ? IntIdeaList.empty() : IntIdeaList.progression(from, step, length);
+    }
+
+    public IntIdeaList upTo(int end) {
+        return length(steps((long) end - from));
+    }
+
+    public IntIdeaList upToAndIncluding(int end) {
+        return length(steps((long) end - from + 1));
+    }
+
+    public IntIdeaList downTo(int end) {
+        return IntIdeaList.progression(from, -step, steps((long) from - end));
+    }
+
+    public IntIdeaList downToAndIncluding(int end) {
+        return IntIdeaList.progression(from, -step, steps((long) from - end + 1));
+    }
+}
@@ -1,8 +1,7 @@
 package idealist.range;
 
 import idealist.IdeaList;
-
-import java.util.function.LongUnaryOperator;
+import idealist.LongIdeaList;
 
 public class LongRange {
     private final long from;
@@ -11,30 +10,36 @@ public class LongRange {
         this.from = from;
     }
 
-    private static IdeaList<Long> createRange(long length, LongUnaryOperator indexToElement) {
-        return (length < 0L) ? IdeaList.empty() : IdeaList.initialiseWithLong(length, indexToElement::applyAsLong);
+    // A LongIdeaList is indexed by int, so longer ranges are rejected like those of LongStepRange
+    public LongIdeaList length(long length) {
+        if (length < 0L) return LongIdeaList.empty();
+        if (length > Integer.MAX_VALUE) throw new IllegalArgumentException("Range has more than " + Integer.MAX_VALUE + " elements");
+        return LongIdeaList.progression(from, 1L, (int) length);
     }
 
-    public IdeaList<Long> length(long length) {
-        return createRange(length, index -> from + index);
+    // The distance to end can overflow a long, so the step range calculates the lengths
+    public LongIdeaList upTo(long end) {
+        return step(1L).upTo(end);
     }
 
-    public IdeaList<Long> upTo(long end) {
-        return length(end - from);
+    public LongIdeaList upToAndIncluding(long end) {
+        return step(1L).upToAndIncluding(end);
     }
 
-    public IdeaList<Long> upToAndIncluding(long end) {
-        return upTo(end + 1L);
+    public LongIdeaList downTo(long end) {
+        return step(1L).downTo(end);
     }
 
-    public IdeaList<Long> downTo(long end) {
-        return createRange(from - end, index -> from - index);
+    public LongIdeaList downToAndIncluding(long end) {
+        return step(1L).downToAndIncluding(end);
     }
 
-    public IdeaList<Long> downToAndIncluding(long end) {
-        return downTo(end - 1L);
+    // See IntRange.step(int)
+    public LongStepRange step(long step) {
+        return new LongStepRange(from, step);
     }
 
+    // Boxed, because it has more elements than a LongIdeaList can index
     public static IdeaList<Long> infiniteIndices() {
         return IdeaList.initialiseWithLong(Long.MAX_VALUE, index -> index);
     }
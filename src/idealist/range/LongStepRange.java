@@ -0,0 +1,44 @@
+package idealist.range;
+
+import idealist.LongIdeaList;
+
+// See IntStepRange
+public class LongStepRange {
+    private final long from;
+    private final long step;
+
+    LongStepRange(long from, long step) {
+        if (step <= 0L) throw new IllegalArgumentException("Step must be positive, was " + step);
+        this.from = from;
+        this.step = step;
+    }
+
+    // The number of elements from low up to and including high. The distance between them can be
+    // bigger than Long.MAX_VALUE, but always fits in an unsigned long.
+    private int stepsBetween(long low, long high) {
+        if (low > high) return 0;
+        long length = Long.divideUnsigned(high - low, step) + 1L;
+        if (length <= 0L || length > Integer.MAX_VALUE) throw new IllegalArgumentException("Range has more than " + Integer.MAX_VALUE + " elements");
+        return (int) length;
+    }
+
+    public LongIdeaList length(int length) {
+        return (length < 0) ? LongIdeaList.empty() : LongIdeaList.progression(from, step, length);
+    }
+
+    public LongIdeaList upTo(long end) {
+        return end == Long.MIN_VALUE ? LongIdeaList.empty() : upToAndIncluding(end - 1L);
+    }
+
+    public LongIdeaList upToAndIncluding(long end) {
+        return length(stepsBetween(from, end));
+    }
+
+    public LongIdeaList downTo(long end) {
+        return end == Long.MAX_VALUE ? LongIdeaList.empty() : downToAndIncluding(end + 1L);
+    }
+
+    public LongIdeaList downToAndIncluding(long end) {
+        return LongIdeaList.progression(from, -step, stepsBetween(end, from));
+    }
+}
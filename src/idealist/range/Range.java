@@ -1,6 +1,7 @@
 package idealist.range;
 
 import idealist.IdeaList;
+import idealist.IntIdeaList;
 
 public final class Range {
 
@@ -19,7 +20,7 @@ public final class Range {
         return new LongRange(start);
     }
 
-    public static IdeaList<Integer> infiniteIndices() {
+    public static IntIdeaList infiniteIndices() {
         return IntRange.infiniteIndices();
     }
 
@@ -0,0 +1,35 @@
+package idealist.tuple;
+
+import java.util.Objects;
+
+public class CharObjPair<A> {
+    public final char character;
+    public final A object;
+
+    private CharObjPair(char character, A object) {
+        this.character = character;
+        this.object = object;
+    }
+
+    public static <A> CharObjPair<A> of(char character, A object) {
+        return new CharObjPair<>(character, object);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        CharObjPair<?> charPair = (CharObjPair<?>) o;
+        return character == charPair.character && Objects.equals(object, charPair.object);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(character, object);
+    }
+
+    @Override
+    public String toString() {
+        return "(" + character + ", " + object + ")";
+    }
+}
@@ -0,0 +1,35 @@
+package idealist.tuple;
+
+import java.util.Objects;
+
+public class LongObjPair<A> {
+    public final long integer;
+    public final A object;
+
+    private LongObjPair(long integer, A object) {
+        this.integer = integer;
+        this.object = object;
+    }
+
+    public static <A> LongObjPair<A> of(long integer, A object) {
+        return new LongObjPair<>(integer, object);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        LongObjPair<?> intPair = (LongObjPair<?>) o;
+        return integer == intPair.integer && Objects.equals(object, intPair.object);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(integer, object);
+    }
+
+    @Override
+    public String toString() {
+        return "(" + integer + ", " + object + ")";
+    }
+}
@@ -0,0 +1,86 @@
+package idealist;
+
+import idealist.range.Range;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+import java.util.TreeSet;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BitmapTest {
+
+    private static IntIdeaList sorted(TreeSet<Integer> set) {
+        return IntIdeaList.of(set.stream().mapToInt(Integer::intValue).toArray());
+    }
+
+    // Sparse and dense groups, negative numbers and the extremes
+    private static TreeSet<Integer> sample(long seed) {
+        Random random = new Random(seed);
+        TreeSet<Integer> set = new TreeSet<>();
+        for (int i = 0; i < 20_000; i++) set.add(random.nextInt(70_000));
+        for (int i = 0; i < 300; i++) set.add(random.nextInt());
+        for (int i = 0; i < 5_000; i++) set.add(-random.nextInt(9_000));
+        set.add(Integer.MIN_VALUE);
+        set.add(Integer.MAX_VALUE);
+        return set;
+    }
+
+    @Test
+    public void toBitmap_Holds_the_sorted_distinct_elements() {
+        TreeSet<Integer> set = sample(1);
+        int[] shuffled = set.stream().mapToInt(Integer::intValue).toArray();
+        Random random = new Random(2);
+        for (int i = shuffled.length - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int swap = shuffled[i];
+            shuffled[i] = shuffled[j];
+            shuffled[j] = swap;
+        }
+        IntIdeaList bitmap = IntIdeaList.of(shuffled).toBitmap();
+        assertEquals(set.size(), bitmap.length());
+        assertEquals(sorted(set), bitmap);
+        assertEquals(Integer.MIN_VALUE, bitmap.first());
+        assertEquals(Integer.MAX_VALUE, bitmap.get(-1));
+        for (int element : new int[] {0, 1, 69_999, -8_999, 123_456_789, Integer.MAX_VALUE - 1}) {
+            assertEquals(set.contains(element), bitmap.contains(element));
+        }
+        assertSame(bitmap, bitmap.toBitmap());
+        assertFalse(bitmap.tail.value().contains(Integer.MIN_VALUE));
+        assertEquals(IntIdeaList.of(1, 2, 3), IntIdeaList.of(3, 1, 3, 2, 1).toBitmap());
+        assertEquals(IntIdeaList.empty(), IntIdeaList.empty().toBitmap());
+    }
+
+    @Test
+    public void Set_operations_Match_TreeSet() {
+        TreeSet<Integer> left = sample(3);
+        TreeSet<Integer> right = sample(4);
+        IntIdeaList leftBitmap = sorted(left).toBitmap();
+        IntIdeaList rightBitmap = sorted(right).toBitmap();
+
+        TreeSet<Integer> and = new TreeSet<>(left);
+        and.retainAll(right);
+        TreeSet<Integer> or = new TreeSet<>(left);
+        or.addAll(right);
+        TreeSet<Integer> andNot = new TreeSet<>(left);
+        andNot.removeAll(right);
+
+        assertEquals(sorted(and), leftBitmap.and(rightBitmap));
+        assertEquals(sorted(or), leftBitmap.or(rightBitmap));
+        assertEquals(sorted(andNot), leftBitmap.andNot(rightBitmap));
+        assertEquals(sorted(andNot), sorted(left).andNot(sorted(right)));
+        assertEquals(IntIdeaList.empty(), leftBitmap.andNot(leftBitmap));
+    }
+
+    @Test
+    public void whereToBitmap_Filters_a_range_straight_into_a_bitmap() {
+        IntIdeaList range = Range.from(0).step(1).upTo(1_000_000);
+        IntIdeaList multiples = range.whereToBitmap(elem -> elem % 3 == 0);
+        assertEquals(333_334, multiples.length());
+        assertTrue(multiples.contains(999_999));
+        assertFalse(multiples.contains(999_998));
+        assertEquals(range.where(elem -> elem % 3 == 0), multiples);
+        assertEquals(IntIdeaList.progression(0, 3, 333_334).sum(), multiples.sum());
+        assertEquals(IntIdeaList.of(0, 6, 12), multiples.and(IntIdeaList.of(6, 0, 7, 12)));
+    }
+}
@@ -9,27 +9,27 @@ public class CharRangeTest {
 
     @Test
     public void length_Returns_empty_list_if_given_length_negative() {
-        assertEquals(IdeaList.empty(), Range.from('c').length(-6));
+        assertEquals(CharIdeaList.empty(), Range.from('c').length(-6));
     }
 
     @Test
     public void length_Returns_empty_list_if_given_length_just_negative() {
-        assertEquals(IdeaList.empty(), Range.from('a').length(-1));
+        assertEquals(CharIdeaList.empty(), Range.from('a').length(-1));
     }
 
     @Test
     public void length_Returns_empty_list_if_given_length_0() {
-        assertEquals(IdeaList.empty(), Range.from('q').length(0));
+        assertEquals(CharIdeaList.empty(), Range.from('q').length(0));
     }
 
     @Test
     public void length_Returns_singleton_list_if_given_length_just_positive() {
-        assertEquals(IdeaList.of('y'), Range.from('y').length(1));
+        assertEquals(CharIdeaList.of('y'), Range.from('y').length(1));
     }
 
     @Test
     public void length_Returns_incrementing_list_of_chars_if_given_length_positive() {
-        IdeaList<Character> expected = IdeaList.of('e', 'f', 'g', 'h', 'i', 'j', 'k', 'l', 'm', 'n');
+        CharIdeaList expected = CharIdeaList.of('e', 'f', 'g', 'h', 'i', 'j', 'k', 'l', 'm', 'n');
         assertEquals(expected, Range.from('e').length(10));
     }
 
@@ -37,27 +37,27 @@ public class CharRangeTest {
 
     @Test
     public void upTo_Returns_empty_list_if_start_bigger_than_end() {
-        assertEquals(IdeaList.empty(), Range.from('h').upTo('e'));
+        assertEquals(CharIdeaList.empty(), Range.from('h').upTo('e'));
     }
 
     @Test
     public void upTo_Returns_empty_list_if_start_just_bigger_than_end() {
-        assertEquals(IdeaList.empty(), Range.from('w').upTo('v'));
+        assertEquals(CharIdeaList.empty(), Range.from('w').upTo('v'));
     }
 
     @Test
     public void upTo_Returns_empty_list_if_start_equal_to_end() {
-        assertEquals(IdeaList.empty(), Range.from('i').upTo('i'));
+        assertEquals(CharIdeaList.empty(), Range.from('i').upTo('i'));
     }
 
     @Test
     public void upTo_Returns_singleton_list_if_start_just_smaller_than_end() {
-        assertEquals(IdeaList.of('j'), Range.from('j').upTo('k'));
+        assertEquals(CharIdeaList.of('j'), Range.from('j').upTo('k'));
     }
 
     @Test
     public void upTo_Returns_incrementing_list_of_integers_if_start_smaller_than_end() {
-        IdeaList<Character> expected = IdeaList.of('b', 'c', 'd', 'e', 'f', 'g', 'h', 'i', 'j', 'k', 'l');
+        CharIdeaList expected = CharIdeaList.of('b', 'c', 'd', 'e', 'f', 'g', 'h', 'i', 'j', 'k', 'l');
         assertEquals(expected, Range.from('b').upTo('m'));
     }
 
@@ -65,27 +65,27 @@ public class CharRangeTest {
 
     @Test
     public void upToAndIncluding_Returns_empty_list_if_start_bigger_than_end() {
-        assertEquals(IdeaList.empty(), Range.from('r').upToAndIncluding('m'));
+        assertEquals(CharIdeaList.empty(), Range.from('r').upToAndIncluding('m'));
     }
 
     @Test
     public void upToAndIncluding_Returns_empty_list_if_start_just_bigger_than_end() {
-        assertEquals(IdeaList.empty(), Range.from('t').upToAndIncluding('s'));
+        assertEquals(CharIdeaList.empty(), Range.from('t').upToAndIncluding('s'));
     }
 
     @Test
     public void upToAndIncluding_Returns_singleton_list_if_start_equal_to_end() {
-        assertEquals(IdeaList.of('x'), Range.from('x').upToAndIncluding('x'));
+        assertEquals(CharIdeaList.of('x'), Range.from('x').upToAndIncluding('x'));
     }
 
     @Test
     public void upToAndIncluding_Returns_incrementing_list_of_chars_if_start_just_smaller_than_end() {
-        assertEquals(IdeaList.of('y', 'z'), Range.from('y').upToAndIncluding('z'));
+        assertEquals(CharIdeaList.of('y', 'z'), Range.from('y').upToAndIncluding('z'));
     }
 
     @Test
     public void upToAndIncluding_Returns_incrementing_list_of_chars_if_start_smaller_than_end() {
-        IdeaList<Character> expected = IdeaList.of('d', 'e', 'f', 'g', 'h', 'i', 'j');
+        CharIdeaList expected = CharIdeaList.of('d', 'e', 'f', 'g', 'h', 'i', 'j');
         assertEquals(expected, Range.from('d').upToAndIncluding('j'));
     }
 
@@ -93,55 +93,55 @@ public class CharRangeTest {
 
     @Test
     public void downTo_Returns_decrementing_list_of_chars_if_start_bigger_than_end() {
-        IdeaList<Character> expected = IdeaList.of('k', 'j', 'i', 'h');
+        CharIdeaList expected = CharIdeaList.of('k', 'j', 'i', 'h');
         assertEquals(expected, Range.from('k').downTo('g'));
     }
 
     @Test
     public void downTo_Returns_singleton_list_if_start_just_bigger_than_end() {
-        assertEquals(IdeaList.of('c'), Range.from('c').downTo('b'));
+        assertEquals(CharIdeaList.of('c'), Range.from('c').downTo('b'));
     }
 
     @Test
     public void downTo_Returns_empty_list_if_start_equal_to_end() {
-        assertEquals(IdeaList.empty(), Range.from('s').downTo('s'));
+        assertEquals(CharIdeaList.empty(), Range.from('s').downTo('s'));
     }
 
     @Test
     public void downTo_Returns_empty_list_if_start_just_smaller_than_end() {
-        assertEquals(IdeaList.empty(), Range.from('o').downTo('p'));
+        assertEquals(CharIdeaList.empty(), Range.from('o').downTo('p'));
     }
 
     @Test
     public void downTo_Returns_empty_list_if_start_smaller_than_end() {
-        assertEquals(IdeaList.empty(), Range.from('e').downTo('k'));
+        assertEquals(CharIdeaList.empty(), Range.from('e').downTo('k'));
     }
 
     //+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+
 
     @Test
     public void downToAndIncluding_Returns_decrementing_list_of_chars_if_start_bigger_than_end() {
-        IdeaList<Character> expected = IdeaList.of('i', 'h', 'g', 'f');
+        CharIdeaList expected = CharIdeaList.of('i', 'h', 'g', 'f');
         assertEquals(expected, Range.from('i').downToAndIncluding('f'));
     }
 
     @Test
     public void downToAndIncluding_Returns_decrementing_list_of_chars_if_start_just_bigger_than_end() {
-        assertEquals(IdeaList.of('m', 'l'), Range.from('m').downToAndIncluding('l'));
+        assertEquals(CharIdeaList.of('m', 'l'), Range.from('m').downToAndIncluding('l'));
     }
 
     @Test
     public void downToAndIncluding_Returns_singleton_list_if_start_equal_to_end() {
-        assertEquals(IdeaList.of('u'), Range.from('u').downToAndIncluding('u'));
+        assertEquals(CharIdeaList.of('u'), Range.from('u').downToAndIncluding('u'));
     }
 
     @Test
     public void downToAndIncluding_Returns_empty_list_if_start_just_smaller_than_end() {
-        assertEquals(IdeaList.empty(), Range.from('d').downToAndIncluding('e'));
+        assertEquals(CharIdeaList.empty(), Range.from('d').downToAndIncluding('e'));
     }
 
     @Test
     public void downToAndIncluding_Returns_empty_list_if_start_smaller_than_end() {
-        assertEquals(IdeaList.empty(), Range.from('o').downToAndIncluding('v'));
+        assertEquals(CharIdeaList.empty(), Range.from('o').downToAndIncluding('v'));
     }
 }
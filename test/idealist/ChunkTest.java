@@ -0,0 +1,142 @@
+package idealist;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Lengths around the chunk size catch off-by-one errors at chunk boundaries
+public class ChunkTest {
+    private static final int[] LENGTHS = {0, 1, IdeaList.CHUNK_SIZE - 1, IdeaList.CHUNK_SIZE, IdeaList.CHUNK_SIZE + 1, 3 * IdeaList.CHUNK_SIZE + 5};
+
+    private static List<Integer> expected(int length) {
+        List<Integer> list = new ArrayList<>();
+        for (int i = 0; i < length; i++) list.add(i);
+        return list;
+    }
+
+    private static Integer[] boxedIndices(int length) {
+        return expected(length).toArray(new Integer[0]);
+    }
+
+    private static int[] indices(int length) {
+        int[] array = new int[length];
+        for (int i = 0; i < length; i++) array[i] = i;
+        return array;
+    }
+
+    @Test
+    public void of_Keeps_every_element_across_chunk_boundaries() {
+        for (int length : LENGTHS) {
+            assertEquals(expected(length), IdeaList.of(boxedIndices(length)).toList());
+            assertEquals(expected(length), IdeaList.of(expected(length)).toList());
+            assertEquals(expected(length), IdeaList.initialiseWith(length, index -> index).toList());
+        }
+    }
+
+    @Test
+    public void of_Lists_from_different_sources_are_equal() {
+        for (int length : LENGTHS) {
+            IdeaList<Integer> chunked = IdeaList.of(boxedIndices(length));
+            IdeaList<Integer> nodeByNode = IdeaList.initialiseWith(length, index -> index).where(index -> true).concatWith(IdeaList.empty());
+            assertEquals(chunked, nodeByNode);
+            assertEquals(nodeByNode, chunked);
+            assertEquals(chunked.hashCode(), nodeByNode.hashCode());
+        }
+    }
+
+    @Test
+    public void tail_Walks_through_chunks_one_element_at_a_time() {
+        IdeaList<Integer> list = IdeaList.of(boxedIndices(IdeaList.CHUNK_SIZE + 1));
+        for (int i = 0; i <= IdeaList.CHUNK_SIZE; i++) {
+            assertEquals(i, list.first().intValue());
+            list = list.tail.value();
+        }
+        assertFalse(list.any());
+    }
+
+    @Test
+    public void get_Returns_elements_in_every_chunk() {
+        int length = 3 * IdeaList.CHUNK_SIZE + 5;
+        IdeaList<Integer> list = IdeaList.initialiseWith(length, index -> index);
+        for (int i = 0; i < length; i++) {
+            assertEquals(i, list.get(i).intValue());
+        }
+        assertThrows(IndexOutOfBoundsException.class, () -> list.get(length));
+    }
+
+    @Test
+    public void map_where_and_mapToInt_Process_every_chunk() {
+        for (int length : LENGTHS) {
+            IdeaList<Integer> list = IdeaList.of(boxedIndices(length));
+            List<Integer> doubled = new ArrayList<>();
+            List<Integer> odd = new ArrayList<>();
+            for (int i = 0; i < length; i++) {
+                doubled.add(i * 2);
+                if (i % 2 == 1) odd.add(i);
+            }
+            assertEquals(doubled, list.map(elem -> elem * 2).toList());
+            assertEquals(odd, list.where(elem -> elem % 2 == 1).toList());
+            assertEquals(expected(length), list.where(elem -> true).toList());
+            assertEquals(doubled, list.mapToInt(elem -> elem * 2).toList());
+        }
+    }
+
+    @Test
+    public void initialiseWith_Evaluates_one_chunk_at_a_time() {
+        var evaluations = new AtomicInteger();
+        IdeaList<Integer> list = IdeaList.initialiseWith(10 * IdeaList.CHUNK_SIZE, index -> {
+            evaluations.incrementAndGet();
+            return index;
+        });
+        assertEquals(0, evaluations.get());
+        assertEquals(0, list.first().intValue());
+        assertEquals(IdeaList.CHUNK_SIZE, evaluations.get());
+        assertEquals(IdeaList.CHUNK_SIZE, list.get(IdeaList.CHUNK_SIZE).intValue());
+        assertEquals(2 * IdeaList.CHUNK_SIZE, evaluations.get());
+    }
+
+    @Test
+    public void of_Reads_iterable_one_chunk_at_a_time() {
+        var reads = new AtomicInteger();
+        Iterable<Integer> source = () -> new Iterator<>() {
+            private int next = 0;
+
+            @Override
+            public boolean hasNext() {
+                return true;
+            }
+
+            @Override
+            public Integer next() {
+                reads.incrementAndGet();
+                return next++;
+            }
+        };
+        IdeaList<Integer> infinite = IdeaList.of(source);
+        assertEquals(IdeaList.CHUNK_SIZE, reads.get());
+        assertEquals(IdeaList.CHUNK_SIZE + 1, infinite.get(IdeaList.CHUNK_SIZE + 1).intValue());
+        assertEquals(2 * IdeaList.CHUNK_SIZE, reads.get());
+    }
+
+    @Test
+    public void IntIdeaList_Keeps_every_element_across_chunk_boundaries() {
+        for (int length : LENGTHS) {
+            List<Integer> odd = new ArrayList<>();
+            for (int i = 1; i < length; i += 2) odd.add(i);
+
+            IntIdeaList fromArray = IntIdeaList.of(indices(length));
+            assertEquals(expected(length), fromArray.toList());
+            assertEquals(expected(length), IntIdeaList.of(expected(length)).toList());
+            assertEquals(expected(length), IntIdeaList.initialiseWith(length, index -> index).toList());
+            assertEquals(fromArray, IntIdeaList.initialiseWith(length, index -> index).where(index -> true));
+            assertEquals(odd, fromArray.where(elem -> elem % 2 == 1).toList());
+            assertEquals(expected(length), fromArray.map(elem -> elem - 1).map(elem -> elem + 1).toList());
+            assertEquals(expected(length), fromArray.mapToObj(elem -> elem).toList());
+        }
+    }
+}
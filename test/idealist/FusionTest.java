@@ -0,0 +1,175 @@
+package idealist;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class FusionTest {
+    private static final int LENGTH = 3 * IdeaList.CHUNK_SIZE + 5;
+
+    private static IdeaList<Integer> indices() {
+        return IdeaList.initialiseWith(LENGTH, index -> index);
+    }
+
+    @Test
+    public void map_where_and_mapToInt_Return_the_same_elements_when_chained() {
+        List<Integer> expected = new ArrayList<>();
+        for (int i = 0; i < LENGTH; i++) {
+            if ((i + 1) % 3 != 0) expected.add((i + 1) * 2 - 1);
+        }
+        IntIdeaList chained = indices()
+                .map(elem -> elem + 1)
+                .where(elem -> elem % 3 != 0)
+                .map(elem -> elem * 2)
+                .mapToInt(elem -> elem - 1);
+        assertEquals(expected, chained.toList());
+        assertEquals(expected, chained.mapToObj(elem -> elem).where(elem -> true).toList());
+    }
+
+    @Test
+    public void map_Evaluates_nothing_until_elements_are_needed() {
+        var evaluations = new AtomicInteger();
+        IdeaList<Integer> chained = indices()
+                .map(elem -> evaluations.incrementAndGet())
+                .map(elem -> elem * 2)
+                .mapToInt(elem -> elem)
+                .map(elem -> elem + 1)
+                .mapToObj(elem -> elem);
+        assertEquals(0, evaluations.get());
+        chained.first();
+        assertTrue(evaluations.get() <= IdeaList.CHUNK_SIZE);
+    }
+
+    @Test
+    public void where_Evaluates_only_up_to_the_chunk_of_the_first_match() {
+        var evaluations = new AtomicInteger();
+        IdeaList<Integer> filtered = indices()
+                .map(elem -> {
+                    evaluations.incrementAndGet();
+                    return elem;
+                })
+                .where(elem -> elem >= IdeaList.CHUNK_SIZE);
+        assertEquals(IdeaList.CHUNK_SIZE, filtered.first().intValue());
+        assertEquals(2 * IdeaList.CHUNK_SIZE, evaluations.get());
+    }
+
+    @Test
+    public void map_Evaluates_every_element_once_when_chained() {
+        var evaluations = new AtomicInteger();
+        IdeaList<Integer> chained = indices()
+                .map(elem -> {
+                    evaluations.incrementAndGet();
+                    return elem;
+                })
+                .where(elem -> elem % 2 == 0)
+                .map(elem -> elem + 1);
+        chained.forEach(__ -> {});
+        chained.forEach(__ -> {});
+        assertEquals(LENGTH, evaluations.get());
+    }
+
+    @Test
+    public void map_where_and_mapToInt_Build_one_node_per_chunk_of_a_chain() {
+        var evaluations = new AtomicInteger();
+        IntIdeaList chained = indices()
+                .map(elem -> {
+                    evaluations.incrementAndGet();
+                    return elem + 1;
+                })
+                .where(elem -> elem % 3 != 0)
+                .map(elem -> elem * 2)
+                .mapToInt(elem -> elem);
+        int nodes = 0;
+        for (IntIdeaList node = chained; node.any(); node = node.afterSegment()) {
+            assertTrue(node.segmentLength() <= IdeaList.CHUNK_SIZE);
+            nodes++;
+        }
+        assertEquals((LENGTH + IdeaList.CHUNK_SIZE - 1) / IdeaList.CHUNK_SIZE, nodes);
+        assertEquals(LENGTH, evaluations.get());
+    }
+
+    @Test
+    public void map_Evaluates_every_element_once_when_both_lists_are_read() {
+        var evaluations = new AtomicInteger();
+        IdeaList<Integer> mapped = indices().map(elem -> {
+            evaluations.incrementAndGet();
+            return elem;
+        });
+        IdeaList<Integer> doubled = mapped.map(elem -> elem * 2);
+        assertEquals(indices().map(elem -> elem * 2), doubled);
+        assertEquals(indices(), mapped);
+        assertEquals(LENGTH, evaluations.get());
+
+        // The other way around
+        evaluations.set(0);
+        IdeaList<Integer> filtered = indices().map(elem -> {
+            evaluations.incrementAndGet();
+            return elem;
+        }).where(elem -> elem % 2 == 0);
+        IdeaList<Integer> incremented = filtered.map(elem -> elem + 1);
+        assertEquals(indices().where(elem -> elem % 2 == 0), filtered);
+        assertEquals(indices().where(elem -> elem % 2 == 0).map(elem -> elem + 1), incremented);
+        assertEquals(LENGTH, evaluations.get());
+    }
+
+    @Test
+    public void IntIdeaList_map_Evaluates_every_element_once_when_both_lists_are_read() {
+        var evaluations = new AtomicInteger();
+        IntIdeaList mapped = IntIdeaList.initialiseWith(LENGTH, index -> index).map(elem -> {
+            evaluations.incrementAndGet();
+            return elem;
+        });
+        IdeaList<Integer> boxed = mapped.mapToObj(elem -> elem);
+        IntIdeaList doubled = mapped.map(elem -> elem * 2);
+        assertEquals(indices(), boxed);
+        assertEquals(indices().map(elem -> elem * 2).toList(), doubled.toList());
+        assertEquals(indices().toList(), mapped.toList());
+        assertEquals(LENGTH, evaluations.get());
+    }
+
+    @Test
+    public void map_Reuses_elements_of_an_evaluated_list() {
+        var evaluations = new AtomicInteger();
+        IdeaList<Integer> mapped = indices().map(elem -> {
+            evaluations.incrementAndGet();
+            return elem;
+        });
+        mapped.forEach(__ -> {});
+        assertEquals(indices().map(elem -> elem * 2), mapped.map(elem -> elem * 2));
+        assertEquals(LENGTH, evaluations.get());
+    }
+
+    @Test
+    public void mapIndexed_Provides_correct_indices_when_both_it_and_a_following_operator_are_used() {
+        IdeaList<Integer> indexed = indices().mapIndexed((index, elem) -> index);
+        IdeaList<Integer> doubled = indexed.map(index -> index * 2);
+        assertEquals(indices().map(index -> index * 2), doubled);
+        assertEquals(indices(), indexed);
+    }
+
+    @Test
+    public void whereIndexed_Provides_correct_indices_when_both_it_and_a_following_operator_are_used() {
+        IdeaList<Integer> even = indices().whereIndexed((index, elem) -> index % 2 == 0);
+        IdeaList<Integer> halved = even.map(elem -> elem / 2);
+        assertEquals(IdeaList.initialiseWith((LENGTH + 1) / 2, index -> index), halved);
+        assertEquals(indices().where(elem -> elem % 2 == 0), even);
+    }
+
+    @Test
+    public void IntIdeaList_map_and_where_Return_the_same_elements_when_chained() {
+        List<Integer> expected = new ArrayList<>();
+        for (int i = 0; i < LENGTH; i++) {
+            if (i % 4 == 1) expected.add(i * 3);
+        }
+        IntIdeaList chained = IntIdeaList.initialiseWith(LENGTH, index -> index)
+                .where(elem -> elem % 2 == 1)
+                .map(elem -> elem * 3)
+                .where(elem -> elem % 4 == 3);
+        assertEquals(expected, chained.toList());
+        assertEquals(expected.size(), chained.length());
+    }
+}
@@ -621,15 +621,15 @@ public class IdeaListTest {
 
     @Test
     public void indices_Returns_all_indices_of_this_list_containing_nulls() {
-        assertEquals(Range.from(0).upToAndIncluding(7), IdeaList.of(p6, p5, p4, null, p2, p1, null, null).indices());
+        assertEquals(Range.from(0).upToAndIncluding(7).mapToObj(index -> index), IdeaList.of(p6, p5, p4, null, p2, p1, null, null).indices());
     }
 
     @Test
     public void indices_Returns_all_indices_of_this_list() {
-        assertEquals(Range.from(0).upToAndIncluding(7), integerIdeaList.indices());
-        assertEquals(Range.from(0).upToAndIncluding(5), personIdeaList.indices());
-        assertEquals(Range.from(0).upToAndIncluding(5), dogIdeaList.indices());
-        assertEquals(Range.from(0).upToAndIncluding(6), localDateIdeaList.indices());
+        assertEquals(Range.from(0).upToAndIncluding(7).mapToObj(index -> index), integerIdeaList.indices());
+        assertEquals(Range.from(0).upToAndIncluding(5).mapToObj(index -> index), personIdeaList.indices());
+        assertEquals(Range.from(0).upToAndIncluding(5).mapToObj(index -> index), dogIdeaList.indices());
+        assertEquals(Range.from(0).upToAndIncluding(6).mapToObj(index -> index), localDateIdeaList.indices());
     }
 
     @Test
@@ -0,0 +1,67 @@
+package idealist;
+
+import idealist.tuple.Pair;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class IncrementalSortTest {
+
+    @Test
+    public void lazySortWith_Matches_List_sort_for_every_length() {
+        Random random = new Random(7);
+        for (int length = 0; length <= 70; length++) {
+            List<Integer> elements = new ArrayList<>();
+            for (int i = 0; i < length; i++) elements.add(random.nextInt(20));
+            List<Integer> expected = new ArrayList<>(elements);
+            expected.sort(Comparator.naturalOrder());
+            IdeaList<Integer> sorted = IdeaList.of(elements).lazySortWith(Comparator.naturalOrder());
+            assertEquals(expected, sorted.toList());
+            assertEquals(length, sorted.length());
+        }
+        List<Integer> large = new ArrayList<>();
+        for (int i = 0; i < 100_000; i++) large.add(random.nextInt());
+        List<Integer> expected = new ArrayList<>(large);
+        expected.sort(Comparator.reverseOrder());
+        assertEquals(expected, IdeaList.of(large).lazySortWith(Comparator.reverseOrder()).toList());
+    }
+
+    @Test
+    public void lazySortWith_Is_stable() {
+        Random random = new Random(8);
+        List<Pair<Integer, Integer>> pairs = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) pairs.add(Pair.of(random.nextInt(10), i));
+        List<Pair<Integer, Integer>> expected = new ArrayList<>(pairs);
+        expected.sort(Comparator.comparing(pair -> pair.first));
+        assertEquals(expected, IdeaList.of(pairs).lazySortByAscending(pair -> pair.first).toList());
+        expected.sort(Comparator.comparing(pair -> pair.first, Comparator.reverseOrder()));
+        assertEquals(expected, IdeaList.of(pairs).lazySortByDescending(pair -> pair.first).toList());
+    }
+
+    @Test
+    public void lazySortWith_Sorts_only_as_far_as_the_list_is_read() {
+        Random random = new Random(9);
+        List<Integer> elements = new ArrayList<>();
+        for (int i = 0; i < 100_000; i++) elements.add(random.nextInt());
+        AtomicInteger comparisons = new AtomicInteger();
+        IdeaList<Integer> sorted = IdeaList.of(elements).lazySortWith((left, right) -> {
+            comparisons.incrementAndGet();
+            return Integer.compare(left, right);
+        });
+        assertEquals(0, comparisons.get());
+
+        List<Integer> expected = new ArrayList<>(elements);
+        expected.sort(Comparator.naturalOrder());
+        for (int i = 0; i < 10; i++) {
+            assertEquals(expected.get(i), sorted.get(i));
+        }
+        // A full sort takes about n log n = 1.7M comparisons, the first chunk a small multiple of n
+        assertTrue(comparisons.get() < 500_000, "Comparisons: " + comparisons.get());
+    }
+}
@@ -0,0 +1,72 @@
+package idealist;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Spliterator;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class IntReductionTest {
+    private static final int LENGTH = 3 * IdeaList.CHUNK_SIZE + 5;
+
+    private static int[] values() {
+        int[] values = new int[LENGTH];
+        for (int i = 0; i < LENGTH; i++) values[i] = (i * 37) % 101 - 50;
+        return values;
+    }
+
+    @Test
+    public void Reductions_Agree_for_arrays_chunks_and_single_nodes() {
+        int[] values = values();
+        IntIdeaList array = IntIdeaList.of(values);
+        IntIdeaList chunks = IntIdeaList.initialiseWith(LENGTH, index -> values[index]);
+        IntIdeaList filtered = chunks.where(elem -> true);
+        IntIdeaList single = array.tail.value();
+
+        int sum = 0, max = Integer.MIN_VALUE, min = Integer.MAX_VALUE, negative = 0;
+        for (int value : values) {
+            sum += value;
+            max = Math.max(max, value);
+            min = Math.min(min, value);
+            if (value < 0) negative++;
+        }
+        for (IntIdeaList list : new IntIdeaList[] {array, chunks, filtered}) {
+            assertEquals(sum, list.sum());
+            assertEquals(max, list.max());
+            assertEquals(min, list.min());
+            assertEquals(negative, list.count(elem -> elem < 0));
+        }
+        assertEquals(sum - values[0], single.sum());
+        assertEquals(0, IntIdeaList.empty().sum());
+        assertEquals(0, IntIdeaList.empty().count(elem -> true));
+        assertThrows(UnsupportedOperationException.class, () -> IntIdeaList.empty().max());
+        assertThrows(UnsupportedOperationException.class, () -> IntIdeaList.empty().min());
+    }
+
+    @Test
+    public void equals_Compares_lists_with_different_segments() {
+        int[] values = values();
+        IntIdeaList array = IntIdeaList.of(values);
+        IntIdeaList chunks = IntIdeaList.initialiseWith(LENGTH, index -> values[index]);
+        assertEquals(array, chunks);
+        assertEquals(chunks, array);
+        assertEquals(array.tail.value(), chunks.tail.value());
+        assertEquals(chunks.where(elem -> elem != 0), array.where(elem -> elem != 0));
+        assertEquals(IntIdeaList.progression(0, 3, LENGTH), IntIdeaList.initialiseWith(LENGTH, index -> 3 * index));
+
+        assertNotEquals(array, chunks.tail.value());
+        assertNotEquals(array.tail.value(), chunks);
+        assertNotEquals(array, chunks.map(elem -> elem == values[LENGTH - 1] ? elem + 1 : elem));
+        assertNotEquals(IntIdeaList.of(1, 2), IntIdeaList.of(1, 2, 3));
+        assertEquals(IntIdeaList.empty(), IntIdeaList.of());
+    }
+
+    @Test
+    public void of_Array_Is_one_segment_that_splits_anywhere() {
+        Spliterator.OfInt rest = IntIdeaList.of(values()).spliterator();
+        Spliterator.OfInt prefix = rest.trySplit();
+        assertEquals(LENGTH / 2, prefix.estimateSize());
+        assertEquals(LENGTH - LENGTH / 2, rest.estimateSize());
+        assertEquals(IntIdeaList.of(values()).sum(), IntIdeaList.of(values()).parallelSum());
+    }
+}
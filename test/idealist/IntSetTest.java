@@ -0,0 +1,77 @@
+package idealist;
+
+import idealist.tuple.IntIntPair;
+import idealist.tuple.IntObjPair;
+import org.junit.jupiter.api.Test;
+
+import java.util.LinkedHashSet;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class IntSetTest {
+
+    @Test
+    public void IntHashSet_Keeps_elements_in_the_order_they_were_added() {
+        var set = new IntHashSet();
+        Set<Integer> expected = new LinkedHashSet<>();
+        Random random = new Random(7);
+        for (int i = 0; i < 10_000; i++) {
+            int element = random.nextInt(3000) - 1500;
+            assertEquals(expected.add(element), set.add(element));
+        }
+        assertEquals(expected.size(), set.size());
+        int index = 0;
+        for (int element : expected) {
+            assertEquals(element, set.get(index));
+            assertEquals(index++, set.indexOf(element));
+        }
+        assertEquals(expected.contains(0), set.contains(0));
+        assertFalse(set.contains(1500));
+        assertEquals(-1, set.indexOf(Integer.MIN_VALUE));
+    }
+
+    @Test
+    public void distinct_Emits_elements_the_first_time_they_are_seen() {
+        IntIdeaList repeating = IntIdeaList.initialiseWith(Integer.MAX_VALUE, index -> index % 7 * 100);
+        IntIdeaList distinct = repeating.distinct();
+        assertEquals(0, distinct.first());
+        assertEquals(600, distinct.get(6));
+        assertEquals(IntIdeaList.of(3, 1, 2, 0), IntIdeaList.of(3, 1, 3, 2, 1, 0, 0).distinct());
+        assertEquals(IntIdeaList.empty(), IntIdeaList.empty().distinct());
+
+    }
+
+    @Test
+    public void Set_operations_Return_every_element_once() {
+        IntIdeaList list = IntIdeaList.of(5, 1, 5, 3, 9, 1);
+        IntIdeaList other = IntIdeaList.of(3, 4, 4, 5);
+        assertEquals(IntIdeaList.of(5, 1, 3, 9, 4), list.union(other));
+        assertEquals(IntIdeaList.of(5, 3), list.intersect(other));
+        assertEquals(IntIdeaList.of(1, 9), list.except(other));
+        assertEquals(IntIdeaList.of(3, 4, 5), IntIdeaList.empty().union(other));
+        assertEquals(IntIdeaList.empty(), list.intersect(IntIdeaList.empty()));
+        assertEquals(IntIdeaList.of(5, 1, 3, 9), list.except(IntIdeaList.empty()));
+
+        IntIdeaList evens = IntIdeaList.progression(0, 2, 1000);
+        IntIdeaList threes = IntIdeaList.progression(0, 3, 1000);
+        assertEquals(IntIdeaList.progression(0, 6, 334), evens.intersect(threes));
+        assertEquals(1000 + 1000 - 334, evens.union(threes).length());
+    }
+
+    @Test
+    public void countBy_and_groupingBy_Keep_the_order_keys_are_first_seen() {
+        IntIdeaList list = IntIdeaList.initialiseWith(100, index -> index);
+        assertEquals(IdeaList.of(IntIntPair.of(0, 34), IntIntPair.of(1, 33), IntIntPair.of(2, 33)), list.countBy(elem -> elem % 3));
+        assertEquals(IdeaList.empty(), IntIdeaList.empty().countBy(elem -> elem));
+
+        IdeaList<IntObjPair<IntIdeaList>> groups = IntIdeaList.of(14, 3, 25, 7, 12).groupingBy(elem -> elem / 10);
+        assertEquals(IdeaList.of(
+                IntObjPair.of(1, IntIdeaList.of(14, 12)),
+                IntObjPair.of(0, IntIdeaList.of(3, 7)),
+                IntObjPair.of(2, IntIdeaList.of(25))
+        ), groups);
+        assertEquals(100, list.groupingBy(elem -> elem).length());
+    }
+}
@@ -0,0 +1,71 @@
+package idealist;
+
+import idealist.range.Range;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class IntStepRangeTest {
+
+    @Test
+    public void step_Returns_every_step_th_integer() {
+        assertEquals(IntIdeaList.of(-6, -3, 0, 3, 6), Range.from(-6).step(3).upTo(8));
+        assertEquals(IntIdeaList.of(-6, -3, 0, 3, 6), Range.from(-6).step(3).upTo(9).map(elem -> elem));
+        assertEquals(IntIdeaList.of(-6, -3, 0, 3, 6, 9), Range.from(-6).step(3).upToAndIncluding(9));
+        assertEquals(IntIdeaList.of(10, 8, 6), Range.from(10).step(2).downTo(5));
+        assertEquals(IntIdeaList.of(10, 8, 6, 4), Range.from(10).step(2).downToAndIncluding(4));
+        assertEquals(IntIdeaList.of(5, 6, 7), Range.from(5).step(1).length(3));
+    }
+
+    @Test
+    public void step_Returns_empty_list_if_range_is_empty() {
+        assertEquals(IntIdeaList.empty(), Range.from(7).step(2).upTo(7));
+        assertEquals(IntIdeaList.empty(), Range.from(7).step(2).upTo(-5));
+        assertEquals(IntIdeaList.empty(), Range.from(7).step(2).downTo(7));
+        assertEquals(IntIdeaList.empty(), Range.from(2).step(1).length(-6));
+    }
+
+    @Test
+    public void step_Throws_exception_if_step_not_positive() {
+        assertThrows(IllegalArgumentException.class, () -> Range.from(0).step(0));
+        assertThrows(IllegalArgumentException.class, () -> Range.from(0).step(-1));
+    }
+
+    @Test
+    public void step_Calculates_aggregates_without_walking_the_range() {
+        IntIdeaList range = Range.from(0).step(1).upTo(100_000_000);
+        assertEquals(100_000_000, range.length());
+        assertEquals((int) (100_000_000L * 99_999_999L / 2), range.sum());
+        assertEquals(99_999_999, range.get(-1));
+        assertEquals(12_345, range.get(12_345));
+        assertEquals(0, range.min());
+        assertEquals(99_999_999, range.max());
+        assertTrue(range.contains(77_777_777));
+        assertFalse(range.contains(100_000_000));
+        assertFalse(range.contains(-1));
+    }
+
+    @Test
+    public void step_Aggregates_match_the_elements() {
+        IntIdeaList range = Range.from(Integer.MAX_VALUE - 10).step(1_000_003).downToAndIncluding(Integer.MIN_VALUE);
+        assertEquals(range.toList().stream().mapToInt(Integer::intValue).sum(), range.sum());
+        assertEquals(range.reduce(Math::max), range.max());
+        assertEquals(range.reduce(Math::min), range.min());
+        assertEquals(range.toList().contains(Integer.MAX_VALUE - 24), range.contains(Integer.MAX_VALUE - 24));
+        assertTrue(range.contains(Integer.MAX_VALUE - 2_000_016));
+        assertFalse(range.contains(Integer.MAX_VALUE - 2_000_015));
+        IntIdeaList wrapping = IntIdeaList.progression(Integer.MAX_VALUE - 1, 1, 4);
+        assertTrue(wrapping.contains(Integer.MIN_VALUE + 1));
+        assertEquals(Integer.MIN_VALUE + 1, wrapping.get(3));
+    }
+
+    @Test
+    public void progression_max_and_min_Scan_the_elements_if_the_progression_wraps_around() {
+        IntIdeaList up = IntIdeaList.progression(Integer.MAX_VALUE - 1, 1, 3);
+        assertEquals(Integer.MAX_VALUE, up.max());
+        assertEquals(Integer.MIN_VALUE, up.min());
+        IntIdeaList down = IntIdeaList.progression(Integer.MIN_VALUE + 1, -2, 3);
+        assertEquals(Integer.MAX_VALUE, down.max());
+        assertEquals(Integer.MIN_VALUE + 1, down.min());
+    }
+}
@@ -0,0 +1,57 @@
+package idealist;
+
+import idealist.tuple.IntIntPair;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class IntZipTest {
+    private static final int LENGTH = 3 * IdeaList.CHUNK_SIZE + 5;
+
+    @Test
+    public void zipWith_Combines_lists_with_different_segments() {
+        IntIdeaList chunks = IntIdeaList.initialiseWith(LENGTH, index -> index);
+        IntIdeaList odd = IntIdeaList.initialiseWith(2 * LENGTH, index -> index).where(elem -> elem % 2 == 1);
+        IntIdeaList range = IntIdeaList.progression(0, 10, LENGTH - 7);
+
+        assertEquals(IntIdeaList.initialiseWith(LENGTH, index -> 3 * index + 1), chunks.zipWith(odd, Integer::sum));
+        assertEquals(IntIdeaList.initialiseWith(LENGTH - 7, index -> 11 * index), range.zipWith(chunks, Integer::sum));
+        assertEquals(LENGTH - 7, range.zipWith(chunks, Integer::sum).length());
+        assertEquals(LENGTH - 7, chunks.zipWith(range).length());
+        assertEquals(IntIdeaList.empty(), chunks.zipWith(IntIdeaList.empty(), Integer::sum));
+        assertEquals(IdeaList.empty(), IntIdeaList.empty().zipWith(chunks));
+
+        List<IntIntPair> expected = new ArrayList<>();
+        for (int i = 0; i < LENGTH; i++) expected.add(IntIntPair.of(i, 2 * i + 1));
+        assertEquals(expected, chunks.zipWith(odd).toList());
+        assertEquals(IntIntPair.of(5, 11), chunks.zipWith(odd).get(5));
+    }
+
+    @Test
+    public void zipWith_Evaluates_one_chunk_at_a_time() {
+        AtomicInteger calls = new AtomicInteger();
+        IntIdeaList list = IntIdeaList.initialiseWith(LENGTH, index -> index);
+        IntIdeaList zipped = list.zipWith(list, (elem, other) -> {
+            calls.incrementAndGet();
+            return elem * other;
+        });
+        assertEquals(0, calls.get());
+        assertEquals(LENGTH, zipped.length());
+        assertEquals(IdeaList.CHUNK_SIZE * IdeaList.CHUNK_SIZE, zipped.get(IdeaList.CHUNK_SIZE));
+        assertEquals(IdeaList.CHUNK_SIZE, calls.get());
+    }
+
+    @Test
+    public void mapIndexed_Passes_the_index_first() {
+        IntIdeaList list = IntIdeaList.of(5, 6, 7);
+        assertEquals(IntIdeaList.of(0, 6, 14), list.mapIndexed((index, elem) -> index * elem));
+        assertEquals(IntIdeaList.of(5, 5, 5), list.mapIndexed((index, elem) -> elem - index));
+        assertEquals(IntIdeaList.initialiseWith(LENGTH, index -> 2 * index),
+                IntIdeaList.initialiseWith(LENGTH, index -> index).where(elem -> true).mapIndexed(Integer::sum));
+        assertEquals(IntIdeaList.empty(), IntIdeaList.empty().mapIndexed(Integer::sum));
+    }
+}
@@ -0,0 +1,291 @@
+package idealist;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LazyConcurrencyTest {
+    private static final int THREADS = 8;
+    private static final int ROUNDS = 2_000;
+
+    // Starts all tasks at the same moment to maximise contention and returns their results
+    private static <T> List<T> race(Callable<T> task) {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            CountDownLatch startingGate = new CountDownLatch(1);
+            List<Future<T>> futures = new ArrayList<>();
+            for (int i = 0; i < THREADS; i++) {
+                futures.add(executor.submit(() -> {
+                    startingGate.await();
+                    return task.call();
+                }));
+            }
+            startingGate.countDown();
+
+            List<T> results = new ArrayList<>();
+            for (Future<T> future : futures) {
+                results.add(future.get(30, TimeUnit.SECONDS));
+            }
+            return results;
+        } catch (InterruptedException | ExecutionException | TimeoutException e) {
+            throw new AssertionError(e);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static void assertAllSame(List<?> results) {
+        for (Object result : results) {
+            assertSame(results.get(0), result);
+        }
+    }
+
+    @Test
+    public void of_AT_MOST_ONCE_Evaluates_function_exactly_once_when_raced() {
+        for (int round = 0; round < ROUNDS; round++) {
+            var evaluations = new AtomicInteger();
+            Lazy<Object> lazy = Lazy.of(() -> {
+                evaluations.incrementAndGet();
+                return new Object();
+            }, LazyThreadSafetyMode.AT_MOST_ONCE);
+
+            assertAllSame(race(lazy::value));
+            assertEquals(1, evaluations.get());
+        }
+    }
+
+    @Test
+    public void of_PUBLICATION_Returns_the_same_value_to_every_thread_when_raced() {
+        for (int round = 0; round < ROUNDS; round++) {
+            var evaluations = new AtomicInteger();
+            Lazy<Object> lazy = Lazy.of(() -> {
+                evaluations.incrementAndGet();
+                return new Object();
+            }, LazyThreadSafetyMode.PUBLICATION);
+
+            List<Object> results = race(lazy::value);
+            assertAllSame(results);
+            assertSame(results.get(0), lazy.value());
+            assertTrue(evaluations.get() >= 1 && evaluations.get() <= THREADS);
+        }
+    }
+
+    @Test
+    public void of_AT_MOST_ONCE_Publishes_null_values() {
+        Lazy<Object> lazy = Lazy.of(() -> null, LazyThreadSafetyMode.AT_MOST_ONCE);
+        race(() -> {
+            assertNull(lazy.value());
+            return true;
+        });
+    }
+
+    @Test
+    public void of_AT_MOST_ONCE_Lets_another_caller_retry_when_function_throws() {
+        var attempts = new AtomicInteger();
+        Lazy<String> lazy = Lazy.of(() -> {
+            if (attempts.getAndIncrement() == 0) throw new IllegalStateException("First attempt fails");
+            return "second attempt";
+        }, LazyThreadSafetyMode.AT_MOST_ONCE);
+
+        assertThrows(IllegalStateException.class, lazy::value);
+        assertEquals("second attempt", lazy.value());
+        assertEquals("second attempt", lazy.value());
+        assertEquals(2, attempts.get());
+    }
+
+    @Test
+    public void of_NONE_Returns_an_unsynchronised_Lazy() {
+        var evaluations = new AtomicInteger();
+        Lazy<Integer> lazy = Lazy.of(evaluations::incrementAndGet, LazyThreadSafetyMode.NONE);
+        assertEquals(1, lazy.value().intValue());
+        assertEquals(1, lazy.value().intValue());
+        assertEquals(1, evaluations.get());
+    }
+
+    @Test
+    public void LazyInt_of_AT_MOST_ONCE_Evaluates_function_exactly_once_when_raced() {
+        for (int round = 0; round < ROUNDS; round++) {
+            var evaluations = new AtomicInteger();
+            LazyInt lazy = LazyInt.of(evaluations::incrementAndGet, LazyThreadSafetyMode.AT_MOST_ONCE);
+
+            for (int result : race(lazy::value)) {
+                assertEquals(1, result);
+            }
+            assertEquals(1, evaluations.get());
+        }
+    }
+
+    @Test
+    public void LazyInt_of_PUBLICATION_Returns_the_same_value_to_every_thread_when_raced() {
+        for (int round = 0; round < ROUNDS; round++) {
+            var evaluations = new AtomicInteger();
+            LazyInt lazy = LazyInt.of(evaluations::incrementAndGet, LazyThreadSafetyMode.PUBLICATION);
+
+            List<Integer> results = race(lazy::value);
+            for (int result : results) {
+                assertEquals(results.get(0).intValue(), result);
+            }
+            assertEquals(results.get(0).intValue(), lazy.value());
+        }
+    }
+
+    @Test
+    public void threadSafe_Evaluates_every_element_once_when_list_is_iterated_by_many_threads() {
+        int length = 10_000;
+        var evaluations = new AtomicIntegerArray(length);
+        IdeaList<Integer> shared = IdeaList.initialiseWith(length, index -> index)
+                .map(index -> {
+                    evaluations.incrementAndGet(index);
+                    return index * 2;
+                })
+                .threadSafe();
+
+        for (long sum : race(() -> shared.reduce(0L, (acc, elem) -> acc + elem))) {
+            assertEquals((long) length * (length - 1), sum);
+        }
+        for (int i = 0; i < length; i++) {
+            assertEquals(1, evaluations.get(i));
+        }
+    }
+
+    @Test
+    public void threadSafe_Runs_the_chunk_initialiser_once_per_element_under_contention() {
+        int length = 2 * IdeaList.CHUNK_SIZE;
+        List<Integer> expected = IdeaList.initialiseWith(length, index -> index).toList();
+        for (int round = 0; round < ROUNDS; round++) {
+            var evaluations = new AtomicInteger();
+            IdeaList<Integer> shared = IdeaList.initialiseWith(length, index -> {
+                evaluations.incrementAndGet();
+                return index;
+            }).threadSafe();
+
+            for (List<Integer> elements : race(shared::toList)) {
+                assertEquals(expected, elements);
+            }
+            assertEquals(length, evaluations.get());
+        }
+    }
+
+    @Test
+    public void threadSafe_Nodes_of_one_chunk_never_evaluate_it_twice() {
+        var entered = new CountDownLatch(2);
+        var evaluations = new AtomicInteger();
+        IdeaList<Integer> shared = IdeaList.initialiseWith(2, index -> {
+            if (index == 0) {
+                evaluations.incrementAndGet();
+                entered.countDown();
+                // Waits for a second evaluation of the chunk, which can only start if the nodes race on it
+                try {
+                    entered.await(200, TimeUnit.MILLISECONDS);
+                } catch (InterruptedException e) {
+                    throw new AssertionError(e);
+                }
+            }
+            return index;
+        }).threadSafe();
+        IdeaList<Integer> second = shared.tail.value();
+
+        var threadCount = new AtomicInteger();
+        for (int element : race(() -> threadCount.getAndIncrement() % 2 == 0 ? shared.value.value() : second.value.value() - 1)) {
+            assertEquals(0, element);
+        }
+        assertEquals(1, evaluations.get());
+    }
+
+    @Test
+    public void threadSafe_PUBLICATION_Returns_every_element_to_every_thread_under_contention() {
+        int length = 2 * IdeaList.CHUNK_SIZE;
+        List<Integer> expected = IdeaList.initialiseWith(length, index -> index).toList();
+        for (int round = 0; round < ROUNDS; round++) {
+            IdeaList<Integer> shared = IdeaList.initialiseWith(length, index -> index).threadSafe(LazyThreadSafetyMode.PUBLICATION);
+            Callable<List<Integer>> readNodes = () -> {
+                List<Integer> elements = new ArrayList<>();
+                for (IdeaList<Integer> node = shared; node.any(); node = node.tail.value()) elements.add(node.value.value());
+                return elements;
+            };
+            for (List<Integer> elements : race(readNodes)) {
+                assertEquals(expected, elements);
+            }
+        }
+    }
+
+    @Test
+    public void threadSafe_PUBLICATION_Reads_a_source_that_is_not_idempotent_once() {
+        int length = 2_000;
+        List<Integer> expected = IdeaList.initialiseWith(length, index -> index).toList();
+        for (int round = 0; round < ROUNDS; round++) {
+            // The chunks of an iterator can only be read once
+            IdeaList<Integer> shared = IdeaList.of(new LinkedList<>(expected)).threadSafe(LazyThreadSafetyMode.PUBLICATION);
+            for (int result : race(shared::length)) {
+                assertEquals(length, result);
+            }
+            assertEquals(expected, shared.toList());
+        }
+    }
+
+    @Test
+    public void IntIdeaList_threadSafe_Runs_the_chunk_initialiser_once_per_element_under_contention() {
+        int length = 2 * IdeaList.CHUNK_SIZE;
+        for (int round = 0; round < ROUNDS; round++) {
+            var evaluations = new AtomicInteger();
+            IntIdeaList shared = IntIdeaList.initialiseWith(length, index -> {
+                evaluations.incrementAndGet();
+                return index;
+            }).threadSafe();
+
+            for (int sum : race(shared::sum)) {
+                assertEquals(length * (length - 1) / 2, sum);
+            }
+            assertEquals(length, evaluations.get());
+        }
+    }
+
+    @Test
+    public void threadSafe_Returns_the_same_nodes_to_every_thread() {
+        IdeaList<Integer> shared = IdeaList.initialiseWith(1_000, index -> index).threadSafe(LazyThreadSafetyMode.PUBLICATION);
+
+        Supplier<List<IdeaList<Integer>>> collectNodes = () -> {
+            List<IdeaList<Integer>> nodes = new ArrayList<>();
+            for (IdeaList<Integer> node = shared; node.any(); node = node.tail.value()) nodes.add(node);
+            return nodes;
+        };
+        List<List<IdeaList<Integer>>> results = race(collectNodes::get);
+        for (List<IdeaList<Integer>> nodes : results) {
+            assertEquals(results.get(0).size(), nodes.size());
+            for (int i = 0; i < nodes.size(); i++) {
+                assertSame(results.get(0).get(i), nodes.get(i));
+            }
+        }
+    }
+
+    @Test
+    public void threadSafe_Returns_same_list_if_mode_is_NONE() {
+        IdeaList<Integer> list = IdeaList.of(1, 2, 3);
+        assertSame(list, list.threadSafe(LazyThreadSafetyMode.NONE));
+    }
+
+    @Test
+    public void IntIdeaList_threadSafe_Evaluates_every_element_once_when_list_is_iterated_by_many_threads() {
+        int length = 10_000;
+        var evaluations = new AtomicIntegerArray(length);
+        IntIdeaList shared = IntIdeaList.initialiseWith(length, index -> {
+            evaluations.incrementAndGet(index);
+            return index;
+        }).threadSafe();
+
+        for (int sum : race(shared::sum)) {
+            assertEquals(length * (length - 1) / 2, sum);
+        }
+        for (int i = 0; i < length; i++) {
+            assertEquals(1, evaluations.get(i));
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package idealist;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LazyTest {
+
+    @Test
+    public void evaluated_Returns_the_given_value() {
+        assertEquals("value", Lazy.evaluated("value").value());
+        assertNull(Lazy.evaluated(null).value());
+        assertEquals("Lazy{ 5 }", Lazy.evaluated(5).toString());
+        assertEquals(-3, LazyInt.evaluated(-3).value());
+    }
+
+    @Test
+    public void of_Only_calls_the_function_once() {
+        int[] calls = {0};
+        Lazy<Integer> lazy = Lazy.of(() -> ++calls[0]);
+        LazyInt lazyInt = LazyInt.of(() -> ++calls[0]);
+        assertEquals(0, calls[0]);
+        assertEquals(1, lazy.value().intValue());
+        assertEquals(1, lazy.value().intValue());
+        assertEquals(2, lazyInt.value());
+        assertEquals(2, lazyInt.value());
+        assertEquals(2, calls[0]);
+    }
+}
@@ -0,0 +1,69 @@
+package idealist;
+
+import idealist.range.Range;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LengthTest {
+    private static final int LENGTH = 3 * IdeaList.CHUNK_SIZE + 5;
+
+    // Evaluating any element fails, so the length must be known without walking the list
+    private static IdeaList<Integer> unevaluable(int length) {
+        return IdeaList.initialiseWith(length, index -> {
+            throw new AssertionError("Element " + index + " was evaluated");
+        });
+    }
+
+    @Test
+    public void length_Is_known_for_lists_with_a_size_known_up_front() {
+        assertEquals(Integer.MAX_VALUE, unevaluable(Integer.MAX_VALUE).length());
+        assertEquals(LENGTH, IdeaList.of(new Integer[LENGTH]).length());
+        assertEquals(LENGTH, IntIdeaList.of(new int[LENGTH]).length());
+        assertEquals(LENGTH, IntIdeaList.initialiseWith(LENGTH, index -> index).length());
+        assertEquals(Integer.MAX_VALUE, Range.from(0).upTo(Integer.MAX_VALUE).length());
+        assertEquals(0, IdeaList.empty().length());
+    }
+
+    @Test
+    public void length_Is_known_for_map_withIndex_and_zipWith_over_sized_lists() {
+        IdeaList<Integer> list = unevaluable(LENGTH);
+        assertEquals(LENGTH, list.map(elem -> elem + 1).length());
+        assertEquals(LENGTH, list.map(elem -> elem + 1).map(String::valueOf).length());
+        assertEquals(LENGTH, list.mapToInt(elem -> elem).map(elem -> elem * 2).length());
+        assertEquals(LENGTH, list.mapToInt(elem -> elem).mapToObj(elem -> elem).length());
+        assertEquals(LENGTH, list.withIndex().length());
+        assertEquals(LENGTH - 1, list.tail.value().length());
+        assertEquals(LENGTH - 1, list.lastIndex());
+        assertEquals(LENGTH, list.indices().length());
+    }
+
+    @Test
+    public void zipWith_Knows_the_length_of_the_shortest_list() {
+        IdeaList<Integer> list = IdeaList.initialiseWith(LENGTH, index -> index);
+        IdeaList<Integer> shorter = IdeaList.initialiseWith(LENGTH - 7, index -> index);
+        assertEquals(LENGTH - 7, list.zipWith(shorter).length());
+        assertEquals(LENGTH - 7, shorter.zipWith(list, list).length());
+        assertEquals(LENGTH - 7, list.mapToInt(elem -> elem).zipWith(shorter).length());
+        assertEquals(LENGTH - 8, list.zipWith(shorter).tail.value().length());
+    }
+
+    @Test
+    public void length_Walks_lists_with_unknown_size() {
+        IdeaList<Integer> list = IdeaList.initialiseWith(LENGTH, index -> index);
+        assertEquals(LENGTH / 2 + 1, list.where(elem -> elem % 2 == 0).length());
+        assertEquals(LENGTH / 2, list.where(elem -> elem % 2 == 0).map(elem -> elem + 1).tail.value().length());
+        assertEquals(LENGTH + 3, list.concatWith(IdeaList.of(1, 2, 3)).length());
+        assertEquals(LENGTH, IdeaList.of(list).length());
+        assertEquals(LENGTH, list.zipWith(list.toList()).length());
+        assertEquals(LENGTH / 2 + 1, IntIdeaList.initialiseWith(LENGTH, index -> index).where(elem -> elem % 2 == 0).length());
+    }
+
+    @Test
+    public void get_Supports_negative_indices_on_sized_lists() {
+        IdeaList<Integer> list = IdeaList.initialiseWith(LENGTH, index -> index);
+        assertEquals(LENGTH - 1, list.get(-1).intValue());
+        assertEquals(0, list.get(-LENGTH).intValue());
+        assertThrows(IndexOutOfBoundsException.class, () -> list.get(-LENGTH - 1));
+    }
+}
@@ -0,0 +1,99 @@
+package idealist;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MaterializationTest {
+    // Long enough for the buffers of a list with an unknown length to double a few times
+    private static final int LENGTH = 50 * IdeaList.CHUNK_SIZE + 5;
+
+    private static List<Integer> expected(int length) {
+        List<Integer> expected = new ArrayList<>();
+        for (int i = 0; i < length; i++) expected.add(i);
+        return expected;
+    }
+
+    @Test
+    public void toArray_and_toList_Evaluate_every_element_once() {
+        var calls = new AtomicInteger();
+        IdeaList<Integer> unknownLength = IdeaList.initialiseWith(LENGTH, index -> {
+            calls.incrementAndGet();
+            return index;
+        }).where(elem -> true);
+        assertArrayEquals(expected(LENGTH).toArray(new Integer[0]), unknownLength.toArray(Integer.class));
+        assertEquals(LENGTH, calls.get());
+        assertEquals(expected(LENGTH), unknownLength.toList());
+        assertEquals(LENGTH, calls.get());
+    }
+
+    @Test
+    public void toArray_Switches_to_the_result_once_the_rest_has_a_known_length() {
+        IdeaList<Integer> filtered = IdeaList.initialiseWith(LENGTH, index -> index).where(elem -> elem < 100);
+        IdeaList<Integer> list = filtered.concatWith(IdeaList.initialiseWith(LENGTH - 100, index -> index + 100));
+        assertEquals(expected(LENGTH), list.toList());
+        assertArrayEquals(expected(LENGTH).toArray(new Integer[0]), list.toArray(Integer.class));
+
+        IdeaList<String> strings = IdeaList.of(IdeaList.of("a", "b", "c"));
+        assertArrayEquals(new String[] {"a", "b", "c"}, strings.toArray(String.class));
+        assertArrayEquals(new String[0], IdeaList.<String>empty().toArray(String.class));
+        assertEquals(List.of(), IdeaList.empty().toList());
+    }
+
+    @Test
+    public void toList_Returns_a_mutable_list() {
+        List<Integer> list = IdeaList.of(1, 2, 3).toList();
+        list.add(4);
+        assertEquals(List.of(1, 2, 3, 4), list);
+    }
+
+    @Test
+    public void IntIdeaList_toArray_Copies_every_kind_of_segment() {
+        IntIdeaList list = IntIdeaList.initialiseWith(LENGTH, index -> index).where(elem -> elem % 3 != 0);
+        int[] expected = expected(LENGTH).stream().mapToInt(Integer::intValue).filter(elem -> elem % 3 != 0).toArray();
+        assertArrayEquals(expected, list.toArray());
+        assertArrayEquals(expected, IntIdeaList.of(expected).toArray());
+        assertArrayEquals(new int[] {3, 6, 9}, IntIdeaList.progression(3, 3, 3).toArray());
+        assertEquals(IntIdeaList.of(expected).toList(), list.toList());
+        assertArrayEquals(new int[0], IntIdeaList.empty().toArray());
+    }
+
+    @Test
+    public void LongIdeaList_toArray_Copies_every_kind_of_segment() {
+        LongIdeaList list = LongIdeaList.initialiseWith(LENGTH, index -> index).where(elem -> elem % 3 != 0);
+        long[] expected = expected(LENGTH).stream().mapToLong(Integer::longValue).filter(elem -> elem % 3 != 0).toArray();
+        assertArrayEquals(expected, list.toArray());
+        assertArrayEquals(expected, LongIdeaList.of(expected).toArray());
+        assertArrayEquals(new long[] {3L, 6L, 9L}, LongIdeaList.progression(3L, 3L, 3).toArray());
+        assertArrayEquals(new long[0], LongIdeaList.empty().toArray());
+    }
+
+    @Test
+    public void CharIdeaList_toArray_Copies_every_kind_of_segment() {
+        CharIdeaList list = CharIdeaList.initialiseWith(LENGTH, index -> (char) index).where(elem -> elem % 3 != 0);
+        StringBuilder expected = new StringBuilder();
+        for (int i = 0; i < LENGTH; i++) {
+            if (i % 3 != 0) expected.append((char) i);
+        }
+        assertEquals(expected.toString(), list.asString());
+        assertEquals(expected.toString(), CharIdeaList.of(list.toList()).asString());
+        assertArrayEquals(new char[] {'a', 'c', 'e'}, CharIdeaList.progression('a', 2, 3).toArray());
+        assertArrayEquals(new char[0], CharIdeaList.empty().toArray());
+    }
+
+    @Test
+    public void DoubleIdeaList_and_FloatIdeaList_toArray_Copy_every_kind_of_segment() {
+        double[] doubles = expected(LENGTH).stream().mapToDouble(Integer::doubleValue).filter(elem -> elem % 3 != 0).toArray();
+        assertArrayEquals(doubles, DoubleIdeaList.initialiseWith(LENGTH, index -> index).where(elem -> elem % 3 != 0).toArray());
+        assertArrayEquals(doubles, IdeaList.of(expected(LENGTH)).where(elem -> elem % 3 != 0).mapToDouble(Integer::doubleValue).toArray());
+        assertArrayEquals(new double[0], DoubleIdeaList.empty().toArray());
+        float[] floats = new float[doubles.length];
+        for (int i = 0; i < doubles.length; i++) floats[i] = (float) doubles[i];
+        assertArrayEquals(floats, FloatIdeaList.initialiseWith(LENGTH, index -> index).where(elem -> elem % 3 != 0).toArray());
+        assertArrayEquals(new float[0], FloatIdeaList.empty().toArray());
+    }
+}
@@ -0,0 +1,90 @@
+package idealist;
+
+import idealist.tuple.Pair;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MergeSortTest {
+
+    @Test
+    public void sortWith_Matches_List_sort_for_every_length() {
+        Random random = new Random(5);
+        for (int length = 0; length <= 70; length++) {
+            List<Integer> elements = new ArrayList<>();
+            for (int i = 0; i < length; i++) elements.add(random.nextInt(20));
+            List<Integer> expected = new ArrayList<>(elements);
+            expected.sort(Comparator.naturalOrder());
+            IdeaList<Integer> sorted = IdeaList.of(elements).sortWith(Comparator.naturalOrder());
+            assertEquals(expected, sorted.toList());
+            assertEquals(length, sorted.length());
+        }
+        List<Integer> large = new ArrayList<>();
+        for (int i = 0; i < 100_000; i++) large.add(random.nextInt());
+        List<Integer> expected = new ArrayList<>(large);
+        expected.sort(Comparator.reverseOrder());
+        assertEquals(expected, IdeaList.of(large).sortWith(Comparator.reverseOrder()).toList());
+    }
+
+    @Test
+    public void sortWith_Is_stable() {
+        Random random = new Random(6);
+        List<Pair<Integer, Integer>> pairs = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) pairs.add(Pair.of(random.nextInt(10), i));
+        List<Pair<Integer, Integer>> expected = new ArrayList<>(pairs);
+        expected.sort(Comparator.comparing(pair -> pair.first));
+        assertEquals(expected, IdeaList.of(pairs).sortByAscending(pair -> pair.first).toList());
+        expected.sort(Comparator.comparing(pair -> pair.first, Comparator.reverseOrder()));
+        assertEquals(expected, IdeaList.of(pairs).sortByDescending(pair -> pair.first).toList());
+    }
+
+    @Test
+    public void sortWith_Is_stable_on_runs() {
+        // Equal keys inside and across ascending and descending runs
+        List<Pair<Integer, Integer>> pairs = new ArrayList<>();
+        int[] keys = {3, 2, 2, 1, 1, 2, 2, 3, 3, 0, 5, 4, 4, 3, 3, 3, 6, 6, 1};
+        for (int i = 0; i < keys.length; i++) pairs.add(Pair.of(keys[i], i));
+        List<Pair<Integer, Integer>> expected = new ArrayList<>(pairs);
+        expected.sort(Comparator.comparing(pair -> pair.first));
+        assertEquals(expected, IdeaList.of(pairs).sortWith(Comparator.comparing(pair -> pair.first)).toList());
+    }
+
+    @Test
+    public void sortWith_Takes_a_single_pass_over_sorted_input() {
+        int length = 10_000;
+        AtomicInteger comparisons = new AtomicInteger();
+        Comparator<Integer> counting = (left, right) -> {
+            comparisons.incrementAndGet();
+            return Integer.compare(left, right);
+        };
+        List<Integer> ascending = IdeaList.initialiseWith(length, index -> index / 3).toList();
+        assertEquals(ascending, IdeaList.of(ascending).sortWith(counting).toList());
+        assertEquals(length - 1, comparisons.get());
+
+        comparisons.set(0);
+        List<Integer> descending = IdeaList.initialiseWith(length, index -> length - index).toList();
+        assertEquals(IdeaList.initialiseWith(length, index -> index + 1).toList(), IdeaList.of(descending).sortWith(counting).toList());
+        assertEquals(length - 1, comparisons.get());
+    }
+
+    @Test
+    public void sortWith_Compares_elements_only_when_needed() {
+        IdeaList<Integer> single = IdeaList.initialiseWith(1, index -> {
+            throw new AssertionError("Element was evaluated");
+        });
+        assertEquals(1, single.sortWith(Comparator.naturalOrder()).length());
+        assertEquals(IdeaList.empty(), IdeaList.<Integer>empty().sortWith(Comparator.naturalOrder()));
+    }
+
+    @Test
+    public void sortWith_Leaves_the_shared_empty_list_alone() {
+        IdeaList.of(3, 1, 2).sortWith(Comparator.naturalOrder()).toList();
+        assertNull(MutableList.empty().tail);
+    }
+}
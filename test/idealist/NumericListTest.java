@@ -0,0 +1,67 @@
+package idealist;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class NumericListTest {
+    private static final int LENGTH = 3 * IdeaList.CHUNK_SIZE + 5;
+
+    @Test
+    public void sum_Does_not_lose_small_values_next_to_big_ones() {
+        double[] samples = new double[1_000_001];
+        samples[0] = 1e16;
+        for (int i = 1; i < samples.length; i++) samples[i] = 1.0;
+        assertEquals(1e16 + 1_000_000, DoubleIdeaList.of(samples).sum());
+        assertEquals(1.0, DoubleIdeaList.of(1e100, 1.0, -1e100).sum());
+        assertEquals(0.0, DoubleIdeaList.empty().sum());
+
+        float[] floats = new float[10_000_000];
+        java.util.Arrays.fill(floats, 0.1f);
+        assertEquals(1_000_000.0, FloatIdeaList.of(floats).sum(), 1.0);
+    }
+
+    @Test
+    public void sum_Returns_infinity_if_the_sum_overflows_or_an_element_is_infinite() {
+        assertEquals(Double.POSITIVE_INFINITY, DoubleIdeaList.of(1e308, 1e308).sum());
+        assertEquals(Double.NEGATIVE_INFINITY, DoubleIdeaList.of(-1e308, -1e308).sum());
+        assertEquals(Double.POSITIVE_INFINITY, DoubleIdeaList.of(Double.POSITIVE_INFINITY, 1.0).sum());
+        assertEquals(Double.POSITIVE_INFINITY, FloatIdeaList.of(Float.POSITIVE_INFINITY, 1f).sum());
+        assertEquals(Double.POSITIVE_INFINITY, IdeaList.of(1e308, 1e308).sumOfDouble(elem -> elem));
+        assertEquals(Double.NaN, DoubleIdeaList.of(Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY).sum());
+    }
+
+    @Test
+    public void sumOfDouble_Adds_up_the_selected_values() {
+        IdeaList<Integer> list = IdeaList.initialiseWith(LENGTH, index -> index);
+        assertEquals((double) LENGTH * (LENGTH - 1) / 4, list.sumOfDouble(elem -> elem / 2.0));
+        assertEquals(0.0, IdeaList.<Integer>empty().sumOfDouble(elem -> 1.0));
+    }
+
+    @Test
+    public void mapToDouble_and_mapToFloat_Process_every_chunk() {
+        IdeaList<Integer> list = IdeaList.initialiseWith(LENGTH, index -> index);
+        DoubleIdeaList halves = list.mapToDouble(elem -> elem / 2.0);
+        List<Double> expected = new ArrayList<>();
+        for (int i = 0; i < LENGTH; i++) expected.add(i / 2.0);
+        assertEquals(expected, halves.toList());
+        assertEquals(LENGTH, halves.length());
+        assertEquals((LENGTH - 1) / 2.0, halves.max());
+        assertEquals(0.0, halves.min());
+        assertEquals((LENGTH - 1) / 4.0, halves.average());
+        assertEquals(LENGTH / 2 + 1, halves.where(elem -> elem == Math.floor(elem)).length());
+        assertEquals(halves, halves.map(elem -> elem * 4).map(elem -> elem / 4));
+
+        FloatIdeaList floats = list.mapToFloat(elem -> elem * 1.5f);
+        assertEquals(LENGTH, floats.length());
+        assertEquals((LENGTH - 1) * 1.5f, floats.get(-1));
+        assertEquals(1.5 * LENGTH * (LENGTH - 1) / 2, floats.sum());
+        float[] sum = {0};
+        floats.where(elem -> elem < 5).forEachFloat(elem -> sum[0] += elem);
+        assertEquals(0 + 1.5f + 3f + 4.5f, sum[0]);
+        assertEquals(IdeaList.of("0.0", "1.5"), floats.mapToObj(String::valueOf).where(elem -> elem.length() == 3).where(elem -> !elem.startsWith("3") && !elem.startsWith("4") && !elem.startsWith("6") && !elem.startsWith("7") && !elem.startsWith("9")));
+    }
+}
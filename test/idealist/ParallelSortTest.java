@@ -0,0 +1,58 @@
+package idealist;
+
+import idealist.tuple.Pair;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ParallelSortTest {
+
+    @Test
+    public void parallelSortWith_Matches_List_sort_around_the_threshold() {
+        Random random = new Random(10);
+        int[] lengths = {0, 1, 2, 100, ParallelSort.SEQUENTIAL_THRESHOLD, ParallelSort.SEQUENTIAL_THRESHOLD + 1, 3 * ParallelSort.SEQUENTIAL_THRESHOLD + 7, 200_000};
+        for (int length : lengths) {
+            List<Integer> elements = new ArrayList<>();
+            for (int i = 0; i < length; i++) elements.add(random.nextInt());
+            List<Integer> expected = new ArrayList<>(elements);
+            expected.sort(Comparator.naturalOrder());
+            IdeaList<Integer> sorted = IdeaList.of(elements).parallelSortWith(Comparator.naturalOrder());
+            assertEquals(expected, sorted.toList());
+            assertEquals(length, sorted.length());
+        }
+    }
+
+    @Test
+    public void parallelSortWith_Is_stable_and_matches_sortWith() {
+        Random random = new Random(11);
+        List<Pair<Integer, Integer>> pairs = new ArrayList<>();
+        // Few distinct keys, so the parallel merges split runs of equal elements
+        for (int i = 0; i < 100_000; i++) pairs.add(Pair.of(random.nextInt(5), i));
+        IdeaList<Pair<Integer, Integer>> list = IdeaList.of(pairs);
+        assertEquals(list.sortByAscending(pair -> pair.first).toList(), list.parallelSortByAscending(pair -> pair.first).toList());
+        assertEquals(list.sortByDescending(pair -> pair.first).toList(), list.parallelSortByDescending(pair -> pair.first).toList());
+    }
+
+    @Test
+    public void parallelSortWith_Runs_in_the_pool_of_the_caller() throws ExecutionException, InterruptedException {
+        Random random = new Random(12);
+        List<Integer> elements = new ArrayList<>();
+        for (int i = 0; i < 100_000; i++) elements.add(random.nextInt(1000));
+        List<Integer> expected = new ArrayList<>(elements);
+        expected.sort(Comparator.reverseOrder());
+        var pool = new ForkJoinPool(3);
+        try {
+            List<Integer> sorted = pool.submit(() -> IdeaList.of(elements).parallelSortWith(Comparator.reverseOrder()).toList()).get();
+            assertEquals(expected, sorted);
+        } finally {
+            pool.shutdown();
+        }
+    }
+}
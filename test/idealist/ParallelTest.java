@@ -0,0 +1,70 @@
+package idealist;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ParallelTest {
+    private static final int LENGTH = 100_000;
+
+    private static IdeaList<Integer> indices() {
+        return IdeaList.initialiseWith(LENGTH, index -> index);
+    }
+
+    @Test
+    public void parallel_operations_Return_the_same_result_as_sequential_ones() {
+        IdeaList<Integer> list = indices();
+        assertEquals(list.sumOf(elem -> elem % 7), list.parallelSumOf(elem -> elem % 7));
+        assertEquals(list.count(elem -> elem % 3 == 0), list.parallelCount(elem -> elem % 3 == 0));
+        assertEquals((long) LENGTH * (LENGTH - 1) / 2, list.parallelReduce(0L, (accum, elem) -> accum + elem, Long::sum).longValue());
+        assertTrue(list.parallelAll(elem -> elem >= 0));
+        assertFalse(list.parallelAll(elem -> elem < LENGTH - 1));
+        assertTrue(list.parallelAny(elem -> elem == LENGTH - 1));
+        assertFalse(IdeaList.<Integer>empty().parallelAny(elem -> true));
+    }
+
+    @Test
+    public void parallelReduce_Keeps_the_order_of_the_elements() {
+        List<Integer> expected = new ArrayList<>();
+        for (int i = 0; i < LENGTH; i++) expected.add(i);
+        List<Integer> reduced = indices().where(elem -> true).parallelReduce(List.of(),
+                (accum, elem) -> {
+                    List<Integer> result = new ArrayList<>(accum);
+                    result.add(elem);
+                    return result;
+                },
+                (left, right) -> {
+                    List<Integer> result = new ArrayList<>(left);
+                    result.addAll(right);
+                    return result;
+                });
+        assertEquals(expected, reduced);
+    }
+
+    @Test
+    public void parallelSumOf_Evaluates_every_element_once() {
+        var evaluations = new AtomicInteger();
+        IdeaList<Integer> list = IdeaList.initialiseWith(LENGTH, index -> {
+            evaluations.incrementAndGet();
+            return 1;
+        }).map(elem -> elem * 2);
+        assertEquals(2 * LENGTH, list.parallelSumOf(elem -> elem));
+        assertEquals(LENGTH, evaluations.get());
+    }
+
+    @Test
+    public void IntIdeaList_parallel_operations_Return_the_same_result_as_sequential_ones() {
+        IntIdeaList list = IntIdeaList.initialiseWith(LENGTH, index -> index % 1000 - 500);
+        assertEquals(list.sum(), list.parallelSum());
+        assertEquals(list.sum(), list.parallelReduce(0, Integer::sum));
+        assertEquals(list.count(elem -> elem > 0), list.parallelCount(elem -> elem > 0));
+        assertEquals(499, list.parallelMax());
+        assertEquals(-500, list.parallelMin());
+        assertThrows(NoSuchElementException.class, () -> IntIdeaList.empty().parallelMax());
+    }
+}
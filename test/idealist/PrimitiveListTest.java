@@ -0,0 +1,78 @@
+package idealist;
+
+import idealist.range.Range;
+import idealist.tuple.CharObjPair;
+import idealist.tuple.LongObjPair;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PrimitiveListTest {
+    private static final int LENGTH = 3 * IdeaList.CHUNK_SIZE + 5;
+
+    @Test
+    public void LongIdeaList_operations_Process_every_chunk() {
+        LongIdeaList list = LongIdeaList.initialiseWith(LENGTH, index -> index * 10_000_000_000L);
+        assertEquals(LENGTH, list.length());
+        assertEquals((LENGTH - 1) * 10_000_000_000L, list.get(-1));
+        assertEquals(10_000_000_000L * LENGTH * (LENGTH - 1) / 2, list.sum());
+        assertEquals(LongIdeaList.initialiseWith(LENGTH, index -> index), list.map(elem -> elem / 10_000_000_000L));
+        assertEquals(List.of(0L, 20_000_000_000L), list.where(elem -> elem < 30_000_000_000L && elem % 20_000_000_000L == 0).toList());
+        assertEquals((LENGTH + 1) / 2, list.count(elem -> elem % 20_000_000_000L == 0));
+        assertEquals(LENGTH, list.toArray().length);
+        assertEquals(IdeaList.of(LongObjPair.of(0L, "a"), LongObjPair.of(10_000_000_000L, "b")), list.zipWith(List.of("a", "b")));
+        assertEquals(List.of(1L, 2L, 3L), LongIdeaList.of(List.of(1L, 2L, 3L)).toList());
+    }
+
+    @Test
+    public void LongStepRange_Calculates_aggregates_without_walking_the_range() {
+        LongIdeaList range = Range.from(5_000_000_000L).step(3L).upTo(5_300_000_000L);
+        assertEquals(100_000_000, range.length());
+        assertEquals(5_000_000_000L, range.min());
+        assertEquals(5_299_999_997L, range.max());
+        assertEquals(100_000_000L * 5_000_000_000L + 3L * 100_000_000L * 99_999_999L / 2, range.sum());
+        assertTrue(range.contains(5_000_000_003L));
+        assertFalse(range.contains(5_000_000_004L));
+        assertEquals(LongIdeaList.of(10L, 7L, 4L, 1L), Range.from(10L).step(3L).downToAndIncluding(1L));
+        assertEquals(LongIdeaList.of(10L, 7L, 4L), Range.from(10L).step(3L).downTo(1L));
+        assertEquals(LongIdeaList.empty(), Range.from(10L).step(3L).upTo(10L));
+        assertTrue(Range.from(Long.MIN_VALUE).step(Long.MAX_VALUE).upToAndIncluding(Long.MAX_VALUE).contains(-1L));
+    }
+
+    @Test
+    public void LongIdeaList_progression_max_and_min_Scan_the_elements_if_the_progression_wraps_around() {
+        LongIdeaList up = LongIdeaList.progression(Long.MAX_VALUE - 1, 1L, 3);
+        assertEquals(Long.MAX_VALUE, up.max());
+        assertEquals(Long.MIN_VALUE, up.min());
+        LongIdeaList down = LongIdeaList.progression(Long.MIN_VALUE + 1, -2L, 3);
+        assertEquals(Long.MAX_VALUE, down.max());
+        assertEquals(Long.MIN_VALUE + 1, down.min());
+    }
+
+    @Test
+    public void CharIdeaList_operations_Process_every_chunk() {
+        String text = "the quick brown fox jumps over the lazy dog and keeps running until the end of the chunk";
+        CharIdeaList chars = CharIdeaList.of(text);
+        assertEquals(text, chars.asString());
+        assertEquals(text.toUpperCase(), chars.map(Character::toUpperCase).asString());
+        assertEquals(text.replace(" ", ""), chars.where(elem -> elem != ' ').asString());
+        assertEquals(text.chars().sum(), chars.sum());
+        assertEquals((int) text.chars().filter(elem -> elem == 'e').count(), chars.count(elem -> elem == 'e'));
+        assertEquals('z', chars.max());
+        assertEquals(IdeaList.of(CharObjPair.of('t', 1), CharObjPair.of('h', 2)), chars.zipWith(List.of(1, 2)));
+        assertEquals(text.length(), chars.mapToObj(Character::toString).length());
+    }
+
+    @Test
+    public void CharStepRange_Returns_every_step_th_char() {
+        assertEquals("acegikmoqsuwy", Range.from('a').step(2).upToAndIncluding('z').asString());
+        assertEquals("zwtqnkheb", Range.from('z').step(3).downTo('a').asString());
+        assertTrue(Range.from('a').step(2).upTo('z').contains('y'));
+        assertFalse(Range.from('a').step(2).upTo('z').contains('b'));
+        assertEquals('y', Range.from('a').step(2).upTo('z').max());
+        assertEquals("abcdefghijklmnopqrstuvwxyz".chars().sum(), Range.from('a').step(1).upToAndIncluding('z').sum());
+        assertEquals(1, Range.from(Character.MAX_VALUE).step(1).upToAndIncluding(Character.MAX_VALUE).length());
+    }
+}
@@ -0,0 +1,79 @@
+package idealist;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PrimitiveSortTest {
+    // One length below and one above the point where the radix sort takes over
+    private static final int[] LENGTHS = {0, 1, 100, PrimitiveSort.RADIX_THRESHOLD + 17};
+
+    @Test
+    public void sorted_Matches_Arrays_sort() {
+        Random random = new Random(42);
+        for (int length : LENGTHS) {
+            int[] ints = random.ints(length).toArray();
+            long[] longs = random.longs(length).toArray();
+            int[] expectedInts = ints.clone();
+            long[] expectedLongs = longs.clone();
+            Arrays.sort(expectedInts);
+            Arrays.sort(expectedLongs);
+
+            assertArrayEquals(expectedInts, IntIdeaList.of(ints).sorted().toArray());
+            assertArrayEquals(expectedLongs, LongIdeaList.of(longs).sorted().toArray());
+            assertArrayEquals(PrimitiveSort.reversed(expectedInts.clone()), IntIdeaList.of(ints).sortedDescending().toArray());
+            assertArrayEquals(PrimitiveSort.reversed(expectedLongs.clone()), LongIdeaList.of(longs).sortedDescending().toArray());
+        }
+    }
+
+    @Test
+    public void sorted_Does_not_change_the_source() {
+        int[] array = {3, 1, 2};
+        IntIdeaList list = IntIdeaList.of(array);
+        assertEquals(IntIdeaList.of(1, 2, 3), list.sorted());
+        assertArrayEquals(new int[] {3, 1, 2}, array);
+        assertEquals(IntIdeaList.of(3, 2, 1), IntIdeaList.initialiseWith(3, index -> index + 1).where(elem -> true).sortedDescending());
+    }
+
+    @Test
+    public void sortedBy_Is_stable() {
+        for (int length : LENGTHS) {
+            IntIdeaList list = IntIdeaList.initialiseWith(length, index -> index);
+            // Sorts by the last digit, the elements with the same last digit stay in ascending order
+            int[] expected = list.toArray();
+            Integer[] boxed = Arrays.stream(expected).boxed().toArray(Integer[]::new);
+            Arrays.sort(boxed, (a, b) -> Integer.compare(a % 10, b % 10));
+            int[] expectedByDigit = Arrays.stream(boxed).mapToInt(Integer::intValue).toArray();
+
+            assertArrayEquals(expectedByDigit, list.sortedBy(elem -> elem % 10).toArray());
+            assertArrayEquals(Arrays.stream(expectedByDigit).asLongStream().toArray(),
+                    LongIdeaList.initialiseWith(length, index -> index).sortedBy(elem -> elem % 10).toArray());
+            assertArrayEquals(PrimitiveSort.reversed(expected.clone()), list.sortedBy(elem -> -elem).toArray());
+        }
+    }
+
+    @Test
+    public void Floating_point_sorts_follow_compare() {
+        double[] doubles = {3.5, Double.NaN, -0.0, 0.0, Double.NEGATIVE_INFINITY, -2.25, Double.POSITIVE_INFINITY};
+        double[] expected = {Double.NEGATIVE_INFINITY, -2.25, -0.0, 0.0, 3.5, Double.POSITIVE_INFINITY, Double.NaN};
+        assertEquals(DoubleIdeaList.of(expected), DoubleIdeaList.of(doubles).sorted());
+        assertEquals(DoubleIdeaList.of(expected), DoubleIdeaList.of(doubles).sortedBy(elem -> elem));
+        assertEquals(DoubleIdeaList.of(PrimitiveSort.reversed(expected.clone())), DoubleIdeaList.of(doubles).sortedDescending());
+
+        float[] floats = {3.5f, Float.NaN, -0.0f, 0.0f, -2.25f};
+        float[] expectedFloats = {-2.25f, -0.0f, 0.0f, 3.5f, Float.NaN};
+        assertEquals(FloatIdeaList.of(expectedFloats), FloatIdeaList.of(floats).sorted());
+        assertEquals(FloatIdeaList.of(expectedFloats), FloatIdeaList.of(floats).sortedBy(elem -> elem));
+        assertEquals(FloatIdeaList.of(-0.0f, 0.0f, -2.25f, 3.5f, Float.NaN), FloatIdeaList.of(floats).sortedBy(Math::abs));
+    }
+
+    @Test
+    public void CharIdeaList_Sorts_characters() {
+        assertEquals("aaalnprsyz", CharIdeaList.of("lazy parsna").where(elem -> elem != ' ').sorted().asString());
+        assertEquals("zysrpnlaaa", CharIdeaList.of("lazyparsna").sortedDescending().asString());
+        assertEquals("AaBb", CharIdeaList.of("BbAa").sortedBy(Character::toLowerCase).asString());
+    }
+}
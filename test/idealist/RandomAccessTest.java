@@ -0,0 +1,79 @@
+package idealist;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RandomAccessTest {
+    private static final int LENGTH = 3 * IdeaList.CHUNK_SIZE + 5;
+
+    private static List<Integer> expected() {
+        List<Integer> list = new ArrayList<>();
+        for (int i = 0; i < LENGTH; i++) list.add(i);
+        return list;
+    }
+
+    // Counts the elements that are read, so a test can tell whether an operation walked the list
+    private static List<Integer> counting(AtomicInteger reads) {
+        return new ArrayList<>(expected()) {
+            @Override
+            public Integer get(int index) {
+                reads.incrementAndGet();
+                return super.get(index);
+            }
+        };
+    }
+
+    @Test
+    public void get_last_and_length_Read_only_the_elements_they_return() {
+        var reads = new AtomicInteger();
+        IdeaList<Integer> list = IdeaList.of(counting(reads));
+        assertEquals(LENGTH - 3, list.get(LENGTH - 3).intValue());
+        assertEquals(LENGTH - 1, list.last().intValue());
+        assertEquals(LENGTH - 2, list.get(-2).intValue());
+        assertEquals(LENGTH, list.length());
+        assertEquals(3, reads.get());
+    }
+
+    @Test
+    public void removeAt_and_insertAt_Only_read_the_elements_around_the_index() {
+        var reads = new AtomicInteger();
+        IdeaList<Integer> list = IdeaList.of(counting(reads));
+        IdeaList<Integer> removed = list.removeAt(LENGTH - 10);
+        assertEquals(LENGTH - 9, removed.get(LENGTH - 10).intValue());
+        assertEquals(LENGTH - 1, removed.length());
+        IdeaList<Integer> inserted = list.insertAt(-5, -1, -2);
+        assertEquals(-2, inserted.get(LENGTH - 4).intValue());
+        assertEquals(LENGTH - 1, inserted.last().intValue());
+        assertEquals(2, reads.get());
+    }
+
+    @Test
+    public void removeAt_and_insertAt_Return_the_same_elements_as_for_other_lists() {
+        IdeaList<Integer> randomAccess = IdeaList.of(expected());
+        IdeaList<Integer> sequential = IdeaList.of(new LinkedList<>(expected()));
+        for (int index : new int[]{0, 1, IdeaList.CHUNK_SIZE, LENGTH - 1, -1, -LENGTH}) {
+            assertEquals(sequential.removeAt(index), randomAccess.removeAt(index));
+            assertEquals(sequential.insertAt(index, 7, 8), randomAccess.insertAt(index, 7, 8));
+            assertEquals(sequential.removeAt(index).removeAt(index / 2), randomAccess.removeAt(index).removeAt(index / 2));
+        }
+        assertThrows(IndexOutOfBoundsException.class, () -> randomAccess.removeAt(LENGTH).toList());
+    }
+
+    @Test
+    public void map_Evaluates_only_the_chunk_that_is_read() {
+        var evaluations = new AtomicInteger();
+        IdeaList<Integer> mapped = IdeaList.of(expected().toArray(new Integer[0])).map(elem -> {
+            evaluations.incrementAndGet();
+            return elem;
+        });
+        assertEquals(IdeaList.CHUNK_SIZE + 1, mapped.get(IdeaList.CHUNK_SIZE + 1).intValue());
+        assertEquals(IdeaList.CHUNK_SIZE, evaluations.get());
+        assertEquals(expected(), mapped.toList());
+    }
+}
@@ -0,0 +1,151 @@
+package idealist;
+
+import org.junit.jupiter.api.Test;
+
+import java.lang.ref.Reference;
+import java.lang.ref.WeakReference;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RetentionTest {
+    private static final int LENGTH = 10_000;
+
+    private static void assertCollectable(WeakReference<?> reference) {
+        for (int attempt = 0; attempt < 50 && reference.get() != null; attempt++) {
+            System.gc();
+            try {
+                Thread.sleep(10);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        assertNull(reference.get(), "Object is still strongly reachable");
+    }
+
+    // The upstream list is only reachable through the derived list and the weak reference
+    private static <R> IdeaList<R> derive(Function<IdeaList<Integer>, IdeaList<R>> operation, WeakReference<?>[] upstream) {
+        IdeaList<Integer> source = IdeaList.initialiseWith(LENGTH, index -> index);
+        upstream[0] = new WeakReference<>(source);
+        return operation.apply(source);
+    }
+
+    private static IntIdeaList deriveInt(Function<IntIdeaList, IntIdeaList> operation, WeakReference<?>[] upstream) {
+        IntIdeaList source = IntIdeaList.initialiseWith(LENGTH, index -> index);
+        upstream[0] = new WeakReference<>(source);
+        return operation.apply(source);
+    }
+
+    @Test
+    public void value_Releases_captured_objects_after_evaluation() {
+        WeakReference<?>[] captured = new WeakReference<?>[1];
+        Lazy<Integer> lazy = createLazyCapturing(captured);
+
+        assertEquals(LENGTH, lazy.value().intValue());
+        assertCollectable(captured[0]);
+        assertEquals(LENGTH, lazy.value().intValue());
+    }
+
+    private static Lazy<Integer> createLazyCapturing(WeakReference<?>[] captured) {
+        int[] big = new int[LENGTH];
+        captured[0] = new WeakReference<>(big);
+        return Lazy.of(() -> big.length);
+    }
+
+    @Test
+    public void LazyInt_value_Releases_captured_objects_after_evaluation() {
+        WeakReference<?>[] captured = new WeakReference<?>[1];
+        LazyInt lazy = createLazyIntCapturing(captured);
+
+        assertEquals(LENGTH, lazy.value());
+        assertCollectable(captured[0]);
+        assertEquals(LENGTH, lazy.value());
+    }
+
+    private static LazyInt createLazyIntCapturing(WeakReference<?>[] captured) {
+        int[] big = new int[LENGTH];
+        captured[0] = new WeakReference<>(big);
+        return LazyInt.of(() -> big.length);
+    }
+
+    @Test
+    public void map_Does_not_retain_upstream_list_after_evaluation() {
+        WeakReference<?>[] upstream = new WeakReference<?>[1];
+        IdeaList<String> mapped = derive(list -> list.map(String::valueOf), upstream);
+
+        mapped.forEach(__ -> {});
+        assertCollectable(upstream[0]);
+        assertEquals(LENGTH, mapped.length());
+        Reference.reachabilityFence(mapped);
+    }
+
+    @Test
+    public void where_Does_not_retain_upstream_list_after_evaluation() {
+        WeakReference<?>[] upstream = new WeakReference<?>[1];
+        IdeaList<Integer> filtered = derive(list -> list.where(elem -> elem % 2 == 0), upstream);
+
+        filtered.forEach(__ -> {});
+        assertCollectable(upstream[0]);
+        assertEquals(LENGTH / 2, filtered.length());
+        Reference.reachabilityFence(filtered);
+    }
+
+    @Test
+    public void concatWith_Does_not_retain_upstream_list_after_evaluation() {
+        WeakReference<?>[] upstream = new WeakReference<?>[1];
+        IdeaList<Integer> concatenated = derive(list -> list.concatWith(IdeaList.of(-1, -2)), upstream);
+
+        concatenated.forEach(__ -> {});
+        assertCollectable(upstream[0]);
+        assertEquals(LENGTH + 2, concatenated.length());
+        Reference.reachabilityFence(concatenated);
+    }
+
+    @Test
+    public void map_Does_not_retain_chain_of_upstream_lists_after_evaluation() {
+        WeakReference<?>[] upstream = new WeakReference<?>[1];
+        IdeaList<Integer> derived = derive(list -> list
+                .map(elem -> elem + 1)
+                .where(elem -> elem % 3 != 0)
+                .map(elem -> elem * 2), upstream);
+
+        derived.forEach(__ -> {});
+        assertCollectable(upstream[0]);
+        Reference.reachabilityFence(derived);
+    }
+
+    @Test
+    public void mapToInt_Does_not_retain_upstream_list_after_evaluation() {
+        WeakReference<?>[] upstream = new WeakReference<?>[1];
+        IdeaList<Integer> source = derive(Function.identity(), upstream);
+        IntIdeaList mapped = source.mapToInt(elem -> elem * 2);
+        source = null;
+
+        mapped.forEach(__ -> {});
+        assertCollectable(upstream[0]);
+        assertEquals(LENGTH * (LENGTH - 1), mapped.sum());
+        Reference.reachabilityFence(mapped);
+    }
+
+    @Test
+    public void IntIdeaList_map_Does_not_retain_upstream_list_after_evaluation() {
+        WeakReference<?>[] upstream = new WeakReference<?>[1];
+        IntIdeaList mapped = deriveInt(list -> list.map(elem -> elem + 1), upstream);
+
+        mapped.forEach(__ -> {});
+        assertCollectable(upstream[0]);
+        assertEquals(LENGTH * (LENGTH + 1) / 2, mapped.sum());
+        Reference.reachabilityFence(mapped);
+    }
+
+    @Test
+    public void IntIdeaList_where_Does_not_retain_upstream_list_after_evaluation() {
+        WeakReference<?>[] upstream = new WeakReference<?>[1];
+        IntIdeaList filtered = deriveInt(list -> list.where(elem -> elem % 2 == 1), upstream);
+
+        filtered.forEach(__ -> {});
+        assertCollectable(upstream[0]);
+        assertEquals(LENGTH / 2, filtered.length());
+        Reference.reachabilityFence(filtered);
+    }
+}
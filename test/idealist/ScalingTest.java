@@ -0,0 +1,111 @@
+package idealist;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+import java.util.function.IntConsumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Every operation runs on a thread with a small stack, so anything that recurses once per
+// element fails long before the biggest sizes are reached. Operations that walk the list and
+// let go of the nodes they passed go up to 10^8 elements, which doesn't fit in the heap all at
+// once. Operations that build a list of the same length, like removeAt and insertAt, keep every
+// node of it alive, so they stop at 10^7. reduceRight buffers every element before it folds
+// them, see Enumerable.reduceRightHelper, so it stops at 10^6.
+public class ScalingTest {
+    private static final long STACK_SIZE = 256 * 1024;
+    private static final int[] SIZES = {1_000, 10_000, 100_000, 1_000_000, 10_000_000, 100_000_000};
+
+    private static void forEachSize(int maxSize, IntConsumer test) {
+        for (int size : SIZES) {
+            if (size > maxSize) return;
+            runWithSmallStack(() -> test.accept(size));
+        }
+    }
+
+    private static void runWithSmallStack(Runnable test) {
+        Throwable[] failure = new Throwable[1];
+        Thread thread = new Thread(null, () -> {
+            try {
+                test.run();
+            } catch (Throwable t) {
+                failure[0] = t;
+            }
+        }, "small-stack", STACK_SIZE);
+        thread.start();
+        try {
+            thread.join();
+        } catch (InterruptedException e) {
+            throw new AssertionError(e);
+        }
+        if (failure[0] instanceof Error) throw (Error) failure[0];
+        if (failure[0] != null) throw new AssertionError(failure[0]);
+    }
+
+    private static IdeaList<Integer> indices(int length) {
+        return IdeaList.initialiseWith(length, index -> index);
+    }
+
+    @Test
+    public void last_Scales_to_large_lists() {
+        forEachSize(100_000_000, size -> assertEquals(size - 1, indices(size).last().intValue()));
+    }
+
+    @Test
+    public void get_Scales_to_large_lists() {
+        forEachSize(100_000_000, size -> assertEquals(size - 1, indices(size).get(size - 1).intValue()));
+    }
+
+    @Test
+    public void where_Skips_long_runs_of_non_matching_elements() {
+        forEachSize(100_000_000, size -> assertEquals(size - 1, indices(size).where(index -> index == size - 1).single().intValue()));
+    }
+
+    @Test
+    public void where_Skips_long_runs_of_non_matching_elements_in_stacked_filters() {
+        forEachSize(100_000_000, size -> {
+            IdeaList<Integer> filtered = indices(size)
+                    .where(index -> index % 2 == 1)
+                    .where(index -> index > size - 4);
+            assertEquals(size - 1, filtered.last().intValue());
+        });
+    }
+
+    @Test
+    public void IntIdeaList_where_Skips_long_runs_of_non_matching_elements() {
+        forEachSize(100_000_000, size -> assertEquals(size - 1, IntIdeaList.initialiseWith(size, index -> index).where(index -> index == size - 1).first()));
+    }
+
+    @Test
+    public void removeAt_Scales_to_large_lists() {
+        forEachSize(10_000_000, size -> assertEquals(size - 2, indices(size).removeAt(size - 1).last().intValue()));
+    }
+
+    @Test
+    public void insertAt_Scales_to_large_lists() {
+        forEachSize(10_000_000, size -> assertEquals(size - 1, indices(size).insertAt(size - 1, -1).last().intValue()));
+    }
+
+    @Test
+    public void findFirst_Scales_to_large_lists() {
+        forEachSize(100_000_000, size -> assertEquals(Optional.of(size - 1), indices(size).findFirst(index -> index == size - 1)));
+    }
+
+    @Test
+    public void indexOfFirst_Scales_to_large_lists() {
+        forEachSize(100_000_000, size -> assertEquals(Optional.of(size - 1), indices(size).indexOfFirst(size - 1)));
+    }
+
+    @Test
+    public void reduceRight_Scales_to_large_lists() {
+        forEachSize(1_000_000, size -> assertEquals((long) size * (size - 1) / 2, indices(size).reduceRight(0L, (elem, acc) -> acc + elem).longValue()));
+    }
+
+    @Test
+    public void flatten_Skips_long_runs_of_empty_lists() {
+        // Without a local variable for the nested list, which would keep all of it alive
+        forEachSize(100_000_000, size -> assertEquals(size - 1, IdeaList.initialiseWith(size, index -> index == size - 1 ? IdeaList.of(index) : IdeaList.<Integer>empty())
+                .<Integer>flatten().single().intValue()));
+    }
+}
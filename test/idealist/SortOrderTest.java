@@ -0,0 +1,78 @@
+package idealist;
+
+import idealist.tuple.Pair;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SortOrderTest {
+    private static List<Pair<Integer, String>> pairs(int length, int seed) {
+        Random random = new Random(seed);
+        List<Pair<Integer, String>> pairs = new ArrayList<>();
+        for (int i = 0; i < length; i++) pairs.add(Pair.of(random.nextInt(10) - 5, "" + (char) ('a' + random.nextInt(26))));
+        return pairs;
+    }
+
+    @Test
+    public void sortByAscending_Calculates_every_key_once() {
+        List<Pair<Integer, String>> pairs = pairs(10_000, 13);
+        AtomicInteger calls = new AtomicInteger();
+        IdeaList<Pair<Integer, String>> sorted = IdeaList.of(pairs).sortByAscending(pair -> {
+            calls.incrementAndGet();
+            return pair.second;
+        });
+        assertEquals(pairs.size(), calls.get());
+        List<Pair<Integer, String>> expected = new ArrayList<>(pairs);
+        expected.sort(Comparator.comparing(pair -> pair.second));
+        assertEquals(expected, sorted.toList());
+        expected.sort(Comparator.comparing(pair -> pair.second, Comparator.reverseOrder()));
+        assertEquals(expected, IdeaList.of(pairs).sortByDescending(pair -> pair.second).toList());
+    }
+
+    @Test
+    public void sortBy_primitive_keys_Is_stable() {
+        // Long enough for the radix sort
+        List<Pair<Integer, String>> pairs = pairs(2 * PrimitiveSort.RADIX_THRESHOLD, 14);
+        List<Pair<Integer, String>> expected = new ArrayList<>(pairs);
+        expected.sort(Comparator.comparing(pair -> pair.first));
+        IdeaList<Pair<Integer, String>> list = IdeaList.of(pairs);
+        assertEquals(expected, list.sortByInt(pair -> pair.first).toList());
+        assertEquals(expected, list.sortByLong(pair -> (long) pair.first).toList());
+        assertEquals(expected, list.sortByDouble(pair -> pair.first / 3.0).toList());
+        List<Pair<Integer, String>> small = pairs.subList(0, 10);
+        List<Pair<Integer, String>> smallExpected = new ArrayList<>(small);
+        smallExpected.sort(Comparator.comparing(pair -> pair.first));
+        assertEquals(smallExpected, IdeaList.of(small).sortByInt(pair -> pair.first).toList());
+    }
+
+    @Test
+    public void sortByDouble_Follows_Double_compare() {
+        IdeaList<Double> list = IdeaList.of(0.0, Double.NaN, -0.0, Double.NEGATIVE_INFINITY, 1.5, -2.5);
+        assertEquals(List.of(Double.NEGATIVE_INFINITY, -2.5, -0.0, 0.0, 1.5, Double.NaN), list.sortByDouble(Double::doubleValue).toList());
+    }
+
+    @Test
+    public void thenBy_Orders_elements_with_equal_earlier_keys() {
+        List<Pair<Integer, String>> pairs = pairs(5000, 15);
+        List<Pair<Integer, String>> expected = new ArrayList<>(pairs);
+        expected.sort(Comparator.<Pair<Integer, String>, String>comparing(pair -> pair.second).thenComparing(pair -> pair.first, Comparator.reverseOrder()));
+        SortOrder<Pair<Integer, String>> order = SortOrder.<Pair<Integer, String>, String>by(pair -> pair.second).thenByDescending(pair -> pair.first);
+        assertEquals(expected, IdeaList.of(pairs).sortBy(order).toList());
+
+        expected.sort(Comparator.<Pair<Integer, String>>comparingInt(pair -> pair.first).thenComparing(pair -> pair.second));
+        assertEquals(expected, IdeaList.of(pairs).sortBy(SortOrder.<Pair<Integer, String>>byInt(pair -> pair.first).thenBy(pair -> pair.second)).toList());
+        assertEquals(expected, IdeaList.of(pairs).sortBy(SortOrder.<Pair<Integer, String>>byDouble(pair -> pair.first).thenBy(pair -> pair.second).thenByLong(pair -> 0)).toList());
+    }
+
+    @Test
+    public void sortBy_Empty_list_Returns_empty_list() {
+        assertEquals(IdeaList.empty(), IdeaList.<Integer>empty().sortByInt(Integer::intValue));
+        assertEquals(IdeaList.empty(), IdeaList.<Integer>empty().sortBy(SortOrder.<Integer>byInt(Integer::intValue).thenByDouble(Integer::doubleValue)));
+    }
+}
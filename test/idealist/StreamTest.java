@@ -0,0 +1,76 @@
+package idealist;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class StreamTest {
+    private static final int LENGTH = 10_000;
+
+    private static List<Integer> expected() {
+        List<Integer> list = new ArrayList<>();
+        for (int i = 0; i < LENGTH; i++) list.add(i);
+        return list;
+    }
+
+    @Test
+    public void stream_Returns_every_element_in_order() {
+        assertEquals(expected(), IdeaList.initialiseWith(LENGTH, index -> index).stream().collect(Collectors.toList()));
+        assertEquals(expected(), IdeaList.of(expected()).parallelStream().collect(Collectors.toList()));
+        assertEquals(expected(), IdeaList.of(new LinkedList<>(expected())).parallelStream().collect(Collectors.toList()));
+        assertEquals(List.of(), IdeaList.empty().stream().collect(Collectors.toList()));
+    }
+
+    @Test
+    public void parallelStream_Returns_every_element_of_lists_with_an_unknown_length() {
+        IdeaList<Integer> even = IdeaList.initialiseWith(LENGTH, index -> index).where(elem -> elem % 2 == 0);
+        assertEquals(even.toList(), even.parallelStream().collect(Collectors.toList()));
+        assertEquals((long) LENGTH / 2, even.parallelStream().count());
+    }
+
+    @Test
+    public void spliterator_Is_sized_and_splits_in_half_when_the_length_is_known() {
+        Spliterator<Integer> suffix = IdeaList.of(expected()).spliterator();
+        assertTrue(suffix.hasCharacteristics(Spliterator.SIZED | Spliterator.SUBSIZED | Spliterator.ORDERED));
+        Spliterator<Integer> prefix = suffix.trySplit();
+        assertEquals(LENGTH / 2, prefix.estimateSize());
+        assertEquals(LENGTH / 2, suffix.estimateSize());
+        int[] first = new int[1];
+        suffix.tryAdvance(elem -> first[0] = elem);
+        assertEquals(LENGTH / 2, first[0]);
+        assertEquals(LENGTH / 2 - 1, suffix.estimateSize());
+    }
+
+    @Test
+    public void spliterator_Splits_between_chunks() {
+        Spliterator<Integer> suffix = IdeaList.initialiseWith(LENGTH, index -> index).spliterator();
+        Spliterator<Integer> prefix = suffix.trySplit();
+        assertEquals(0, prefix.estimateSize() % IdeaList.CHUNK_SIZE);
+        assertTrue(Math.abs(prefix.estimateSize() - LENGTH / 2) < IdeaList.CHUNK_SIZE);
+        assertEquals(LENGTH, prefix.estimateSize() + suffix.estimateSize());
+        assertNull(IdeaList.initialiseWith(IdeaList.CHUNK_SIZE, index -> index).spliterator().trySplit());
+    }
+
+    @Test
+    public void spliterator_Splits_an_unknown_length_in_batches() {
+        Spliterator<Integer> spliterator = IdeaList.of(new LinkedList<>(expected())).spliterator();
+        assertFalse(spliterator.hasCharacteristics(Spliterator.SIZED));
+        Spliterator<Integer> batch = spliterator.trySplit();
+        assertEquals(SegmentSpliterator.BATCH_SIZE, batch.getExactSizeIfKnown());
+    }
+
+    @Test
+    public void IntIdeaList_intStream_Returns_every_element_in_order() {
+        IntIdeaList list = IntIdeaList.initialiseWith(LENGTH, index -> index);
+        assertEquals(expected(), list.intStream().boxed().collect(Collectors.toList()));
+        assertEquals(expected(), list.parallelIntStream().boxed().collect(Collectors.toList()));
+        assertEquals((long) LENGTH * (LENGTH - 1) / 2, list.parallelIntStream().asLongStream().sum());
+        assertEquals(list.where(elem -> elem % 3 == 0).toList(), list.where(elem -> elem % 3 == 0).parallelIntStream().boxed().collect(Collectors.toList()));
+    }
+}
@@ -0,0 +1,65 @@
+package idealist;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class WrapTest {
+    private static final int LENGTH = 3 * IdeaList.CHUNK_SIZE + 5;
+
+    private static int[] indices(int length) {
+        int[] indices = new int[length];
+        for (int i = 0; i < length; i++) indices[i] = i;
+        return indices;
+    }
+
+    private static IntBuffer directBuffer(int length) {
+        IntBuffer buffer = ByteBuffer.allocateDirect(4 * length).asIntBuffer();
+        buffer.put(indices(length));
+        return buffer.flip();
+    }
+
+    @Test
+    public void wrap_Array_Is_a_view_of_the_range() {
+        int[] array = indices(LENGTH);
+        IntIdeaList view = IntIdeaList.wrap(array, 10, LENGTH - 10);
+        assertEquals(LENGTH - 20, view.length());
+        assertEquals(10, view.first());
+        assertEquals(LENGTH - 11, view.get(-1));
+        assertEquals(IntIdeaList.initialiseWith(LENGTH - 20, index -> index + 10), view);
+        assertArrayEquals(java.util.Arrays.copyOfRange(array, 10, LENGTH - 10), view.toArray());
+        assertEquals(List.of(10, 12, 14), view.where(elem -> elem % 2 == 0).toList().subList(0, 3));
+
+        assertEquals(IntIdeaList.empty(), IntIdeaList.wrap(array, 5, 5));
+        assertThrows(IndexOutOfBoundsException.class, () -> IntIdeaList.wrap(array, -1, 3));
+        assertThrows(IndexOutOfBoundsException.class, () -> IntIdeaList.wrap(array, 3, LENGTH + 1));
+        assertThrows(IndexOutOfBoundsException.class, () -> IntIdeaList.wrap(array, 4, 3));
+    }
+
+    @Test
+    public void wrap_Buffer_Reads_from_position_to_limit() {
+        IntBuffer heap = IntBuffer.wrap(indices(LENGTH));
+        heap.position(3).limit(LENGTH - 3);
+        IntIdeaList fromHeap = IntIdeaList.wrap(heap);
+        heap.position(0).limit(LENGTH);
+        assertEquals(IntIdeaList.initialiseWith(LENGTH - 6, index -> index + 3), fromHeap);
+
+        IntBuffer direct = directBuffer(LENGTH);
+        direct.position(3);
+        IntIdeaList fromDirect = IntIdeaList.wrap(direct);
+        direct.position(LENGTH);
+        assertEquals(LENGTH - 3, fromDirect.length());
+        assertEquals(5, fromDirect.get(2));
+        assertEquals(LENGTH - 1, fromDirect.max());
+        assertEquals(3, fromDirect.min());
+        assertEquals(IntIdeaList.initialiseWith(LENGTH - 3, index -> index + 3), fromDirect);
+        assertArrayEquals(IntIdeaList.initialiseWith(LENGTH - 3, index -> index + 3).toArray(), fromDirect.toArray());
+        assertEquals(IntIdeaList.initialiseWith(LENGTH - 3, index -> 2 * index + 6), fromDirect.map(elem -> elem * 2));
+        assertEquals(fromDirect.sum(), fromDirect.parallelSum());
+        assertEquals(IntIdeaList.empty(), IntIdeaList.wrap(directBuffer(0)));
+    }
+}